@@ -0,0 +1,148 @@
+package com.example.foodorderingappadmin;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.Exclude;
+import com.google.firebase.firestore.PropertyName;
+import com.google.firebase.firestore.util.CustomClassMapper;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares Firestore's reflective CustomClassMapper (what toObject() runs on getData())
+ * against the hand-written OrderMapper / MenuItemMapper over the same document maps.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MapperBenchmark {
+
+    private static final int DOCUMENT_COUNT = 500;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final List<Map<String, Object>> orderDocs = new ArrayList<>();
+    private final List<Map<String, Object>> menuDocs = new ArrayList<>();
+    // Keeps the JIT from dropping the loops
+    private double sink;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < DOCUMENT_COUNT; i++) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            Map<String, Object> item = new HashMap<>();
+            item.put("name", "Item " + (i % 40));
+            item.put("qty", 2L);
+            item.put("price", 99.0);
+            items.add(item);
+
+            Map<String, Object> order = new HashMap<>();
+            order.put("userID", "user" + (i % 50));
+            order.put("status", "Pending");
+            order.put("total", 198.0 + i);
+            order.put("orderedAt", new Timestamp(new Date(1700000000000L + i * 60000L)));
+            order.put("note", "No onions");
+            order.put("paymentMethod", "Cash");
+            order.put("items", items);
+            orderDocs.add(order);
+
+            Map<String, Object> menu = new HashMap<>();
+            menu.put("name", "Item " + i);
+            menu.put("description", "House special");
+            menu.put("price", 120L + i);
+            menu.put("category", "Category " + (i % 6));
+            menu.put("imageUrl", "https://example.com/" + i + ".jpg");
+            menu.put("available", i % 3 != 0);
+            menuDocs.add(menu);
+        }
+    }
+
+    // Order as the reflective mapper saw it while the model carried Firestore annotations
+    // (Order itself is plain Java now and lives in :core)
+    public static class ReflectiveOrder {
+        @PropertyName("userID")
+        public String userId;
+        public String status;
+        public double total;
+        public Date orderedAt;
+        public String note;
+        public String paymentMethod;
+        @Exclude
+        public List<OrderLine> items;
+    }
+
+    @Test
+    public void mappersMatchReflectiveMapping() {
+        Map<String, Object> orderDoc = orderDocs.get(7);
+        ReflectiveOrder reflective = CustomClassMapper.convertToCustomClass(orderDoc, ReflectiveOrder.class, null);
+        Order mapped = OrderMapper.fromData("order7", orderDoc);
+        assertEquals(reflective.userId, mapped.getUserId());
+        assertEquals(reflective.status, mapped.getStatus());
+        assertEquals(reflective.total, mapped.getTotal(), 0);
+        assertEquals(reflective.orderedAt, mapped.getOrderedAt());
+        assertEquals(reflective.note, mapped.getNote());
+        assertEquals(reflective.paymentMethod, mapped.getPaymentMethod());
+
+        Map<String, Object> menuDoc = menuDocs.get(9);
+        MenuItem reflectiveItem = CustomClassMapper.convertToCustomClass(menuDoc, MenuItem.class, null);
+        MenuItem mappedItem = MenuItemMapper.fromData("menu9", menuDoc);
+        assertEquals(reflectiveItem.getName(), mappedItem.getName());
+        assertEquals(reflectiveItem.getPrice(), mappedItem.getPrice(), 0);
+        assertEquals(reflectiveItem.getCategory(), mappedItem.getCategory());
+        assertEquals(reflectiveItem.getImageUrl(), mappedItem.getImageUrl());
+        assertEquals(reflectiveItem.isAvailable(), mappedItem.isAvailable());
+    }
+
+    @Test
+    public void reflectiveOrders() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (Map<String, Object> doc : orderDocs) {
+                sink += CustomClassMapper.convertToCustomClass(doc, ReflectiveOrder.class, null).total;
+            }
+        }
+    }
+
+    @Test
+    public void mappedOrders() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (Map<String, Object> doc : orderDocs) {
+                sink += OrderMapper.fromData("id", doc).getTotal();
+            }
+        }
+    }
+
+    @Test
+    public void reflectiveMenuItems() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (Map<String, Object> doc : menuDocs) {
+                sink += CustomClassMapper.convertToCustomClass(doc, MenuItem.class, null).getPrice();
+            }
+        }
+    }
+
+    @Test
+    public void mappedMenuItems() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (Map<String, Object> doc : menuDocs) {
+                sink += MenuItemMapper.fromData("id", doc).getPrice();
+            }
+        }
+    }
+}
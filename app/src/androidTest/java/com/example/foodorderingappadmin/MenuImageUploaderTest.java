@@ -0,0 +1,108 @@
+package com.example.foodorderingappadmin;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+import android.net.Uri;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs MenuImageUploader against a LocalImageStore: a large photo comes out as a thumbnail and a
+ * detail image of the expected sizes, and uploading the same content again writes nothing.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MenuImageUploaderTest {
+
+    private File dir;
+    private LocalImageStore store;
+    private MenuImageUploader uploader;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        dir = new File(context.getCacheDir(), "menu_image_uploader_test");
+        store = new LocalImageStore(new File(dir, "store"));
+        uploader = new MenuImageUploader(context.getContentResolver(), store);
+    }
+
+    @After
+    public void tearDown() {
+        deleteRecursively(dir);
+    }
+
+    @Test
+    public void resizesToThumbnailAndDetail() throws IOException {
+        MenuImageUploader.Result result = uploader.upload(writePhoto("photo.jpg", 4000, 3000, Color.RED));
+
+        assertFalse(result.reused);
+        BitmapFactory.Options detail = boundsOf(result.imageUrl);
+        assertEquals(MenuImageUploader.DETAIL_PX, Math.max(detail.outWidth, detail.outHeight));
+        BitmapFactory.Options thumb = boundsOf(result.thumbnailUrl);
+        assertEquals(MenuImageUploader.THUMB_PX, Math.min(thumb.outWidth, thumb.outHeight));
+    }
+
+    @Test
+    public void sameContentIsStoredOnce() throws IOException {
+        MenuImageUploader.Result first = uploader.upload(writePhoto("a.jpg", 1600, 1200, Color.BLUE));
+        int writes = store.getWriteCount();
+        // Same bytes under another name
+        MenuImageUploader.Result second = uploader.upload(writePhoto("b.jpg", 1600, 1200, Color.BLUE));
+
+        assertTrue(second.reused);
+        assertEquals(writes, store.getWriteCount());
+        assertEquals(first.imageUrl, second.imageUrl);
+        assertEquals(first.thumbnailUrl, second.thumbnailUrl);
+    }
+
+    @Test
+    public void smallImagesAreNotUpscaled() throws IOException {
+        MenuImageUploader.Result result = uploader.upload(writePhoto("small.jpg", 200, 150, Color.GREEN));
+
+        BitmapFactory.Options detail = boundsOf(result.imageUrl);
+        assertEquals(200, detail.outWidth);
+        assertEquals(150, detail.outHeight);
+    }
+
+    private Uri writePhoto(String name, int width, int height, int color) throws IOException {
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        bitmap.eraseColor(color);
+        File file = new File(dir, name);
+        dir.mkdirs();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, 90, out);
+        }
+        bitmap.recycle();
+        return Uri.fromFile(file);
+    }
+
+    private static BitmapFactory.Options boundsOf(String fileUrl) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(Uri.parse(fileUrl).getPath(), options);
+        return options;
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) deleteRecursively(child);
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.foodorderingappadmin;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that AggregateMetricsSource (backend count()/sum() + fallback) reports the same numbers
+ * as the fallback alone. The backend is a local fake over the same orders that are loaded into an
+ * in-memory OrderWarehouse, which plays the production fallback.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MetricsSourceTest {
+
+    private static final int ORDER_COUNT = 2000;
+    private static final int DAYS_OF_HISTORY = 90;
+
+    private final List<Order> orders = new ArrayList<>();
+    private OrderWarehouse warehouse;
+    private MetricsSource fallback;
+    private MetricsSource aggregate;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        warehouse = new OrderWarehouse(context, null);
+
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        String[] statuses = {"Pending", "Being Made", "Being Delivered", "Completed", "Cancelled"};
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order();
+            order.setOrderId("order" + i);
+            order.setUserId("user" + random.nextInt(300));
+            order.setStatus(statuses[random.nextInt(statuses.length)]);
+            order.setTotal(Math.round(random.nextDouble() * 100000) / 100.0);
+            order.setOrderedAt(new Date(now - (long) (random.nextDouble() * DAYS_OF_HISTORY * 24 * 60 * 60 * 1000L)));
+
+            List<OrderLine> lines = new ArrayList<>();
+            int lineCount = 1 + random.nextInt(4);
+            for (int j = 0; j < lineCount; j++) {
+                lines.add(new OrderLine("Item " + random.nextInt(30), "menu" + j, 1 + random.nextInt(3), 50));
+            }
+            order.setItems(lines);
+            orders.add(order);
+        }
+        warehouse.upsertOrders(orders);
+
+        fallback = (start, end, onTotals) -> Tasks.forResult(HeadlineMetrics.of(warehouse.querySummary(start, end)));
+        aggregate = new AggregateMetricsSource(new FakeOrderAggregates(orders), fallback);
+    }
+
+    @After
+    public void tearDown() {
+        warehouse.close();
+    }
+
+    @Test
+    public void allTimeMatches() throws Exception {
+        assertSameMetrics(null, null);
+    }
+
+    @Test
+    public void recentRangesMatch() throws Exception {
+        for (int days : new int[]{1, 7, 30, 365}) {
+            Calendar cal = Calendar.getInstance();
+            cal.add(Calendar.DAY_OF_YEAR, -days);
+            assertSameMetrics(cal.getTime(), new Date());
+        }
+    }
+
+    @Test
+    public void totalsArriveWithoutWaitingForTheFallback() throws Exception {
+        TaskCompletionSource<HeadlineMetrics> slowFallback = new TaskCompletionSource<>();
+        MetricsSource source = new AggregateMetricsSource(new FakeOrderAggregates(orders),
+                (start, end, onTotals) -> slowFallback.getTask());
+        HeadlineMetrics expected = Tasks.await(fallback.load(null, null, null));
+
+        CountDownLatch totalsReported = new CountDownLatch(1);
+        double[] revenue = new double[1];
+        long[] orderCount = new long[1];
+        Task<HeadlineMetrics> complete = source.load(null, null, (r, count) -> {
+            revenue[0] = r;
+            orderCount[0] = count;
+            totalsReported.countDown();
+        });
+
+        assertTrue(totalsReported.await(5, TimeUnit.SECONDS));
+        assertFalse(complete.isComplete());
+        assertEquals(expected.getRevenue(), revenue[0], 0.001);
+        assertEquals(expected.getOrderCount(), orderCount[0]);
+
+        slowFallback.setResult(expected);
+        assertEquals(expected.getItemsSold(), Tasks.await(complete).getItemsSold());
+    }
+
+    private void assertSameMetrics(@Nullable Date start, @Nullable Date end) throws Exception {
+        HeadlineMetrics expected = Tasks.await(fallback.load(start, end, null));
+        HeadlineMetrics actual = Tasks.await(aggregate.load(start, end, null));
+
+        assertEquals(expected.getRevenue(), actual.getRevenue(), 0.001);
+        assertEquals(expected.getOrderCount(), actual.getOrderCount());
+        assertEquals(expected.getItemsSold(), actual.getItemsSold());
+        assertEquals(expected.getUniqueCustomers(), actual.getUniqueCustomers());
+    }
+
+    // In-memory stand-in for the Firestore aggregate query
+    private static class FakeOrderAggregates implements OrderAggregates {
+        private final List<Order> orders;
+
+        FakeOrderAggregates(List<Order> orders) {
+            this.orders = Collections.unmodifiableList(new ArrayList<>(orders));
+        }
+
+        @Override
+        public Task<Totals> countAndSumTotal(@Nullable Date start, @Nullable Date end) {
+            long count = 0;
+            double revenue = 0;
+            for (Order order : orders) {
+                Date orderedAt = order.getOrderedAt();
+                if (start != null && (orderedAt == null || orderedAt.before(start))) continue;
+                if (start != null && end != null && orderedAt.after(end)) continue;
+                count++;
+                revenue += order.getTotal();
+            }
+            return Tasks.forResult(new Totals(count, revenue));
+        }
+    }
+}
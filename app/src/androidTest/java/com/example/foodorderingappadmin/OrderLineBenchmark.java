@@ -0,0 +1,133 @@
+package com.example.foodorderingappadmin;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.google.firebase.firestore.PropertyName;
+import com.google.firebase.firestore.util.CustomClassMapper;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the old reflective order mapping (items as List<Map<String, Object>>) against
+ * OrderMapper with typed OrderLine items, over the same synthetic order documents.
+ * Each run walks every line and sums the quantities, like the sales aggregations do.
+ * Results (time and allocations) are written to the benchmark JSON report.
+ */
+@RunWith(AndroidJUnit4.class)
+public class OrderLineBenchmark {
+
+    private static final int ORDER_COUNT = 500;
+    private static final int LINES_PER_ORDER = 4;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final List<Map<String, Object>> documents = new ArrayList<>();
+    private final List<String> ids = new ArrayList<>();
+    // Keeps the JIT from dropping the loops
+    private long sink;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int j = 0; j < LINES_PER_ORDER; j++) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("name", "Item " + ((i + j) % 40));
+                item.put("menuItemId", "menu" + ((i + j) % 40));
+                item.put("qty", (long) (1 + j)); // Firestore hands integers back as Long
+                item.put("price", 49.5 + j);
+                items.add(item);
+            }
+
+            Map<String, Object> doc = new HashMap<>();
+            doc.put("userID", "user" + (i % 50));
+            doc.put("status", "Completed");
+            doc.put("total", 250.0 + i);
+            doc.put("orderedAt", new Date(1700000000000L + i * 60000L));
+            doc.put("paymentMethod", "Cash");
+            doc.put("items", items);
+            documents.add(doc);
+            ids.add("order" + i);
+        }
+    }
+
+    @Test
+    public void reflectiveItemMaps() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            long totalQty = 0;
+            for (Map<String, Object> doc : documents) {
+                LegacyOrder order = CustomClassMapper.convertToCustomClass(doc, LegacyOrder.class, null);
+                for (Map<String, Object> item : order.getItems()) {
+                    Object qty = item.get("qty");
+                    if (qty instanceof Long) totalQty += (Long) qty;
+                    else if (qty instanceof Integer) totalQty += (Integer) qty;
+                }
+            }
+            sink += totalQty;
+        }
+    }
+
+    @Test
+    public void typedOrderLines() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            long totalQty = 0;
+            for (int i = 0; i < documents.size(); i++) {
+                Order order = OrderMapper.fromData(ids.get(i), documents.get(i));
+                for (OrderLine line : order.getItems()) {
+                    totalQty += line.getQty();
+                }
+            }
+            sink += totalQty;
+        }
+    }
+
+    // Shape of Order before items were typed, kept here only as the baseline
+    public static class LegacyOrder {
+        private String userId;
+        private String status;
+        private double total;
+        private Date orderedAt;
+        private String note;
+        private String paymentMethod;
+        private List<Map<String, Object>> items;
+
+        public LegacyOrder() {}
+
+        @PropertyName("userID")
+        public String getUserId() { return userId; }
+        @PropertyName("userID")
+        public void setUserId(String userId) { this.userId = userId; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public double getTotal() { return total; }
+        public void setTotal(double total) { this.total = total; }
+
+        public Date getOrderedAt() { return orderedAt; }
+        public void setOrderedAt(Date orderedAt) { this.orderedAt = orderedAt; }
+
+        public String getNote() { return note; }
+        public void setNote(String note) { this.note = note; }
+
+        public String getPaymentMethod() { return paymentMethod; }
+        public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+
+        public List<Map<String, Object>> getItems() { return items; }
+        public void setItems(List<Map<String, Object>> items) { this.items = items; }
+    }
+}
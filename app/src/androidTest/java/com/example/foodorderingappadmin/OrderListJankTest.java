@@ -0,0 +1,116 @@
+package com.example.foodorderingappadmin;
+
+import android.app.Activity;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Scrolls 60 active orders through AdminOrderAdapter and records per-frame durations with
+ * Window.OnFrameMetricsAvailableListener. Reports total and janky frames (over 16 ms) as
+ * instrumentation status so runs before and after a binding change can be compared.
+ */
+@RunWith(AndroidJUnit4.class)
+public class OrderListJankTest {
+
+    private static final String TAG = "OrderListJankTest";
+    private static final int ORDER_COUNT = 60;
+    private static final int SCROLL_PASSES = 6;
+    private static final long JANK_THRESHOLD_NANOS = 16_000_000L;
+
+    @Test
+    public void scrollActiveOrders() throws Exception {
+        AtomicInteger totalFrames = new AtomicInteger();
+        AtomicInteger jankyFrames = new AtomicInteger();
+        AtomicReference<RecyclerView> list = new AtomicReference<>();
+
+        HandlerThread metricsThread = new HandlerThread("frame-metrics");
+        metricsThread.start();
+        Window.OnFrameMetricsAvailableListener listener = (window, metrics, dropCount) -> {
+            totalFrames.incrementAndGet();
+            if (metrics.getMetric(FrameMetrics.TOTAL_DURATION) > JANK_THRESHOLD_NANOS) jankyFrames.incrementAndGet();
+        };
+
+        try (ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class)) {
+            scenario.onActivity(activity -> {
+                // Replace the live screen with a list of synthetic orders
+                RecyclerView recyclerView = new RecyclerView(activity);
+                recyclerView.setLayoutManager(new LinearLayoutManager(activity));
+                AdminOrderAdapter adapter = new AdminOrderAdapter(activity);
+                recyclerView.setAdapter(adapter);
+                activity.setContentView(recyclerView);
+                adapter.submitList(buildRows());
+                list.set(recyclerView);
+            });
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+            scenario.onActivity(activity -> activity.getWindow()
+                    .addOnFrameMetricsAvailableListener(listener, new Handler(metricsThread.getLooper())));
+
+            for (int pass = 0; pass < SCROLL_PASSES; pass++) {
+                final int target = pass % 2 == 0 ? ORDER_COUNT - 1 : 0;
+                scenario.onActivity(activity -> list.get().smoothScrollToPosition(target));
+                waitForScrollToSettle(list.get());
+            }
+
+            scenario.onActivity(activity -> activity.getWindow().removeOnFrameMetricsAvailableListener(listener));
+        } finally {
+            metricsThread.quitSafely();
+        }
+
+        Bundle results = new Bundle();
+        results.putInt("total_frames", totalFrames.get());
+        results.putInt("janky_frames", jankyFrames.get());
+        InstrumentationRegistry.getInstrumentation().sendStatus(Activity.RESULT_OK, results);
+        Log.i(TAG, "frames=" + totalFrames.get() + " janky=" + jankyFrames.get());
+
+        assertTrue("No frames were rendered", totalFrames.get() > 0);
+    }
+
+    private static void waitForScrollToSettle(RecyclerView recyclerView) throws InterruptedException {
+        Thread.sleep(300);
+        while (recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE) {
+            Thread.sleep(100);
+        }
+    }
+
+    private static List<OrderRowModel> buildRows() {
+        String[] statuses = {"Pending", "Being Made", "Being Delivered"};
+        List<OrderRowModel> rows = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order();
+            order.setOrderId("order" + String.format("%05d", i) + "abcdef");
+            order.setStatus(statuses[i % statuses.length]);
+            order.setTotal(120 + i * 7.5);
+            order.setOrderedAt(new Date(System.currentTimeMillis() - i * 60_000L));
+            order.setNote(i % 3 == 0 ? "Extra rice please" : null);
+            order.setItems(Arrays.asList(
+                    new OrderLine("Chicken Adobo", "m1", 1 + i % 3, 120),
+                    new OrderLine("Pancit Canton", "m2", 1, 95),
+                    new OrderLine("Iced Tea", "m3", 2, 35)));
+            rows.add(OrderRowModel.from(order));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.foodorderingappadmin;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Warm-start snapshot costs: encoding and mapping/decoding a typical day's state, and
+ * time-to-first-content of a cold MainActivity launch rendering the orders list from the cache.
+ * The launch time is reported as instrumentation status, like OrderListJankTest's frame counts.
+ */
+@RunWith(AndroidJUnit4.class)
+public class WarmStartBenchmark {
+
+    private static final String TAG = "WarmStartBenchmark";
+    private static final int ORDER_COUNT = 300;
+    private static final int MENU_COUNT = 150;
+    private static final long CONTENT_TIMEOUT_MS = 10_000;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private Context context;
+    private File file;
+    private WarmStartCache.Snapshot snapshot;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        file = new File(context.getCacheDir(), "warm_start_benchmark.bin");
+        snapshot = buildSnapshot();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void writeSnapshot() throws IOException {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            WarmStartCache.write(file, snapshot);
+        }
+    }
+
+    @Test
+    public void readSnapshot() throws IOException {
+        WarmStartCache.write(file, snapshot);
+        WarmStartCache.Snapshot read = null;
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            read = WarmStartCache.read(file);
+        }
+        assertEquals(ORDER_COUNT, read.orders.size());
+        assertEquals(MENU_COUNT, read.menu.size());
+    }
+
+    @Test
+    public void timeToFirstContent() throws Exception {
+        WarmStartCache cache = WarmStartCache.getInstance(context);
+        WarmStartCache.write(cache.getFile(), snapshot);
+        // Make the launch map and decode the file, as after process death
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(cache::forgetLoadedSnapshot);
+
+        AtomicInteger rows = new AtomicInteger();
+        long startedAt = SystemClock.elapsedRealtime();
+        long contentAt = -1;
+        try (ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class)) {
+            while (SystemClock.elapsedRealtime() - startedAt < CONTENT_TIMEOUT_MS) {
+                scenario.onActivity(activity -> {
+                    RecyclerView list = activity.findViewById(R.id.ordersRecyclerView);
+                    rows.set(list != null ? list.getChildCount() : 0);
+                });
+                if (rows.get() > 0) {
+                    contentAt = SystemClock.elapsedRealtime();
+                    break;
+                }
+                Thread.sleep(5);
+            }
+        } finally {
+            InstrumentationRegistry.getInstrumentation().runOnMainSync(cache::clear);
+        }
+
+        assertTrue("Orders list never showed cached content", contentAt > 0);
+        long elapsedMs = contentAt - startedAt;
+        Bundle results = new Bundle();
+        results.putLong("time_to_first_content_ms", elapsedMs);
+        results.putLong("snapshot_load_ms", cache.getLoadTimeMs());
+        InstrumentationRegistry.getInstrumentation().sendStatus(Activity.RESULT_OK, results);
+        Log.i(TAG, "firstContent=" + elapsedMs + "ms snapshotLoad=" + cache.getLoadTimeMs() + "ms");
+    }
+
+    private static WarmStartCache.Snapshot buildSnapshot() {
+        String[] statuses = {"Pending", "Being Made", "Being Delivered"};
+        long now = System.currentTimeMillis();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order();
+            order.setOrderId("order" + String.format("%05d", i));
+            order.setUserId("user" + (i % 80));
+            order.setStatus(statuses[i % statuses.length]);
+            order.setTotal(120 + i * 7.5);
+            order.setOrderedAt(new Date(now - i * 60_000L));
+            order.setNote(i % 3 == 0 ? "Extra rice please" : null);
+            order.setPaymentMethod("Cash");
+            order.setCustomerNameForSearch("Customer " + (i % 80));
+            order.setItems(Arrays.asList(
+                    new OrderLine("Chicken Adobo", "m1", 1 + i % 3, 120),
+                    new OrderLine("Iced Tea", "m3", 2, 35)));
+            orders.add(order);
+        }
+
+        List<CustomerProfile> customers = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            customers.add(new CustomerProfile("user" + i, "Customer " + i, "Street " + i, "0917000" + i, true));
+        }
+
+        List<MenuItem> menu = new ArrayList<>();
+        for (int i = 0; i < MENU_COUNT; i++) {
+            MenuItem item = new MenuItem("Item " + i, "Description of item " + i, 50 + i, "Category " + (i % 9),
+                    "https://example.com/menu/" + i + ".jpg", i % 10 != 0);
+            item.setId("m" + i);
+            menu.add(item);
+        }
+
+        return new WarmStartCache.Snapshot(orders, customers, menu,
+                new HeadlineMetrics(123456.5, 4200, 9800, 650), "admin-uid", now);
+    }
+}
@@ -3,8 +3,10 @@ package com.example.foodorderingappadmin;
 import android.app.Dialog;
 import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
+import android.net.Uri;
 import android.os.Bundle;
 import android.text.TextUtils;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -12,8 +14,13 @@ import android.view.Window;
 import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
 import android.widget.ImageButton;
+import android.widget.ImageView;
+import android.widget.ProgressBar;
 import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.PickVisualMediaRequest;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.DialogFragment;
@@ -21,14 +28,30 @@ import androidx.fragment.app.DialogFragment;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.materialswitch.MaterialSwitch;
 import com.google.android.material.textfield.TextInputEditText;
-import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.storage.FirebaseStorage;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class AddMenuItemDialogFragment extends DialogFragment {
 
+    private static final String TAG = "AddMenuItemDialog";
+
     private TextInputEditText etName, etDescription, etPrice, etImage;
     private AutoCompleteTextView actCategory;
     private MaterialSwitch switchAvailability;
-    private FirebaseFirestore db;
+    private MaterialButton btnAdd, btnUploadPhoto;
+    private ImageView imgPreview;
+    private ProgressBar uploadProgress;
+    private MenuRepository menuRepository;
+
+    // --- Photo Upload ---
+    private final ExecutorService uploadExecutor = Executors.newSingleThreadExecutor();
+    private final ActivityResultLauncher<PickVisualMediaRequest> photoPicker =
+            registerForActivityResult(new ActivityResultContracts.PickVisualMedia(), this::uploadPhoto);
+    // Last finished upload; its thumbnail is saved only while the Image URL field still holds its URL
+    @Nullable
+    private MenuImageUploader.Result uploadedImage;
 
     @Nullable
     @Override
@@ -41,7 +64,7 @@ public class AddMenuItemDialogFragment extends DialogFragment {
             getDialog().getWindow().requestFeature(Window.FEATURE_NO_TITLE);
         }
 
-        db = FirebaseFirestore.getInstance();
+        menuRepository = Repositories.menu();
 
         // Initialize all input and control Views
         etName = view.findViewById(R.id.etName);
@@ -50,7 +73,10 @@ public class AddMenuItemDialogFragment extends DialogFragment {
         actCategory = view.findViewById(R.id.actCategory);
         etImage = view.findViewById(R.id.etImage);
         switchAvailability = view.findViewById(R.id.switchAvailability);
-        MaterialButton btnAdd = view.findViewById(R.id.btnAdd);
+        btnAdd = view.findViewById(R.id.btnAdd);
+        btnUploadPhoto = view.findViewById(R.id.btnUploadPhoto);
+        imgPreview = view.findViewById(R.id.imgPreview);
+        uploadProgress = view.findViewById(R.id.uploadProgress);
         MaterialButton btnCancel = view.findViewById(R.id.btnCancel);
         ImageButton btnClose = view.findViewById(R.id.btnClose);
 
@@ -73,10 +99,19 @@ public class AddMenuItemDialogFragment extends DialogFragment {
         btnClose.setOnClickListener(v -> dismiss());
         btnCancel.setOnClickListener(v -> dismiss());
         btnAdd.setOnClickListener(v -> saveItemToFirebase());
+        btnUploadPhoto.setOnClickListener(v -> photoPicker.launch(new PickVisualMediaRequest.Builder()
+                .setMediaType(ActivityResultContracts.PickVisualMedia.ImageOnly.INSTANCE)
+                .build()));
 
         return view;
     }
 
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        uploadExecutor.shutdown();
+    }
+
     @Override
     public void onStart() {
         super.onStart();
@@ -89,6 +124,47 @@ public class AddMenuItemDialogFragment extends DialogFragment {
         }
     }
 
+    // Resizes and stores the picked photo in the background, then fills in the Image URL field
+    private void uploadPhoto(@Nullable Uri uri) {
+        if (uri == null || getContext() == null) return;
+        final MenuImageUploader uploader = new MenuImageUploader(
+                requireContext().getApplicationContext().getContentResolver(),
+                new FirebaseImageStore(FirebaseStorage.getInstance()));
+        setUploading(true);
+
+        uploadExecutor.execute(() -> {
+            MenuImageUploader.Result result = null;
+            Exception error = null;
+            try {
+                result = uploader.upload(uri);
+            } catch (Exception e) {
+                Log.e(TAG, "Photo upload failed", e);
+                error = e;
+            }
+            final MenuImageUploader.Result uploaded = result;
+            final Exception failure = error;
+            if (getActivity() == null) return;
+            getActivity().runOnUiThread(() -> {
+                if (!isAdded() || getView() == null) return;
+                setUploading(false);
+                if (uploaded == null) {
+                    Toast.makeText(getContext(), "Photo upload failed: " + failure.getMessage(), Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                uploadedImage = uploaded;
+                etImage.setText(uploaded.imageUrl);
+                new MenuImageLoader(requireContext(), 48).load(imgPreview, uploaded.thumbnailUrl);
+            });
+        });
+    }
+
+    // Saving waits for the upload, so the item is never stored without its image
+    private void setUploading(boolean uploading) {
+        uploadProgress.setVisibility(uploading ? View.VISIBLE : View.GONE);
+        btnUploadPhoto.setEnabled(!uploading);
+        btnAdd.setEnabled(!uploading);
+    }
+
     private void saveItemToFirebase() {
         String name = etName.getText().toString().trim();
         String desc = etDescription.getText().toString().trim();
@@ -107,11 +183,11 @@ public class AddMenuItemDialogFragment extends DialogFragment {
 
         // Create Item Object (Assumes MenuItem class exists)
         MenuItem newItem = new MenuItem(name, desc, price, category, imageUrl, isAvailable);
+        newItem.setThumbnailUrl(uploadedImage != null && imageUrl.equals(uploadedImage.imageUrl) ? uploadedImage.thumbnailUrl : "");
 
-        // Save new item to Firestore and handle callbacks
-        db.collection("menu_items")
-                .add(newItem)
-                .addOnSuccessListener(documentReference -> {
+        // Save the new item and handle callbacks
+        TaskFutures.toTask(menuRepository.add(newItem))
+                .addOnSuccessListener(id -> {
                     Toast.makeText(getContext(), "Item added successfully", Toast.LENGTH_SHORT).show();
                     dismiss();
                 })
@@ -1,10 +1,13 @@
 package com.example.foodorderingappadmin;
 
 import android.app.AlertDialog;
+import android.content.ContentResolver;
 import android.content.Intent;
+import android.net.Uri;
 import android.os.Bundle;
 import android.text.Editable;
 import android.text.TextWatcher;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -12,6 +15,8 @@ import android.widget.ImageButton;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
@@ -23,24 +28,25 @@ import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.EventListener;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.FirebaseFirestoreException;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
-
-import java.util.ArrayList;
-import java.util.HashSet;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
 
 public class AdminFragment extends Fragment {
 
-    private FirebaseFirestore db;
+    private static final String TAG = "AdminFragment";
+    private static final long SEARCH_DEBOUNCE_MS = 250;
+
     private ChipGroup categoryChipGroup;
     private TextView subtitleItemCount;
     private TextInputEditText searchEditText;
@@ -48,15 +54,47 @@ public class AdminFragment extends Fragment {
     private RecyclerView menuRecyclerView;
     private MenuAdapter menuAdapter;
 
-    private List<MenuItem> masterMenuList;
-    private List<MenuItem> displayedMenuList;
+    // Shared, incrementally maintained menu with per-category item indexes
+    private final MenuCatalog menuCatalog = MenuCatalog.getInstance();
+    private final MenuStore menuStore = menuCatalog.getStore();
+    private final MenuCatalog.Listener catalogListener = new MenuCatalog.Listener() {
+        @Override
+        public void onCatalogChanged(Set<String> changedCategories) {
+            AdminFragment.this.onCatalogChanged(changedCategories);
+        }
+
+        @Override
+        public void onCatalogError(Exception error) {
+            if (!isAdded() || getContext() == null) return;
+            Toast.makeText(getContext(), "Error loading data", Toast.LENGTH_SHORT).show();
+        }
+    };
 
     // Executor for offloading heavy, non-UI tasks (e.g., filtering/counting)
     private ExecutorService executor = Executors.newSingleThreadExecutor();
 
+    // Menu imports/exports block on network I/O, so they get their own thread
+    private final ExecutorService transferExecutor = Executors.newSingleThreadExecutor();
+    private final ActivityResultLauncher<String[]> importLauncher =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(), this::importMenu);
+    private final ActivityResultLauncher<String> csvExportLauncher =
+            registerForActivityResult(new ActivityResultContracts.CreateDocument(MenuFileFormat.CSV.mimeType),
+                    uri -> exportMenu(uri, MenuFileFormat.CSV));
+    private final ActivityResultLauncher<String> jsonExportLauncher =
+            registerForActivityResult(new ActivityResultContracts.CreateDocument(MenuFileFormat.JSON.mimeType),
+                    uri -> exportMenu(uri, MenuFileFormat.JSON));
+
     private String selectedCategory = "All";
     private String searchText = "";
 
+    // Menu name and description, normalized when an item is added or replaced (see
+    // onCatalogChanged) and searched on the executor
+    private final SearchEngine<MenuItem> searchEngine = new SearchEngine<>(
+            MenuItem::getId,
+            item -> new String[]{item.getName(), item.getDescription()},
+            executor,
+            "AdminFragment.search");
+
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
@@ -67,7 +105,6 @@ public class AdminFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        db = FirebaseFirestore.getInstance();
         // UI Component Initialization
         categoryChipGroup = view.findViewById(R.id.categoryChipGroup);
         subtitleItemCount = view.findViewById(R.id.subtitleItemCount);
@@ -77,9 +114,7 @@ public class AdminFragment extends Fragment {
         // Setup RecyclerView
         menuRecyclerView = view.findViewById(R.id.menuRecyclerView);
         menuRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
-        masterMenuList = new ArrayList<>();
-        displayedMenuList = new ArrayList<>();
-        menuAdapter = new MenuAdapter(getContext(), displayedMenuList);
+        menuAdapter = new MenuAdapter(getContext());
         menuRecyclerView.setAdapter(menuAdapter);
 
         // Setup Action Listeners
@@ -89,10 +124,32 @@ public class AdminFragment extends Fragment {
             AddMenuItemDialogFragment dialog = new AddMenuItemDialogFragment();
             dialog.show(getParentFragmentManager(), "AddMenuItemDialog");
         });
+        MaterialButton btnMenuTransfer = view.findViewById(R.id.btnMenuTransfer);
+        btnMenuTransfer.setOnClickListener(v -> showMenuTransferDialog());
 
         // Start core fragment functionality
         setupSearchListener();
-        setupRealtimeUpdates();
+        setupCategoryChips();
+    }
+
+    // Follows the menu only while this tab is visible (hidden tabs are paused, see MainActivity).
+    // Coming back is served from the shared catalog; it re-reads nothing unless the menu changed.
+    @Override
+    public void onResume() {
+        super.onResume();
+        menuCatalog.addListener(catalogListener);
+    }
+
+    @Override
+    public void onPause() {
+        super.onPause();
+        menuCatalog.removeListener(catalogListener);
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        searchEngine.cancel();
     }
 
     @Override
@@ -100,61 +157,31 @@ public class AdminFragment extends Fragment {
         super.onDestroy();
         // IMPORTANT: Shut down the executor to prevent memory leaks and rejected executions.
         executor.shutdownNow();
+        // Let a running import or export finish its writes
+        transferExecutor.shutdown();
     }
 
 
-    // --- Data Fetching and Initialization ---
-    private void setupRealtimeUpdates() {
-        // Establishes a continuous, real-time listener to Firestore.
-        db.collection("menu_items")
-                .addSnapshotListener(new EventListener<QuerySnapshot>() {
-                    @Override
-                    public void onEvent(@Nullable QuerySnapshot value, @Nullable FirebaseFirestoreException error) {
-                        if (!isAdded() || getContext() == null) {
-                            return;
-                        }
-
-                        if (error != null) {
-                            Toast.makeText(getContext(), "Error loading data", Toast.LENGTH_SHORT).show();
-                            return;
-                        }
-
-                        if (value != null) {
-                            final List<MenuItem> incomingItems = new ArrayList<>();
-
-                            // Phase 1: Deserialize data from Firestore
-                            for (QueryDocumentSnapshot doc : value) {
-                                MenuItem item = doc.toObject(MenuItem.class);
-                                item.setId(doc.getId());
-                                incomingItems.add(item);
-                            }
-
-                            // Phase 2: Offload CPU-heavy processing (counting categories) to a background thread.
-                            executor.execute(() -> {
-                                final Set<String> categories = new HashSet<>();
-                                // Perform the category counting in the background
-                                for (MenuItem item : incomingItems) {
-                                    if (item.getCategory() != null && !item.getCategory().isEmpty()) {
-                                        categories.add(item.getCategory());
-                                    }
-                                }
-
-                                // Phase 3: Update UI on the main thread after processing is complete.
-                                if (getActivity() != null) {
-                                    getActivity().runOnUiThread(() -> {
-                                        if (!isAdded()) return;
-
-                                        masterMenuList.clear();
-                                        masterMenuList.addAll(incomingItems);
-
-                                        updateCategoryChips(categories, masterMenuList.size());
-                                        filterMenuList();
-                                    });
-                                }
-                            });
-                        }
-                    }
-                });
+    // --- Data Updates ---
+    // Called for every menu snapshot the shared catalog applies. Added and replaced items are
+    // indexed here, once, so searches only read normalized text; deleted items leave the index.
+    private void onCatalogChanged(Set<String> changedCategories) {
+        if (!isAdded() || getContext() == null) {
+            return;
+        }
+        AppTrace.begin("AdminFragment.onCatalogChanged");
+        try {
+            searchEngine.sync(menuStore.getItems());
+
+            // Touch only the chips whose counts moved, then re-filter
+            updateCategoryChips(changedCategories);
+            filterMenuList(0);
+
+            // Keep the next cold start's menu current (not while only the seeded copy is shown)
+            if (menuCatalog.isLive()) WarmStartCache.getInstance(requireContext()).saveMenu(menuStore.getItems());
+        } finally {
+            AppTrace.end();
+        }
     }
 
     // --- Search Logic ---
@@ -164,70 +191,49 @@ public class AdminFragment extends Fragment {
             @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                searchText = s.toString().toLowerCase(Locale.getDefault());
-                filterMenuList(); // Trigger filtering on every text change
+                searchText = s.toString();
+                filterMenuList(SEARCH_DEBOUNCE_MS); // Only the last keystroke within the delay runs
             }
             @Override public void afterTextChanged(Editable s) {}
         });
     }
 
     // --- Filtering Logic ---
-    private void filterMenuList() {
+    private void filterMenuList(long delayMs) {
         if (getView() == null) {
             return;
         }
-
-        displayedMenuList.clear();
-
-        // 1. Filter by category first
-        List<MenuItem> categoryFilteredList;
-        if (selectedCategory.equals("All")) {
-            categoryFilteredList = new ArrayList<>(masterMenuList);
-        } else {
-            categoryFilteredList = masterMenuList.stream()
-                    .filter(item -> selectedCategory.equalsIgnoreCase(item.getCategory()))
-                    .collect(Collectors.toList());
+        AppTrace.begin("AdminFragment.filterMenuList");
+        try {
+            // The category index narrows the list before any text is matched
+            final String category = selectedCategory;
+            final List<MenuItem> snapshot = category.equals("All") ? menuStore.getItems() : menuStore.getItemsInCategory(category);
+            final int totalItems = menuStore.size();
+
+            // Filter by search text; the adapter diffs the result in the background
+            searchEngine.submit(searchText, delayMs,
+                    (query, cancelled) -> searchEngine.filter(snapshot, query, item -> true, cancelled),
+                    filtered -> {
+                        if (!isAdded()) return;
+                        AppTrace.count("AdminFragment.visible", filtered.size());
+
+                        menuAdapter.submitList(Collections.unmodifiableList(filtered));
+
+                        // Update item counts
+                        subtitleItemCount.setText(totalItems + " total items • " + filtered.size() + " visible");
+                    });
+        } finally {
+            AppTrace.end();
         }
-
-        // 2. Apply search text filter
-        if (searchText.isEmpty()) {
-            displayedMenuList.addAll(categoryFilteredList);
-        } else {
-            String lowerCaseSearch = searchText.toLowerCase(Locale.getDefault());
-            for (MenuItem item : categoryFilteredList) {
-                if (item.getName().toLowerCase(Locale.getDefault()).contains(lowerCaseSearch) ||
-                        item.getDescription().toLowerCase(Locale.getDefault()).contains(lowerCaseSearch)) {
-                    displayedMenuList.add(item);
-                }
-            }
-        }
-
-        // Update item counts and the RecyclerView
-        subtitleItemCount.setText(masterMenuList.size() + " total items • " + (displayedMenuList.size()) + " visible");
-        menuAdapter.notifyDataSetChanged();
     }
 
 
     // --- Chip Logic ---
-    private void updateCategoryChips(Set<String> categories, int totalItems) {
-        if (getView() == null) {
-            return;
-        }
-
-        // Prevent infinite loop by removing and re-setting the listener
-        categoryChipGroup.setOnCheckedStateChangeListener(null);
-        categoryChipGroup.removeAllViews();
+    private void setupCategoryChips() {
+        // The "All" chip is declared in the layout; category chips are added as categories appear
+        Chip allChip = categoryChipGroup.findViewById(R.id.chipCategoryAll);
+        allChip.setTag("All");
 
-        addChip("All (" + totalItems + ")", selectedCategory.equals("All"), "All");
-
-        // Add a chip for each unique category found in the database
-        for (String category : categories) {
-            long count = masterMenuList.stream().filter(item -> category.equals(item.getCategory())).count();
-            String fullText = category + " (" + count + ")";
-            addChip(fullText, selectedCategory.equals(category), category);
-        }
-
-        // Re-set the listener to handle user category selection
         categoryChipGroup.setOnCheckedStateChangeListener((group, checkedIds) -> {
             if (!checkedIds.isEmpty()) {
                 Chip checkedChip = group.findViewById(checkedIds.get(0));
@@ -237,13 +243,35 @@ public class AdminFragment extends Fragment {
             } else {
                 selectedCategory = "All";
             }
-            filterMenuList(); // Re-filter the list based on the new category
+            filterMenuList(0); // Re-filter the list based on the new category
         });
+    }
 
-        // Ensure the previously selected chip remains checked after refresh
-        Chip selectedChip = (Chip) categoryChipGroup.findViewWithTag(selectedCategory);
-        if (selectedChip != null) {
-            selectedChip.setChecked(true);
+    // Updates the "All" count and the chips of the given categories; other chips are left alone
+    private void updateCategoryChips(Set<String> changedCategories) {
+        if (getView() == null) {
+            return;
+        }
+
+        Chip allChip = categoryChipGroup.findViewById(R.id.chipCategoryAll);
+        allChip.setText("All (" + menuStore.size() + ")");
+
+        for (String category : changedCategories) {
+            Chip chip = categoryChipGroup.findViewWithTag(category);
+            int count = menuStore.getCategoryCount(category);
+
+            if (count == 0) {
+                // Category emptied out: drop its chip, falling back to "All" if it was selected
+                if (chip != null) {
+                    boolean wasChecked = chip.isChecked();
+                    categoryChipGroup.removeView(chip);
+                    if (wasChecked) categoryChipGroup.check(R.id.chipCategoryAll);
+                }
+            } else if (chip == null) {
+                addChip(category + " (" + count + ")", category.equals(selectedCategory), category);
+            } else {
+                chip.setText(category + " (" + count + ")");
+            }
         }
     }
 
@@ -261,6 +289,75 @@ public class AdminFragment extends Fragment {
         categoryChipGroup.addView(chip);
     }
 
+    // --- Menu Import / Export ---
+    private void showMenuTransferDialog() {
+        if (getContext() == null) return;
+        String[] options = {"Import CSV or JSON", "Export as CSV", "Export as JSON"};
+        new AlertDialog.Builder(requireContext())
+                .setTitle("Menu File")
+                .setItems(options, (dialog, which) -> {
+                    if (which == 0) importLauncher.launch(new String[]{"text/*", "application/json"});
+                    else if (which == 1) csvExportLauncher.launch("menu.csv");
+                    else jsonExportLauncher.launch("menu.json");
+                })
+                .show();
+    }
+
+    private void importMenu(@Nullable Uri uri) {
+        if (uri == null || getContext() == null) return;
+        final ContentResolver resolver = requireContext().getApplicationContext().getContentResolver();
+        final MenuFileFormat format = MenuFileFormat.detect(resolver.getType(uri), uri.getLastPathSegment());
+        // Diff against the menu as currently shown
+        final MenuImporter importer = new MenuImporter(Repositories.menu(), menuStore.getItems());
+        Toast.makeText(getContext(), "Importing menu...", Toast.LENGTH_SHORT).show();
+
+        transferExecutor.execute(() -> {
+            String message;
+            try (InputStream in = resolver.openInputStream(uri);
+                 MenuFileFormat.RowReader reader = format.openReader(
+                         new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))) {
+                MenuImporter.Result result = importer.run(reader, null);
+                message = "Import done: " + result.added + " added, " + result.updated + " updated, "
+                        + result.unchanged + " unchanged";
+                if (result.writesFailed > 0) message += ", " + result.writesFailed + " writes failed";
+                if (result.errorCount > 0) {
+                    message += ", " + result.errorCount + " rows skipped";
+                    for (String error : result.getErrors()) Log.w(TAG, "Menu import: " + error);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Menu import failed", e);
+                message = "Import failed: " + e.getMessage();
+            }
+            showTransferResult(message);
+        });
+    }
+
+    private void exportMenu(@Nullable Uri uri, MenuFileFormat format) {
+        if (uri == null || getContext() == null) return;
+        final ContentResolver resolver = requireContext().getApplicationContext().getContentResolver();
+        final MenuExporter exporter = new MenuExporter(Repositories.menu());
+
+        transferExecutor.execute(() -> {
+            String message;
+            try (OutputStream out = resolver.openOutputStream(uri);
+                 MenuFileFormat.RowWriter writer = format.openWriter(
+                         new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)))) {
+                message = "Exported " + exporter.run(writer) + " items";
+            } catch (Exception e) {
+                Log.e(TAG, "Menu export failed", e);
+                message = "Export failed: " + e.getMessage();
+            }
+            showTransferResult(message);
+        });
+    }
+
+    private void showTransferResult(String message) {
+        if (getActivity() == null) return;
+        getActivity().runOnUiThread(() -> {
+            if (isAdded()) Toast.makeText(getContext(), message, Toast.LENGTH_LONG).show();
+        });
+    }
+
     // --- Logout Confirmation ---
     private void showLogoutConfirmationDialog() {
         if (getContext() == null) return;
@@ -275,6 +372,8 @@ public class AdminFragment extends Fragment {
     private void logoutUser() {
         if (isAdded()) {
             FirebaseAuth.getInstance().signOut();
+            // The next account must not see this one's orders or inherit its admin check
+            WarmStartCache.getInstance(requireContext()).clear();
             // Navigate the user to the Login Activity, clearing the back stack
             Intent intent = new Intent(requireActivity(), LoginActivity.class);
             intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
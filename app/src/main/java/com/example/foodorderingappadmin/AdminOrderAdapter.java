@@ -2,12 +2,12 @@ package com.example.foodorderingappadmin;
 
 import android.content.Context;
 import android.content.res.ColorStateList;
-import android.graphics.Color;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
+import android.widget.Filter;
 import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -15,191 +15,299 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.google.android.gms.tasks.Task;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.textfield.TextInputLayout;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
 
-import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
-public class AdminOrderAdapter extends RecyclerView.Adapter<AdminOrderAdapter.OrderViewHolder> {
+// Rows are diffed on a background thread from immutable snapshots passed to submitList().
+// Each row arrives as a precomputed OrderRowModel, so binding does no formatting or parsing.
+public class AdminOrderAdapter extends ListAdapter<OrderRowModel, AdminOrderAdapter.OrderViewHolder> {
 
-    private final Context context;
-    private final List<Order> orderList;
-    private final FirebaseFirestore db;
-    private final String[] statusOptions;
+    // Same order = same document id; a row is rebound only when a displayed field changed
+    private static final DiffUtil.ItemCallback<OrderRowModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<OrderRowModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull OrderRowModel oldItem, @NonNull OrderRowModel newItem) {
+            return Objects.equals(oldItem.getOrderId(), newItem.getOrderId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull OrderRowModel oldItem, @NonNull OrderRowModel newItem) {
+            return oldItem.hasSameContent(newItem);
+        }
+    };
+
+    private static final int CHIP_BACKGROUND_COLOR = 0xFFF3F4F6;
+    private static final int CHIP_TEXT_COLOR = 0xFF374151;
+    // Rebinds only the selection highlight of a row
+    private static final Object PAYLOAD_SELECTION = new Object();
+
+    // Long-press starts selecting; while selecting, a tap toggles the row instead
+    public interface OnSelectionToggleListener {
+        void onSelectionToggled(String orderId);
+    }
 
-    public AdminOrderAdapter(Context context, List<Order> orderList) {
+    private final Context context;
+    private final OrderStatusPipeline statusPipeline;
+    private final CustomerProfileCache profileCache;
+    private final StableIds stableIds = new StableIds();
+    // One dropdown adapter shared by every row; its options never change
+    private final CustomStatusArrayAdapter statusAdapter;
+    private final ColorStateList chipBackground = ColorStateList.valueOf(CHIP_BACKGROUND_COLOR);
+    private final int selectedStrokeWidth;
+
+    private Set<String> selectedIds = Collections.emptySet();
+    @Nullable
+    private OnSelectionToggleListener selectionToggleListener;
+
+    public AdminOrderAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.orderList = orderList;
-        this.db = FirebaseFirestore.getInstance();
-        this.statusOptions = context.getResources().getStringArray(R.array.order_status_options);
+        this.statusPipeline = OrderStatusPipeline.getInstance();
+        this.profileCache = CustomerProfileCache.getInstance();
+        String[] statusOptions = context.getResources().getStringArray(R.array.order_status_options);
+        this.statusAdapter = new CustomStatusArrayAdapter(context, android.R.layout.simple_spinner_dropdown_item, statusOptions);
+        this.selectedStrokeWidth = Math.round(2 * context.getResources().getDisplayMetrics().density);
+        setHasStableIds(true);
+    }
+
+    public void setOnSelectionToggleListener(@Nullable OnSelectionToggleListener listener) {
+        this.selectionToggleListener = listener;
+    }
+
+    // Highlights the given orders; only rows whose selection changed are rebound
+    public void setSelectedIds(Set<String> ids) {
+        Set<String> changed = new HashSet<>(selectedIds);
+        changed.addAll(ids);
+        for (String id : ids) {
+            if (selectedIds.contains(id)) changed.remove(id);
+        }
+        selectedIds = ids;
+        if (changed.isEmpty()) return;
+
+        List<OrderRowModel> rows = getCurrentList();
+        for (int i = 0; i < rows.size(); i++) {
+            if (changed.contains(rows.get(i).getOrderId())) notifyItemChanged(i, PAYLOAD_SELECTION);
+        }
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(getItem(position).getOrderId());
+    }
+
+    @Override
+    public void onCurrentListChanged(@NonNull List<OrderRowModel> previousList, @NonNull List<OrderRowModel> currentList) {
+        stableIds.retainOnly(currentList, OrderRowModel::getOrderId);
     }
 
     @NonNull
     @Override
     public OrderViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(context).inflate(R.layout.item_admin_order, parent, false);
-        return new OrderViewHolder(view);
+        OrderViewHolder holder = new OrderViewHolder(view);
+        holder.statusAutoComplete.setAdapter(statusAdapter);
+
+        // Listeners are attached once and read the row's current order at click time
+        holder.statusAutoComplete.setOnItemClickListener((parentView, v, pos, id) -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) return;
+            String newStatus = (String) parentView.getItemAtPosition(pos);
+            updateOrderStatus(holder, getItem(position).getOrder(), newStatus);
+        });
+        holder.btnMarkAsDone.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) return;
+            updateOrderStatus(holder, getItem(position).getOrder(), OrderStatus.COMPLETED);
+        });
+        holder.itemView.setOnLongClickListener(v -> toggleSelection(holder));
+        holder.itemView.setOnClickListener(v -> {
+            if (!selectedIds.isEmpty()) toggleSelection(holder);
+        });
+        return holder;
     }
 
-    @Override
-    public void onBindViewHolder(@NonNull OrderViewHolder holder, int position) {
-        Order order = orderList.get(position);
-
-        // --- 1. Basic Order Info ---
-        String displayId = order.getOrderId();
-        if (displayId != null && displayId.length() > 8) displayId = displayId.substring(0, 8);
-        holder.txtOrderId.setText("Order #" + displayId);
-        holder.txtTotal.setText(String.format("₱%.2f", order.getTotal()));
+    private boolean toggleSelection(OrderViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION || selectionToggleListener == null) return false;
+        selectionToggleListener.onSelectionToggled(getItem(position).getOrderId());
+        return true;
+    }
 
-        if (order.getOrderedAt() != null) {
-            SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, hh:mm a", Locale.getDefault());
-            holder.txtDate.setText(sdf.format(order.getOrderedAt()));
+    @Override
+    public void onBindViewHolder(@NonNull OrderViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            super.onBindViewHolder(holder, position, payloads);
+            return;
         }
-
-        // --- 2. User/Delivery Info (Asynchronous Fetch) ---
-        holder.txtCustomerName.setText("Loading Name...");
-        holder.txtDeliveryAddress.setText("Loading Address...");
-        holder.txtCustomerPhone.setText("Loading Info...");
-
-        String userId = order.getUserId();
-        if (userId != null && !userId.isEmpty()) {
-            // Fetch user details in the background using the Order's userId
-            db.collection("users").document(userId).get()
-                    .addOnSuccessListener(documentSnapshot -> {
-                        if (documentSnapshot.exists()) {
-                            String name = documentSnapshot.getString("name");
-                            String address = documentSnapshot.getString("address");
-                            String phone = documentSnapshot.getString("phoneNumber");
-
-                            holder.txtCustomerName.setText(name != null ? name : "Unknown User");
-                            holder.txtDeliveryAddress.setText(address != null ? address : "No Address Provided");
-                            holder.txtCustomerPhone.setText(phone != null && !phone.isEmpty() ? phone : "No Phone Provided");
-                        } else {
-                            holder.txtCustomerName.setText("User Not Found");
-                        }
-                    })
-                    .addOnFailureListener(e -> holder.txtCustomerName.setText("Error Loading"));
-        } else {
-            holder.txtCustomerName.setText("Guest / No User ID");
+        // Partial rebind: only the selection highlight changed
+        AppTrace.begin("AdminOrderAdapter.onBindViewHolder.payload");
+        try {
+            if (payloads.contains(PAYLOAD_SELECTION)) bindSelection(holder, getItem(position));
+        } finally {
+            AppTrace.end();
         }
+    }
 
-        // --- 3. Items as Chips ---
-        holder.itemChipGroup.removeAllViews();
-        if (order.getItems() != null) {
-            for (Map<String, Object> itemData : order.getItems()) {
-                String name = (String) itemData.get("name");
-                long qty = 1;
-                if (itemData.get("qty") instanceof Long) qty = (Long) itemData.get("qty");
-                else if (itemData.get("qty") instanceof Integer) qty = (Integer) itemData.get("qty");
-
-                addChipToGroup(holder.itemChipGroup, qty + "x " + name);
+    @Override
+    public void onBindViewHolder(@NonNull OrderViewHolder holder, int position) {
+        AppTrace.begin("AdminOrderAdapter.onBindViewHolder");
+        try {
+            OrderRowModel row = getItem(position);
+
+            // --- 1. Basic Order Info ---
+            holder.txtOrderId.setText(row.getIdText());
+            holder.txtTotal.setText(row.getTotalText());
+            holder.txtDate.setText(row.getDateText());
+
+            // --- 2. User/Delivery Info (Shared Profile Cache) ---
+            String userId = row.getUserId();
+            holder.boundUserId = userId;
+            if (userId != null && !userId.isEmpty()) {
+                Task<CustomerProfile> lookup = profileCache.get(userId);
+                if (lookup.isSuccessful()) {
+                    bindCustomerInfo(holder, lookup.getResult());
+                } else {
+                    holder.txtCustomerName.setText("Loading Name...");
+                    holder.txtDeliveryAddress.setText("Loading Address...");
+                    holder.txtCustomerPhone.setText("Loading Info...");
+
+                    // Wait for the load; ignore the result if the holder was rebound meanwhile
+                    lookup
+                            .addOnSuccessListener(profile -> {
+                                if (userId.equals(holder.boundUserId)) bindCustomerInfo(holder, profile);
+                            })
+                            .addOnFailureListener(e -> {
+                                if (userId.equals(holder.boundUserId)) holder.txtCustomerName.setText("Error Loading");
+                            });
+                }
+            } else {
+                holder.txtCustomerName.setText("Guest / No User ID");
+                holder.txtDeliveryAddress.setText("No Address Provided");
+                holder.txtCustomerPhone.setText("No Phone Provided");
             }
-        }
 
-        // --- 4. Customer Note ---
-        if (order.getNote() != null && !order.getNote().isEmpty()) {
-            holder.cardCustomerNote.setVisibility(View.VISIBLE);
-            holder.txtCustomerNote.setText(order.getNote());
-        } else {
-            holder.cardCustomerNote.setVisibility(View.GONE);
-        }
+            // --- 3. Items as Chips (reused from the holder's pool) ---
+            bindItemChips(holder, row.getItemLabels());
 
-        // --- 5. Status Dropdown and Styling ---
-        CustomStatusArrayAdapter adapter = new CustomStatusArrayAdapter(
-                context, android.R.layout.simple_spinner_dropdown_item, statusOptions
-        );
-        holder.statusAutoComplete.setAdapter(adapter);
-        // Set the current order status text and styling
-        holder.statusAutoComplete.setText(order.getStatus(), false);
-        applyStatusStyle(holder, order.getStatus());
-
-        // Listener to update DB when a new status is selected from the dropdown
-        holder.statusAutoComplete.setOnItemClickListener((parent, view, pos, id) -> {
-            String newStatus = (String) parent.getItemAtPosition(pos);
-            updateOrderStatus(order.getOrderId(), newStatus);
-        });
+            // --- 4. Customer Note ---
+            if (row.getNote() != null) {
+                holder.cardCustomerNote.setVisibility(View.VISIBLE);
+                holder.txtCustomerNote.setText(row.getNote());
+            } else {
+                holder.cardCustomerNote.setVisibility(View.GONE);
+            }
 
-        // --- 6. Mark as Done Button Action ---
-        holder.btnMarkAsDone.setOnClickListener(v -> {
-            updateOrderStatus(order.getOrderId(), "Completed");
-        });
+            // --- 5. Status Dropdown and Styling ---
+            holder.statusAutoComplete.setText(row.getStatus(), false);
+            applyStatusStyle(holder, row.getStatusStyle());
+
+            // --- 6. Selection ---
+            bindSelection(holder, row);
+        } finally {
+            AppTrace.end();
+        }
     }
 
-    private void addChipToGroup(ChipGroup chipGroup, String text) {
-        Chip chip = new Chip(context);
-        chip.setText(text);
-        chip.setChipBackgroundColor(ColorStateList.valueOf(Color.parseColor("#F3F4F6")));
-        chip.setTextColor(Color.parseColor("#374151"));
-        chip.setEnsureMinTouchTargetSize(false);
-        chipGroup.addView(chip);
+    private void bindSelection(OrderViewHolder holder, OrderRowModel row) {
+        boolean selected = selectedIds.contains(row.getOrderId());
+        holder.card.setChecked(selected);
+        holder.card.setStrokeWidth(selected ? selectedStrokeWidth : 0);
     }
 
-    private void updateOrderStatus(String orderId, String newStatus) {
-        if (orderId == null) return;
-        // Update the status field in Firestore
-        db.collection("orders").document(orderId)
-                .update("status", newStatus)
-                .addOnSuccessListener(aVoid -> Toast.makeText(context, "Order Updated", Toast.LENGTH_SHORT).show())
-                .addOnFailureListener(e -> Toast.makeText(context, "Update Failed", Toast.LENGTH_SHORT).show());
+    private void bindCustomerInfo(OrderViewHolder holder, CustomerProfile profile) {
+        if (profile.exists()) {
+            String name = profile.getName();
+            String address = profile.getAddress();
+            String phone = profile.getPhoneNumber();
+
+            holder.txtCustomerName.setText(name != null ? name : "Unknown User");
+            holder.txtDeliveryAddress.setText(address != null ? address : "No Address Provided");
+            holder.txtCustomerPhone.setText(phone != null && !phone.isEmpty() ? phone : "No Phone Provided");
+        } else {
+            holder.txtCustomerName.setText("User Not Found");
+        }
     }
 
-    private void applyStatusStyle(OrderViewHolder holder, String status) {
-        int bgColorId = android.R.color.white;
-        int tintColorId = R.color.black;
-        int iconId = 0;
-
-        // Determine colors and icon based on status string
-        if (status != null) {
-            switch (status) {
-                case "Pending":
-                    bgColorId = R.color.status_pending_bg; tintColorId = R.color.status_pending_tint; iconId = R.drawable.ic_time; break;
-                case "Being Made":
-                    bgColorId = R.color.status_made_bg; tintColorId = R.color.status_made_tint; iconId = R.drawable.ic_chef; break;
-                case "Being Delivered":
-                    bgColorId = R.color.status_delivered_bg; tintColorId = R.color.status_delivered_tint; iconId = R.drawable.ic_delivery; break;
-                case "Cancelled":
-                    bgColorId = R.color.status_cancelled_bg; tintColorId = R.color.status_cancelled_tint; iconId = R.drawable.ic_cancel; break;
-                case "Completed":
-                    bgColorId = R.color.status_delivered_bg; tintColorId = R.color.status_delivered_tint; iconId = R.drawable.ic_archive; break;
+    // Reuses the holder's chips: extra labels get new chips, surplus chips are hidden
+    private void bindItemChips(OrderViewHolder holder, List<String> labels) {
+        List<Chip> pool = holder.chipPool;
+        for (int i = 0; i < labels.size(); i++) {
+            Chip chip;
+            if (i < pool.size()) {
+                chip = pool.get(i);
+            } else {
+                chip = new Chip(context);
+                chip.setChipBackgroundColor(chipBackground);
+                chip.setTextColor(CHIP_TEXT_COLOR);
+                chip.setEnsureMinTouchTargetSize(false);
+                holder.itemChipGroup.addView(chip);
+                pool.add(chip);
             }
+            chip.setText(labels.get(i));
+            chip.setVisibility(View.VISIBLE);
+        }
+        for (int i = labels.size(); i < pool.size(); i++) {
+            pool.get(i).setVisibility(View.GONE);
         }
+    }
 
-        try {
-            // Apply determined colors and icon to the TextInputLayout and AutoCompleteTextView
-            int color = ContextCompat.getColor(context, tintColorId);
-            int bg = ContextCompat.getColor(context, bgColorId);
-            holder.statusInputLayout.setBoxBackgroundColor(bg);
-            holder.statusInputLayout.setStartIconDrawable(iconId);
-            holder.statusInputLayout.setStartIconTintList(ContextCompat.getColorStateList(context, tintColorId));
-            holder.statusInputLayout.setEndIconTintList(ContextCompat.getColorStateList(context, tintColorId));
-            holder.statusAutoComplete.setTextColor(color);
-        } catch (Exception e) { e.printStackTrace(); }
+    // The pipeline updates the list optimistically and batches the write; failures roll back there
+    private void updateOrderStatus(OrderViewHolder holder, Order order, String newStatus) {
+        if (order.getOrderId() == null) return;
+        if (!statusPipeline.submit(order, newStatus)) {
+            String current = statusPipeline.effectiveStatus(order);
+            // The dropdown already shows the rejected pick; put the current status back
+            holder.statusAutoComplete.setText(current, false);
+            Toast.makeText(context, "Cannot change " + current + " to " + newStatus, Toast.LENGTH_SHORT).show();
+        }
     }
 
-    @Override
-    public int getItemCount() { return orderList.size(); }
+    private void applyStatusStyle(OrderViewHolder holder, OrderRowModel.StatusStyle style) {
+        // Skip the drawable and tint work when the row already shows this status
+        if (holder.boundStyle == style) return;
+        holder.boundStyle = style;
+
+        ColorStateList tint = ContextCompat.getColorStateList(context, style.tintColorRes);
+        holder.statusInputLayout.setBoxBackgroundColor(ContextCompat.getColor(context, style.backgroundColorRes));
+        holder.statusInputLayout.setStartIconDrawable(style.iconRes);
+        holder.statusInputLayout.setStartIconTintList(tint);
+        holder.statusInputLayout.setEndIconTintList(tint);
+        holder.statusAutoComplete.setTextColor(tint);
+    }
 
     public static class OrderViewHolder extends RecyclerView.ViewHolder {
+        MaterialCardView card;
         TextView txtOrderId, txtDate, txtTotal, txtCustomerName, txtCustomerPhone, txtDeliveryAddress, txtCustomerNote;
         TextInputLayout statusInputLayout;
         AutoCompleteTextView statusAutoComplete;
         ChipGroup itemChipGroup;
         MaterialCardView cardCustomerNote;
         MaterialButton btnMarkAsDone;
+        // User id this holder is currently showing, used to drop stale async results
+        String boundUserId;
+        // Status style currently applied to the dropdown
+        OrderRowModel.StatusStyle boundStyle;
+        // Item chips owned by this row, reused across binds
+        final List<Chip> chipPool = new ArrayList<>();
 
         public OrderViewHolder(@NonNull View itemView) {
             super(itemView);
             // Bind all UI components from item_admin_order.xml
+            card = (MaterialCardView) itemView;
             txtOrderId = itemView.findViewById(R.id.txtOrderId);
             txtDate = itemView.findViewById(R.id.txtDate);
             txtTotal = itemView.findViewById(R.id.txtTotal);
@@ -217,9 +325,31 @@ public class AdminOrderAdapter extends RecyclerView.Adapter<AdminOrderAdapter.Or
 
     // --- Adapter for Dropdown ---
     // Custom ArrayAdapter to include status icons in the dropdown list items.
-    private class CustomStatusArrayAdapter extends ArrayAdapter<String> {
+    // Shared by every row, so filtering (which would mutate the shared option list) is disabled.
+    private static class CustomStatusArrayAdapter extends ArrayAdapter<String> {
+        private final String[] options;
+
         public CustomStatusArrayAdapter(@NonNull Context context, int resource, @NonNull String[] objects) {
             super(context, resource, objects);
+            this.options = objects;
+        }
+
+        @NonNull @Override
+        public Filter getFilter() {
+            return new Filter() {
+                @Override
+                protected FilterResults performFiltering(CharSequence constraint) {
+                    FilterResults results = new FilterResults();
+                    results.values = options;
+                    results.count = options.length;
+                    return results;
+                }
+
+                @Override
+                protected void publishResults(CharSequence constraint, FilterResults results) {
+                    notifyDataSetChanged();
+                }
+            };
         }
 
         @NonNull @Override
@@ -0,0 +1,66 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.Calendar;
+import java.util.Date;
+
+// Headline metrics with revenue and order count computed server-side (count()/sum()).
+// Those two are reported through the TotalsListener as soon as the aggregate query answers,
+// without waiting for the fallback source. Items sold and unique customers cannot be expressed
+// as aggregate queries, so the complete result takes them from the fallback, which also
+// supplies every number when the aggregate query fails.
+public class AggregateMetricsSource implements MetricsSource {
+
+    private final OrderAggregates aggregates;
+    private final MetricsSource fallback;
+
+    public AggregateMetricsSource(OrderAggregates aggregates, MetricsSource fallback) {
+        this.aggregates = aggregates;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Task<HeadlineMetrics> load(@Nullable Date start, @Nullable Date end, @Nullable TotalsListener onTotals) {
+        // The fallback rolls up whole days, so the aggregate bounds are widened to match it
+        Date from = start != null ? startOfDay(start) : null;
+        Date to = start != null && end != null ? endOfDay(end) : null;
+
+        final Task<OrderAggregates.Totals> totalsTask = aggregates.countAndSumTotal(from, to);
+        final Task<HeadlineMetrics> fallbackTask = fallback.load(start, end, null);
+
+        if (onTotals != null) {
+            totalsTask.addOnSuccessListener(totals -> onTotals.onTotals(totals.revenue, totals.orderCount));
+        }
+
+        return Tasks.whenAllComplete(totalsTask, fallbackTask).continueWithTask(ignored -> {
+            if (!fallbackTask.isSuccessful() || !totalsTask.isSuccessful()) return fallbackTask;
+
+            OrderAggregates.Totals totals = totalsTask.getResult();
+            HeadlineMetrics rest = fallbackTask.getResult();
+            return Tasks.forResult(new HeadlineMetrics(totals.revenue, totals.orderCount,
+                    rest.getItemsSold(), rest.getUniqueCustomers()));
+        });
+    }
+
+    private static Date startOfDay(Date date) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(date);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        return cal.getTime();
+    }
+
+    private static Date endOfDay(Date date) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(startOfDay(date));
+        cal.add(Calendar.DAY_OF_YEAR, 1);
+        cal.add(Calendar.MILLISECOND, -1);
+        return cal.getTime();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.foodorderingappadmin;
+
+import androidx.tracing.Trace;
+
+// Labels for system traces (Perfetto) along the listener -> map -> aggregate -> filter -> bind
+// pipeline. Only the 'profiling' build type sets BuildConfig.TRACING; everywhere else ENABLED is
+// a compile-time false, every method body below is dropped by javac and the calls are empty
+// static methods. Call sites that would compute an argument guard on ENABLED themselves.
+// Section names are constants; counters show up as their own tracks next to the sections.
+final class AppTrace {
+
+    static final boolean ENABLED = BuildConfig.TRACING;
+
+    private AppTrace() {}
+
+    // Synchronous section on the current thread; always pair with end() in a finally block
+    static void begin(String name) {
+        if (ENABLED) Trace.beginSection(name);
+    }
+
+    static void end() {
+        if (ENABLED) Trace.endSection();
+    }
+
+    // Slice that may start and end on different threads; 'cookie' tells overlapping ones apart
+    static void beginAsync(String name, int cookie) {
+        if (ENABLED) Trace.beginAsyncSection(name, cookie);
+    }
+
+    static void endAsync(String name, int cookie) {
+        if (ENABLED) Trace.endAsyncSection(name, cookie);
+    }
+
+    static void count(String name, int value) {
+        if (ENABLED) Trace.setCounter(name, value);
+    }
+}
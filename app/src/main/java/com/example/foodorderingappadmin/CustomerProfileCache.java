@@ -0,0 +1,219 @@
+package com.example.foodorderingappadmin;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Process-wide, bounded cache in front of every 'users/{id}' lookup.
+// - LRU eviction once MAX_ENTRIES is reached, entries expire after TTL_MS
+// - Concurrent requests for the same id share a single in-flight load
+// - Misses requested during the same main-loop pass are coalesced into one UserRepository load
+public class CustomerProfileCache {
+
+    private static final String TAG = "CustomerProfileCache";
+
+    private static final int MAX_ENTRIES = 500;
+    private static final long TTL_MS = 10 * 60 * 1000L;
+    // Profiles restored from the warm-start snapshot count as fresh for this long only
+    private static final long SEEDED_TTL_MS = 60 * 1000L;
+
+    private static CustomerProfileCache instance;
+
+    private final UserRepository users;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Access-ordered map so iteration order doubles as the LRU order
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > MAX_ENTRIES) {
+                evictionCount++;
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<String, TaskCompletionSource<CustomerProfile>> inFlight = new HashMap<>();
+    private final Set<String> pendingIds = new LinkedHashSet<>();
+    private boolean flushScheduled;
+
+    // --- Counters ---
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private CustomerProfileCache() {
+        this.users = Repositories.users();
+    }
+
+    public static synchronized CustomerProfileCache getInstance() {
+        if (instance == null) {
+            instance = new CustomerProfileCache();
+        }
+        return instance;
+    }
+
+    // Returns the cached profile without triggering a load, or null when absent/expired.
+    // Counts as a lookup: a hit or a miss. To load on a miss, call get() instead, not both.
+    public synchronized CustomerProfile getIfPresent(String userId) {
+        if (userId == null || userId.isEmpty()) return CustomerProfile.MISSING;
+        CustomerProfile profile = lookupFresh(userId);
+        if (profile != null) hitCount++;
+        else missCount++;
+        return profile;
+    }
+
+    // Resolves the profile for a single user id, loading it (batched) on a miss.
+    // A hit returns an already completed task, so callers can bind it in the same pass.
+    public synchronized Task<CustomerProfile> get(String userId) {
+        if (userId == null || userId.isEmpty()) return Tasks.forResult(CustomerProfile.MISSING);
+
+        CustomerProfile cached = lookupFresh(userId);
+        if (cached != null) {
+            hitCount++;
+            return Tasks.forResult(cached);
+        }
+        missCount++;
+
+        // Join an existing load instead of issuing a duplicate read
+        TaskCompletionSource<CustomerProfile> pending = inFlight.get(userId);
+        if (pending != null) return pending.getTask();
+
+        TaskCompletionSource<CustomerProfile> source = new TaskCompletionSource<>();
+        inFlight.put(userId, source);
+        pendingIds.add(userId);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            mainHandler.post(this::flushPending);
+        }
+        return source.getTask();
+    }
+
+    // Resolves several ids at once. Failed lookups are simply left out of the result map.
+    public Task<Map<String, CustomerProfile>> getAll(Collection<String> userIds) {
+        Set<String> distinctIds = new HashSet<>(userIds);
+        distinctIds.remove(null);
+        distinctIds.remove("");
+
+        final Map<String, Task<CustomerProfile>> tasks = new HashMap<>();
+        for (String userId : distinctIds) {
+            tasks.put(userId, get(userId));
+        }
+
+        return Tasks.whenAllComplete(tasks.values()).continueWith(ignored -> {
+            Map<String, CustomerProfile> result = new HashMap<>();
+            for (Map.Entry<String, Task<CustomerProfile>> entry : tasks.entrySet()) {
+                if (entry.getValue().isSuccessful()) {
+                    result.put(entry.getKey(), entry.getValue().getResult());
+                }
+            }
+            return result;
+        });
+    }
+
+    // Same as getIfPresent() without touching the hit counter (for persisting the cache)
+    public synchronized CustomerProfile peek(String userId) {
+        return lookupFresh(userId);
+    }
+
+    // Adds profiles from a previous run so rows can show names before any read completes.
+    // Existing entries win; seeded ones expire after SEEDED_TTL_MS and are then re-read.
+    public synchronized void seed(Collection<CustomerProfile> profiles) {
+        long loadedAt = SystemClock.elapsedRealtime() - TTL_MS + SEEDED_TTL_MS;
+        for (CustomerProfile profile : profiles) {
+            if (profile.getUserId() == null || entries.containsKey(profile.getUserId())) continue;
+            entries.put(profile.getUserId(), new Entry(profile, loadedAt));
+        }
+    }
+
+    public synchronized void invalidate(String userId) {
+        entries.remove(userId);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized long getHitCount() { return hitCount; }
+    public synchronized long getMissCount() { return missCount; }
+    public synchronized long getEvictionCount() { return evictionCount; }
+    public synchronized int size() { return entries.size(); }
+
+    // --- Internal Loading ---
+
+    private CustomerProfile lookupFresh(String userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) return null;
+        if (SystemClock.elapsedRealtime() - entry.loadedAt > TTL_MS) {
+            entries.remove(userId);
+            return null;
+        }
+        return entry.profile;
+    }
+
+    private void flushPending() {
+        final List<String> ids;
+        synchronized (this) {
+            flushScheduled = false;
+            ids = new ArrayList<>(pendingIds);
+            pendingIds.clear();
+        }
+
+        if (ids.isEmpty()) return;
+        TaskFutures.toTask(users.loadProfiles(ids))
+                .addOnSuccessListener(profiles -> {
+                    for (String userId : ids) {
+                        CustomerProfile profile = profiles.get(userId);
+                        // Ids with no document are cached as MISSING so they are not re-queried
+                        complete(userId, profile != null ? profile : CustomerProfile.MISSING);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    Log.w(TAG, "Batched user lookup failed", e);
+                    for (String userId : ids) {
+                        fail(userId, e);
+                    }
+                });
+    }
+
+    private void complete(String userId, CustomerProfile profile) {
+        TaskCompletionSource<CustomerProfile> source;
+        synchronized (this) {
+            entries.put(userId, new Entry(profile, SystemClock.elapsedRealtime()));
+            source = inFlight.remove(userId);
+        }
+        if (source != null) source.trySetResult(profile);
+    }
+
+    private void fail(String userId, Exception e) {
+        TaskCompletionSource<CustomerProfile> source;
+        synchronized (this) {
+            source = inFlight.remove(userId);
+        }
+        if (source != null) source.trySetException(e);
+    }
+
+    private static class Entry {
+        final CustomerProfile profile;
+        final long loadedAt;
+        Entry(CustomerProfile profile, long loadedAt) {
+            this.profile = profile;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
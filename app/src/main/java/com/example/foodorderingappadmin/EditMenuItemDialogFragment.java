@@ -22,7 +22,6 @@ import androidx.fragment.app.DialogFragment;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.materialswitch.MaterialSwitch;
 import com.google.android.material.textfield.TextInputEditText;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -32,7 +31,7 @@ public class EditMenuItemDialogFragment extends DialogFragment {
     private TextInputEditText etName, etDescription, etPrice, etImage;
     private AutoCompleteTextView actCategory;
     private MaterialSwitch switchAvailability;
-    private FirebaseFirestore db;
+    private MenuRepository menuRepository;
     private MenuItem menuItemToEdit;
 
     // Static factory method to pass the MenuItem data to the dialog.
@@ -53,7 +52,7 @@ public class EditMenuItemDialogFragment extends DialogFragment {
             getDialog().getWindow().requestFeature(Window.FEATURE_NO_TITLE);
         }
 
-        db = FirebaseFirestore.getInstance();
+        menuRepository = Repositories.menu();
 
         // Initialize Views
         TextView dialogTitle = view.findViewById(R.id.dialogTitle);
@@ -130,19 +129,20 @@ public class EditMenuItemDialogFragment extends DialogFragment {
 
         double price = Double.parseDouble(priceStr);
 
-        // Prepare fields for Firestore update.
+        // Prepare the fields to update.
         Map<String, Object> updates = new HashMap<>();
         updates.put("name", name);
         updates.put("description", desc);
         updates.put("price", price);
         updates.put("category", category);
         updates.put("imageUrl", imageUrl);
+        // A hand-edited image URL no longer matches the uploaded thumbnail
+        if (menuItemToEdit != null && !imageUrl.equals(menuItemToEdit.getImageUrl())) updates.put("thumbnailUrl", "");
         updates.put("available", isAvailable);
 
-        // Execute the Firestore update using the item's document ID.
+        // Execute the update using the item's document ID.
         if (menuItemToEdit != null && menuItemToEdit.getId() != null) {
-            db.collection("menu_items").document(menuItemToEdit.getId())
-                    .update(updates)
+            TaskFutures.toTask(menuRepository.update(menuItemToEdit.getId(), updates))
                     .addOnSuccessListener(aVoid -> {
                         Toast.makeText(getContext(), "Item updated", Toast.LENGTH_SHORT).show();
                         dismiss();
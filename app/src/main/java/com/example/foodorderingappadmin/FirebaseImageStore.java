@@ -0,0 +1,63 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageException;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutionException;
+
+// ImageStore backed by Cloud Storage for Firebase; URLs are the objects' download URLs
+class FirebaseImageStore implements ImageStore {
+
+    // Objects are content-addressed and never rewritten, so clients may cache them indefinitely
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final StorageReference root;
+
+    FirebaseImageStore(FirebaseStorage storage) {
+        this.root = storage.getReference();
+    }
+
+    @Nullable
+    @Override
+    public String find(String path) throws IOException {
+        try {
+            return await(root.child(path).getDownloadUrl()).toString();
+        } catch (IOException e) {
+            if (e.getCause() instanceof StorageException
+                    && ((StorageException) e.getCause()).getErrorCode() == StorageException.ERROR_OBJECT_NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public String put(String path, byte[] data, String contentType) throws IOException {
+        StorageReference ref = root.child(path);
+        StorageMetadata metadata = new StorageMetadata.Builder()
+                .setContentType(contentType)
+                .setCacheControl(CACHE_CONTROL)
+                .build();
+        await(ref.putBytes(data, metadata));
+        return await(ref.getDownloadUrl()).toString();
+    }
+
+    private static <T> T await(Task<T> task) throws IOException {
+        try {
+            return Tasks.await(task);
+        } catch (ExecutionException e) {
+            throw new IOException("Storage request failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for storage");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+// MenuRepository over the Firestore 'menu_items' collection.
+// Page cursors are the last DocumentSnapshot of the previous page.
+class FirestoreMenuRepository implements MenuRepository {
+
+    private final CollectionReference items;
+    private final FirestoreReadStats stats = FirestoreReadStats.getInstance();
+
+    FirestoreMenuRepository(FirebaseFirestore db) {
+        this.items = db.collection("menu_items");
+    }
+
+    // Full mapping, equivalent to toObject() followed by setId()
+    @Nullable
+    static MenuItem fromSnapshot(DocumentSnapshot doc) {
+        Map<String, Object> data = doc.getData();
+        return data != null ? MenuItemMapper.fromData(doc.getId(), data) : null;
+    }
+
+    // Projected mapping: only the given fields are read, the rest keep their defaults
+    @Nullable
+    static MenuItem fromSnapshot(DocumentSnapshot doc, Set<MenuItemMapper.Field> fields) {
+        if (!doc.exists()) return null;
+        MenuItem item = new MenuItem();
+        item.setId(doc.getId());
+        for (MenuItemMapper.Field field : fields) {
+            MenuItemMapper.read(item, field, doc.get(field.key));
+        }
+        return item;
+    }
+
+    @Override
+    public Registration listen(ChangeListener<MenuItem> listener) {
+        boolean[] initial = {true};
+        // Metadata changes let the read stats see a cached result being confirmed by the server
+        ListenerRegistration registration = items.addSnapshotListener(MetadataChanges.INCLUDE, stats.listener("menu.all", (value, error) -> {
+            if (error != null) {
+                listener.onError(error);
+                return;
+            }
+            if (value == null) return;
+            // A fresh subscription replays every document as ADDED
+            boolean first = initial[0];
+            initial[0] = false;
+
+            List<DocumentChange> documentChanges = value.getDocumentChanges();
+            List<Change<MenuItem>> changes = new ArrayList<>(documentChanges.size());
+            AppTrace.begin("FirestoreMenuRepository.mapChanges");
+            try {
+                AppTrace.count("FirestoreMenuRepository.documents", documentChanges.size());
+                for (DocumentChange change : documentChanges) {
+                    DocumentSnapshot doc = change.getDocument();
+                    if (change.getType() == DocumentChange.Type.REMOVED) {
+                        changes.add(Change.removed(doc.getId()));
+                        continue;
+                    }
+                    MenuItem item = fromSnapshot(doc);
+                    if (item == null) continue;
+                    changes.add(change.getType() == DocumentChange.Type.ADDED
+                            ? Change.added(doc.getId(), item) : Change.modified(doc.getId(), item));
+                }
+            } finally {
+                AppTrace.end();
+            }
+            listener.onChanges(changes, first);
+        }));
+        return registration::remove;
+    }
+
+    @Override
+    public CompletableFuture<String> add(MenuItem item) {
+        DocumentReference ref = items.document();
+        return TaskFutures.toFuture(ref.set(MenuItemMapper.toData(item))).thenApply(ignored -> ref.getId());
+    }
+
+    @Override
+    public CompletableFuture<Void> update(String id, Map<String, Object> fields) {
+        return TaskFutures.toFuture(items.document(id).update(fields));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String id) {
+        return TaskFutures.toFuture(items.document(id).delete());
+    }
+
+    @Override
+    public String newId() {
+        return items.document().getId();
+    }
+
+    @Override
+    public CompletableFuture<Void> commit(List<Write> writes) {
+        WriteBatch batch = items.getFirestore().batch();
+        for (Write write : writes) {
+            if (write.create) {
+                batch.set(items.document(write.id), write.fields);
+            } else {
+                batch.update(items.document(write.id), write.fields);
+            }
+        }
+        return TaskFutures.toFuture(batch.commit());
+    }
+
+    @Override
+    public CompletableFuture<Page<MenuItem>> loadPage(@Nullable Object after, int limit) {
+        Query query = items.orderBy(FieldPath.documentId()).limit(limit);
+        if (after != null) query = query.startAfter((DocumentSnapshot) after);
+        return TaskFutures.toFuture(stats.query("menu.page", query.get())).thenApply(page -> {
+            List<DocumentSnapshot> docs = page.getDocuments();
+            AppTrace.begin("FirestoreMenuRepository.mapPage");
+            try {
+                AppTrace.count("FirestoreMenuRepository.documents", docs.size());
+                List<MenuItem> menu = new ArrayList<>(docs.size());
+                for (DocumentSnapshot doc : docs) {
+                    MenuItem item = fromSnapshot(doc);
+                    if (item != null) menu.add(item);
+                }
+                Object next = docs.size() == limit && !docs.isEmpty() ? docs.get(docs.size() - 1) : null;
+                return new Page<>(menu, next);
+            } finally {
+                AppTrace.end();
+            }
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.AggregateField;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+
+import java.util.Date;
+
+// OrderAggregates backed by a Firestore AggregateQuery (one count() + sum("total") request).
+// Aggregations are answered by the server only, so this fails while offline.
+class FirestoreOrderAggregates implements OrderAggregates {
+
+    private static final AggregateField SUM_TOTAL = AggregateField.sum("total");
+
+    private final FirebaseFirestore db;
+    private final FirestoreReadStats stats = FirestoreReadStats.getInstance();
+
+    FirestoreOrderAggregates(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    @Override
+    public Task<Totals> countAndSumTotal(@Nullable Date start, @Nullable Date end) {
+        Query query = db.collection("orders");
+        if (start != null) {
+            query = query.whereGreaterThanOrEqualTo("orderedAt", start);
+            if (end != null) query = query.whereLessThanOrEqualTo("orderedAt", end);
+        }
+
+        return stats.aggregate("orders.countAndSum", query.aggregate(AggregateField.count(), SUM_TOTAL).get(AggregateSource.SERVER))
+                .continueWith(task -> {
+                    AggregateQuerySnapshot snapshot = task.getResult();
+                    Double revenue = snapshot.getDouble(SUM_TOTAL);
+                    return new Totals(snapshot.getCount(), revenue != null ? revenue : 0);
+                });
+    }
+}
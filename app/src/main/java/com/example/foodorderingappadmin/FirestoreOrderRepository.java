@@ -0,0 +1,170 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// OrderRepository over the Firestore 'orders' collection.
+// Page cursors are the last DocumentSnapshot of the previous page.
+class FirestoreOrderRepository implements OrderRepository {
+
+    // Firestore allows at most 30 values in a single 'in' filter
+    private static final int MAX_IDS_PER_QUERY = 30;
+
+    private final CollectionReference orders;
+    private final FirestoreReadStats stats = FirestoreReadStats.getInstance();
+
+    FirestoreOrderRepository(FirebaseFirestore db) {
+        this.orders = db.collection("orders");
+    }
+
+    @Override
+    public Registration listenToActiveOrders(ChangeListener<Order> listener) {
+        Query query = orders
+                .whereNotIn("status", OrderStatus.FINAL)
+                .orderBy("orderedAt", Query.Direction.DESCENDING);
+        boolean[] initial = {true};
+        // Metadata changes let the read stats see a cached result being confirmed by the server
+        ListenerRegistration registration = query.addSnapshotListener(MetadataChanges.INCLUDE, stats.listener("orders.active", (value, error) -> {
+            if (error != null) {
+                listener.onError(error);
+                return;
+            }
+            if (value == null) return;
+            // A fresh subscription replays every document as ADDED
+            boolean first = initial[0];
+            initial[0] = false;
+            listener.onChanges(toChanges(value), first);
+        }));
+        return registration::remove;
+    }
+
+    @Override
+    public CompletableFuture<Void> updateStatuses(Map<String, String> statusByOrderId) {
+        WriteBatch batch = orders.getFirestore().batch();
+        for (Map.Entry<String, String> entry : statusByOrderId.entrySet()) {
+            batch.update(orders.document(entry.getKey()), "status", entry.getValue());
+        }
+        return TaskFutures.toFuture(batch.commit());
+    }
+
+    @Override
+    public boolean isRetryable(Throwable error) {
+        if (!(error instanceof FirebaseFirestoreException)) return false;
+        switch (((FirebaseFirestoreException) error).getCode()) {
+            case UNAVAILABLE:
+            case DEADLINE_EXCEEDED:
+            case ABORTED:
+            case RESOURCE_EXHAUSTED:
+            case INTERNAL:
+            case UNKNOWN:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Requires the composite index orders(status ASC, orderedAt DESC)
+    @Override
+    public CompletableFuture<Page<Order>> loadFinalOrders(@Nullable Date start, @Nullable Date end,
+                                                         @Nullable Object after, int limit) {
+        Query query = orders.whereIn("status", OrderStatus.FINAL);
+        if (start != null) {
+            query = query.whereGreaterThanOrEqualTo("orderedAt", start);
+            if (end != null) query = query.whereLessThanOrEqualTo("orderedAt", end);
+        }
+        query = query.orderBy("orderedAt", Query.Direction.DESCENDING);
+        return loadPage("orders.finalPage", query, after, limit);
+    }
+
+    @Override
+    public CompletableFuture<Page<Order>> loadOrderedSince(@Nullable Date since, @Nullable Object after, int limit) {
+        Query query = orders.orderBy("orderedAt", Query.Direction.ASCENDING);
+        if (since != null) query = query.whereGreaterThanOrEqualTo("orderedAt", since);
+        return loadPage("orders.sincePage", query, after, limit);
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> loadByIds(Collection<String> orderIds) {
+        List<String> ids = new ArrayList<>(orderIds);
+        List<Task<QuerySnapshot>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += MAX_IDS_PER_QUERY) {
+            List<String> chunk = new ArrayList<>(ids.subList(start, Math.min(start + MAX_IDS_PER_QUERY, ids.size())));
+            chunks.add(stats.query("orders.byIds", orders.whereIn(FieldPath.documentId(), chunk).get()));
+        }
+        return TaskFutures.toFuture(Tasks.<QuerySnapshot>whenAllSuccess(chunks)).thenApply(pages -> {
+            List<Order> found = new ArrayList<>(ids.size());
+            for (QuerySnapshot page : pages) found.addAll(toOrders(page.getDocuments()));
+            return found;
+        });
+    }
+
+    // --- Internal Helpers ---
+
+    private CompletableFuture<Page<Order>> loadPage(String operation, Query query, @Nullable Object after, int limit) {
+        if (after != null) query = query.startAfter((DocumentSnapshot) after);
+        return TaskFutures.toFuture(stats.query(operation, query.limit(limit).get())).thenApply(page -> {
+            List<DocumentSnapshot> docs = page.getDocuments();
+            // A full page may have a successor; a short one is the last
+            Object next = docs.size() == limit && !docs.isEmpty() ? docs.get(docs.size() - 1) : null;
+            return new Page<>(toOrders(docs), next);
+        });
+    }
+
+    private static List<Change<Order>> toChanges(QuerySnapshot value) {
+        List<DocumentChange> documentChanges = value.getDocumentChanges();
+        AppTrace.begin("FirestoreOrderRepository.mapChanges");
+        try {
+            AppTrace.count("FirestoreOrderRepository.documents", documentChanges.size());
+            List<Change<Order>> changes = new ArrayList<>(documentChanges.size());
+            for (DocumentChange change : documentChanges) {
+                DocumentSnapshot doc = change.getDocument();
+                if (change.getType() == DocumentChange.Type.REMOVED) {
+                    changes.add(Change.removed(doc.getId()));
+                    continue;
+                }
+                Order order = OrderMapper.fromSnapshot(doc);
+                if (order == null) continue;
+                changes.add(change.getType() == DocumentChange.Type.ADDED
+                        ? Change.added(doc.getId(), order) : Change.modified(doc.getId(), order));
+            }
+            return changes;
+        } finally {
+            AppTrace.end();
+        }
+    }
+
+    private static List<Order> toOrders(List<DocumentSnapshot> docs) {
+        AppTrace.begin("FirestoreOrderRepository.mapOrders");
+        try {
+            AppTrace.count("FirestoreOrderRepository.documents", docs.size());
+            List<Order> orders = new ArrayList<>(docs.size());
+            for (DocumentSnapshot doc : docs) {
+                Order order = OrderMapper.fromSnapshot(doc);
+                if (order != null) orders.add(order);
+            }
+            return orders;
+        } finally {
+            AppTrace.end();
+        }
+    }
+}
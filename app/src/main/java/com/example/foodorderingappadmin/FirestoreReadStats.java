@@ -0,0 +1,388 @@
+package com.example.foodorderingappadmin;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.Blob;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Process-wide accounting of Firestore reads, per (screen, operation).
+// The Firestore repositories pass every get() task and snapshot listener through here; each
+// response records the documents it carried (server vs local cache), their estimated size and,
+// for gets and a listener's first snapshot, the latency since the request was made.
+// Snapshot listeners must be registered with MetadataChanges.INCLUDE (see listener()).
+// - Screen: the one on screen when the get was issued or the listener registered (setScreen)
+// - Billing: only server documents are billed; cache documents are free
+// - Bytes: Firestore's documented storage size of each document (names, fields and values),
+//   a close stand-in for the payload since the SDK does not expose wire sizes
+// Thread-safe; recording happens on whichever thread Firestore completes on.
+public final class FirestoreReadStats {
+
+    private static final String TAG = "FirestoreReadStats";
+    private static final String FILE_NAME = "firestore_reads.json";
+    // Latency percentiles are taken over the most recent samples of each operation
+    private static final int LATENCY_SAMPLES = 256;
+
+    private static FirestoreReadStats instance;
+
+    private final Map<String, Counter> counters = new LinkedHashMap<>();
+    private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+    private volatile String screen = "Startup";
+    private volatile boolean enabled = true;
+
+    private FirestoreReadStats() {}
+
+    public static synchronized FirestoreReadStats getInstance() {
+        if (instance == null) {
+            instance = new FirestoreReadStats();
+        }
+        return instance;
+    }
+
+    // --- Configuration ---
+
+    // Reads issued from now on are attributed to this screen
+    public void setScreen(String screen) {
+        this.screen = screen;
+    }
+
+    // Disabled: nothing is recorded for tasks and listeners created from now on
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // --- Hooks (used by the Firestore repositories) ---
+
+    Task<QuerySnapshot> query(String operation, Task<QuerySnapshot> task) {
+        if (!enabled) return task;
+        final String tag = screen;
+        final long startedAt = SystemClock.elapsedRealtimeNanos();
+        task.addOnCompleteListener(Runnable::run, done -> {
+            long latency = SystemClock.elapsedRealtimeNanos() - startedAt;
+            if (!done.isSuccessful()) {
+                recordError(tag, operation);
+                return;
+            }
+            QuerySnapshot snapshot = done.getResult();
+            record(tag, operation, snapshot.size(), estimateBytes(snapshot.getDocuments()),
+                    snapshot.getMetadata().isFromCache(), latency);
+        });
+        return task;
+    }
+
+    Task<DocumentSnapshot> document(String operation, Task<DocumentSnapshot> task) {
+        if (!enabled) return task;
+        final String tag = screen;
+        final long startedAt = SystemClock.elapsedRealtimeNanos();
+        task.addOnCompleteListener(Runnable::run, done -> {
+            long latency = SystemClock.elapsedRealtimeNanos() - startedAt;
+            if (!done.isSuccessful()) {
+                recordError(tag, operation);
+                return;
+            }
+            DocumentSnapshot doc = done.getResult();
+            // A missing document is still billed as one read
+            record(tag, operation, 1, doc.exists() ? estimateBytes(doc) : 0,
+                    doc.getMetadata().isFromCache(), latency);
+        });
+        return task;
+    }
+
+    // Aggregations are billed one read per batch of up to 1000 index entries; counted as one here
+    Task<AggregateQuerySnapshot> aggregate(String operation, Task<AggregateQuerySnapshot> task) {
+        if (!enabled) return task;
+        final String tag = screen;
+        final long startedAt = SystemClock.elapsedRealtimeNanos();
+        task.addOnCompleteListener(Runnable::run, done -> {
+            long latency = SystemClock.elapsedRealtimeNanos() - startedAt;
+            if (done.isSuccessful()) record(tag, operation, 1, 0, false, latency);
+            else recordError(tag, operation);
+        });
+        return task;
+    }
+
+    // Wraps a query listener registered with MetadataChanges.INCLUDE, which is what reveals the
+    // server confirming a result first served from cache. That first server snapshot is billed for
+    // every document it holds; other events count the documents they changed. Only the first event
+    // has a latency. Metadata-only events are not passed on, so the delegate sees the same events
+    // as a listener registered without metadata changes (also while disabled).
+    EventListener<QuerySnapshot> listener(String operation, EventListener<QuerySnapshot> delegate) {
+        final boolean track = enabled;
+        final String tag = screen;
+        final long registeredAt = SystemClock.elapsedRealtimeNanos();
+        final boolean[] first = {true};
+        final boolean[] synced = {false};
+        final boolean[] delivered = {false};
+        return (value, error) -> {
+            if (error != null || value == null) {
+                if (track && error != null) recordError(tag, operation);
+                delegate.onEvent(value, error);
+                return;
+            }
+            boolean fromCache = value.getMetadata().isFromCache();
+            List<DocumentChange> changes = value.getDocumentChanges();
+            if (track) {
+                long latency = first[0] ? SystemClock.elapsedRealtimeNanos() - registeredAt : -1;
+                if (!fromCache && !synced[0]) {
+                    record(tag, operation, value.size(), estimateBytes(value.getDocuments()), false, latency);
+                } else if (!changes.isEmpty() || latency >= 0) {
+                    long bytes = 0;
+                    for (DocumentChange change : changes) {
+                        if (change.getType() != DocumentChange.Type.REMOVED) bytes += estimateBytes(change.getDocument());
+                    }
+                    record(tag, operation, changes.size(), bytes, fromCache, latency);
+                }
+            }
+            first[0] = false;
+            if (!fromCache) synced[0] = true;
+
+            if (delivered[0] && changes.isEmpty()) return;
+            delivered[0] = true;
+            delegate.onEvent(value, null);
+        };
+    }
+
+    // --- Read Access ---
+
+    // Current totals, in the order each (screen, operation) was first seen
+    public synchronized List<Entry> getEntries() {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) entries.add(counter.toEntry());
+        return entries;
+    }
+
+    public synchronized void reset() {
+        counters.clear();
+    }
+
+    // Writes the current totals as JSON to files/firestore_reads.json on a background thread,
+    // tagged with the app version so dumps of two builds can be compared
+    public void dump(Context context) {
+        final File file = new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+        final String version = versionOf(context);
+        final List<Entry> entries = getEntries();
+        writeExecutor.execute(() -> {
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                out.write(toJson(version, entries).toString(2).getBytes(StandardCharsets.UTF_8));
+            } catch (IOException | JSONException e) {
+                Log.w(TAG, "Could not write " + file, e);
+            }
+        });
+    }
+
+    // Totals of one (screen, operation)
+    public static final class Entry {
+        public final String screen;
+        public final String operation;
+        public final long responses;
+        public final long errors;
+        public final long serverDocuments; // billed
+        public final long cacheDocuments;  // free
+        public final long bytes;
+        public final double p50Ms;
+        public final double p90Ms;
+        public final double p99Ms;
+        public final double maxMs;
+
+        Entry(String screen, String operation, long responses, long errors, long serverDocuments, long cacheDocuments,
+              long bytes, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+            this.screen = screen;
+            this.operation = operation;
+            this.responses = responses;
+            this.errors = errors;
+            this.serverDocuments = serverDocuments;
+            this.cacheDocuments = cacheDocuments;
+            this.bytes = bytes;
+            this.p50Ms = p50Ms;
+            this.p90Ms = p90Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+        }
+    }
+
+    // --- Internal Helpers ---
+
+    private synchronized void record(String tag, String operation, int documents, long bytes,
+                                     boolean fromCache, long latencyNanos) {
+        Counter counter = counterFor(tag, operation);
+        counter.responses++;
+        if (fromCache) counter.cacheDocuments += documents;
+        else counter.serverDocuments += documents;
+        counter.bytes += bytes;
+        if (latencyNanos >= 0) counter.addLatency(latencyNanos);
+    }
+
+    private synchronized void recordError(String tag, String operation) {
+        counterFor(tag, operation).errors++;
+    }
+
+    private Counter counterFor(String tag, String operation) {
+        String key = tag + '\u0000' + operation;
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = new Counter(tag, operation);
+            counters.put(key, counter);
+        }
+        return counter;
+    }
+
+    private static JSONObject toJson(String version, List<Entry> entries) throws JSONException {
+        JSONArray operations = new JSONArray();
+        for (Entry entry : entries) {
+            operations.put(new JSONObject()
+                    .put("screen", entry.screen)
+                    .put("operation", entry.operation)
+                    .put("responses", entry.responses)
+                    .put("errors", entry.errors)
+                    .put("serverDocuments", entry.serverDocuments)
+                    .put("cacheDocuments", entry.cacheDocuments)
+                    .put("bytes", entry.bytes)
+                    .put("p50Ms", entry.p50Ms)
+                    .put("p90Ms", entry.p90Ms)
+                    .put("p99Ms", entry.p99Ms)
+                    .put("maxMs", entry.maxMs));
+        }
+        return new JSONObject()
+                .put("version", version)
+                .put("dumpedAt", System.currentTimeMillis())
+                .put("uptimeMs", SystemClock.elapsedRealtime())
+                .put("operations", operations);
+    }
+
+    private static String versionOf(Context context) {
+        try {
+            return context.getPackageManager().getPackageInfo(context.getPackageName(), 0).versionName;
+        } catch (PackageManager.NameNotFoundException e) {
+            return "unknown";
+        }
+    }
+
+    // --- Document Size (https://firebase.google.com/docs/firestore/storage-size) ---
+
+    private static long estimateBytes(List<DocumentSnapshot> docs) {
+        long bytes = 0;
+        for (DocumentSnapshot doc : docs) bytes += estimateBytes(doc);
+        return bytes;
+    }
+
+    // Document name + fields + 32 bytes of overhead
+    private static long estimateBytes(DocumentSnapshot doc) {
+        Map<String, Object> data = doc.getData();
+        return pathBytes(doc.getReference()) + (data != null ? mapBytes(data) : 0) + 32;
+    }
+
+    private static long pathBytes(DocumentReference ref) {
+        // Each path segment + 1, plus 16 for the document name
+        long bytes = 16;
+        for (String segment : ref.getPath().split("/")) bytes += utf8Length(segment) + 1;
+        return bytes;
+    }
+
+    private static long mapBytes(Map<?, ?> map) {
+        long bytes = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            bytes += utf8Length(String.valueOf(entry.getKey())) + 1 + valueBytes(entry.getValue());
+        }
+        return bytes;
+    }
+
+    private static long valueBytes(@Nullable Object value) {
+        if (value == null || value instanceof Boolean) return 1;
+        if (value instanceof String) return utf8Length((String) value) + 1;
+        if (value instanceof Number || value instanceof Timestamp || value instanceof Date) return 8;
+        if (value instanceof GeoPoint) return 16;
+        if (value instanceof Blob) return ((Blob) value).toBytes().length;
+        if (value instanceof DocumentReference) return pathBytes((DocumentReference) value);
+        if (value instanceof Map) return mapBytes((Map<?, ?>) value);
+        if (value instanceof List) {
+            long bytes = 0;
+            for (Object element : (List<?>) value) bytes += valueBytes(element);
+            return bytes;
+        }
+        return 8;
+    }
+
+    private static int utf8Length(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    // Mutable totals of one (screen, operation); guarded by the outer instance
+    private static class Counter {
+        final String screen;
+        final String operation;
+        long responses;
+        long errors;
+        long serverDocuments;
+        long cacheDocuments;
+        long bytes;
+        final long[] latencies = new long[LATENCY_SAMPLES];
+        int latencyCount;
+
+        Counter(String screen, String operation) {
+            this.screen = screen;
+            this.operation = operation;
+        }
+
+        void addLatency(long nanos) {
+            latencies[latencyCount % LATENCY_SAMPLES] = nanos;
+            latencyCount++;
+        }
+
+        Entry toEntry() {
+            long[] sorted = Arrays.copyOf(latencies, Math.min(latencyCount, LATENCY_SAMPLES));
+            Arrays.sort(sorted);
+            return new Entry(screen, operation, responses, errors, serverDocuments, cacheDocuments, bytes,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+
+        // Nearest-rank percentile in milliseconds; 0 without samples
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int rank = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(rank, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.foodorderingappadmin;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// UserRepository over the Firestore 'users' and 'admins' collections.
+class FirestoreUserRepository implements UserRepository {
+
+    // Firestore allows at most 30 values in a single 'in' filter
+    private static final int MAX_IDS_PER_QUERY = 30;
+
+    private final FirebaseFirestore db;
+    private final FirestoreReadStats stats = FirestoreReadStats.getInstance();
+
+    FirestoreUserRepository(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isAdmin(String uid) {
+        return TaskFutures.toFuture(stats.document("users.isAdmin", db.collection("admins").document(uid).get()))
+                .thenApply(DocumentSnapshot::exists);
+    }
+
+    // Ids are read in whereIn()-sized chunks; any failed chunk fails the whole load
+    @Override
+    public CompletableFuture<Map<String, CustomerProfile>> loadProfiles(Collection<String> userIds) {
+        List<String> ids = new ArrayList<>(userIds);
+        List<Task<QuerySnapshot>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += MAX_IDS_PER_QUERY) {
+            List<String> chunk = new ArrayList<>(ids.subList(start, Math.min(start + MAX_IDS_PER_QUERY, ids.size())));
+            chunks.add(stats.query("users.profiles", db.collection("users").whereIn(FieldPath.documentId(), chunk).get()));
+        }
+        return TaskFutures.toFuture(Tasks.<QuerySnapshot>whenAllSuccess(chunks)).thenApply(pages -> {
+            AppTrace.begin("FirestoreUserRepository.mapProfiles");
+            try {
+                Map<String, CustomerProfile> profiles = new HashMap<>();
+                for (QuerySnapshot page : pages) {
+                    for (DocumentSnapshot doc : page.getDocuments()) profiles.put(doc.getId(), profileOf(doc));
+                }
+                AppTrace.count("FirestoreUserRepository.documents", profiles.size());
+                return profiles;
+            } finally {
+                AppTrace.end();
+            }
+        });
+    }
+
+    static CustomerProfile profileOf(DocumentSnapshot doc) {
+        if (!doc.exists()) return CustomerProfile.MISSING;
+        return new CustomerProfile(doc.getId(), doc.getString("name"), doc.getString("address"), doc.getString("phoneNumber"), true);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.foodorderingappadmin;
+
+// The four numbers on the sales dashboard cards
+public class HeadlineMetrics {
+
+    private final double revenue;
+    private final long orderCount;
+    private final long itemsSold;
+    private final int uniqueCustomers;
+
+    public HeadlineMetrics(double revenue, long orderCount, long itemsSold, int uniqueCustomers) {
+        this.revenue = revenue;
+        this.orderCount = orderCount;
+        this.itemsSold = itemsSold;
+        this.uniqueCustomers = uniqueCustomers;
+    }
+
+    public static HeadlineMetrics of(SalesSummary summary) {
+        return new HeadlineMetrics(summary.getTotalRevenue(), summary.getTotalOrders(),
+                summary.getTotalItems(), summary.getUniqueCustomers());
+    }
+
+    // --- Getters ---
+    public double getRevenue() { return revenue; }
+    public long getOrderCount() { return orderCount; }
+    public long getItemsSold() { return itemsSold; }
+    public int getUniqueCustomers() { return uniqueCustomers; }
+}
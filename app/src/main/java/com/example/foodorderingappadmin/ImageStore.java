@@ -0,0 +1,17 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+
+// Blob storage for menu photos, addressed by path. Paths are content hashes, so an object
+// never changes once written. Calls block: use from a background thread.
+interface ImageStore {
+
+    // URL of the object at 'path', or null when nothing is stored there
+    @Nullable
+    String find(String path) throws IOException;
+
+    // Stores 'data' at 'path' and returns its URL
+    String put(String path, byte[] data, String contentType) throws IOException;
+}
@@ -0,0 +1,54 @@
+package com.example.foodorderingappadmin;
+
+import android.net.Uri;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+// ImageStore on the local file system, returning file:// URLs (which Glide loads directly).
+// Used by tests and for trying the upload path without a storage bucket.
+class LocalImageStore implements ImageStore {
+
+    private final File root;
+    // Number of put() calls that wrote a file, so tests can check de-duplication
+    private int writeCount;
+
+    LocalImageStore(File root) {
+        this.root = root;
+    }
+
+    @Nullable
+    @Override
+    public String find(String path) {
+        File file = new File(root, path);
+        return file.isFile() ? Uri.fromFile(file).toString() : null;
+    }
+
+    @Override
+    public synchronized String put(String path, byte[] data, String contentType) throws IOException {
+        File file = new File(root, path);
+        File dir = file.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        // Written aside and renamed, so a crash never leaves a truncated image under its final name
+        File temp = new File(dir, file.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(data);
+            out.getFD().sync();
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Cannot move " + temp + " to " + file);
+        }
+        writeCount++;
+        return Uri.fromFile(file).toString();
+    }
+
+    synchronized int getWriteCount() {
+        return writeCount;
+    }
+}
@@ -19,15 +19,13 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthInvalidCredentialsException;
 import com.google.firebase.auth.FirebaseAuthInvalidUserException;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.DocumentSnapshot;
 
 public class LoginActivity extends AppCompatActivity {
 
     private TextInputEditText emailEditText, passwordEditText;
     private MaterialButton btnLogin;
     private FirebaseAuth mAuth;
-    private FirebaseFirestore db;
+    private UserRepository userRepository;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -40,7 +38,7 @@ public class LoginActivity extends AppCompatActivity {
 
         // Initialize Firebase services
         mAuth = FirebaseAuth.getInstance();
-        db = FirebaseFirestore.getInstance();
+        userRepository = Repositories.users();
 
         // Initialize Views
         emailEditText = findViewById(R.id.emailEditText);
@@ -48,14 +46,26 @@ public class LoginActivity extends AppCompatActivity {
         btnLogin = findViewById(R.id.btnLogin);
 
         // Check if user is already logged in (persistence check)
-        if (mAuth.getCurrentUser() != null) {
-            checkAdminRoleAndNavigate(mAuth.getCurrentUser());
+        FirebaseUser currentUser = mAuth.getCurrentUser();
+        if (currentUser != null) {
+            if (WarmStartCache.getInstance(this).isKnownAdmin(currentUser.getUid())) {
+                // Recently confirmed: open the dashboard now and re-check the role from there
+                navigateToDashboard(false);
+                return;
+            }
+            checkAdminRoleAndNavigate(currentUser);
         }
 
         // Setup Login Button Listener
         btnLogin.setOnClickListener(v -> loginUser());
     }
 
+    @Override
+    protected void onResume() {
+        super.onResume();
+        FirestoreReadStats.getInstance().setScreen("LoginActivity");
+    }
+
     private void loginUser() {
         String email = emailEditText.getText().toString().trim();
         String password = passwordEditText.getText().toString().trim();
@@ -105,18 +115,19 @@ public class LoginActivity extends AppCompatActivity {
 
     private void checkAdminRoleAndNavigate(FirebaseUser user) {
         // 3. Verify Admin Role: Check for the user's UID in the 'admins' collection
-        db.collection("admins").document(user.getUid()).get()
+        TaskFutures.toTask(userRepository.isAdmin(user.getUid()))
                 .addOnCompleteListener(task -> {
                     if (task.isSuccessful()) {
-                        DocumentSnapshot document = task.getResult();
-                        if (document.exists()) {
+                        if (Boolean.TRUE.equals(task.getResult())) {
                             // Role Check Success: User is an admin
+                            WarmStartCache.getInstance(LoginActivity.this).saveAdminRole(user.getUid());
                             Toast.makeText(LoginActivity.this, "Admin Login Successful", Toast.LENGTH_SHORT).show();
-                            navigateToDashboard();
+                            navigateToDashboard(true);
                         } else {
                             // Role Check Failure: Valid Firebase user, but NOT an authorized admin.
                             // CRITICAL: Sign out the user immediately to prevent non-admin access.
                             mAuth.signOut();
+                            WarmStartCache.getInstance(LoginActivity.this).clear();
                             handleLoginFailure("Access Denied: Account is not authorized as an administrator.");
                         }
                     } else {
@@ -143,9 +154,10 @@ public class LoginActivity extends AppCompatActivity {
         }
     }
 
-    private void navigateToDashboard() {
+    private void navigateToDashboard(boolean adminVerified) {
         // Navigates to the main activity and clears the back stack
         Intent intent = new Intent(LoginActivity.this, MainActivity.class);
+        intent.putExtra(MainActivity.EXTRA_VERIFY_ADMIN, !adminVerified);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
         startActivity(intent);
         finish();
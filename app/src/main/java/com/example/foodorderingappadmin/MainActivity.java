@@ -1,13 +1,33 @@
 package com.example.foodorderingappadmin;
 
+import android.content.Intent;
 import android.os.Bundle;
+import android.util.Log;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.app.AppCompatDelegate;
 import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+import androidx.fragment.app.FragmentTransaction;
+import androidx.lifecycle.Lifecycle;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
 
 public class MainActivity extends AppCompatActivity {
 
+    private static final String TAG = "MainActivity";
+    // Set when the dashboard was opened on a cached admin decision that still needs confirming
+    static final String EXTRA_VERIFY_ADMIN = "verify_admin";
+
+    // Fragment tags of the bottom navigation tabs
+    private static final String TAB_ORDERS = "tab_orders";
+    private static final String TAB_SALES = "tab_sales";
+    private static final String TAB_ADMIN = "tab_admin";
+    private static final String[] TABS = {TAB_ORDERS, TAB_SALES, TAB_ADMIN};
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -17,40 +37,120 @@ public class MainActivity extends AppCompatActivity {
 
         setContentView(R.layout.activity_main);
 
+        // Attribute Firestore reads to the innermost screen (tab, sales segment or dialog) last shown
+        getSupportFragmentManager().registerFragmentLifecycleCallbacks(new FragmentManager.FragmentLifecycleCallbacks() {
+            @Override
+            public void onFragmentResumed(@NonNull FragmentManager fm, @NonNull Fragment f) {
+                FirestoreReadStats.getInstance().setScreen(f.getClass().getSimpleName());
+            }
+        }, true);
+
+        // Seed the shared caches from the last run so the first screens draw real content
+        WarmStartCache.Snapshot warmStart = WarmStartCache.getInstance(this).getSnapshot();
+        CustomerProfileCache.getInstance().seed(warmStart.customers);
+        MenuCatalog.getInstance().seed(warmStart.menu);
+
+        if (savedInstanceState == null && getIntent().getBooleanExtra(EXTRA_VERIFY_ADMIN, false)) {
+            verifyAdminRole();
+        }
+
         BottomNavigationView bottomNav = findViewById(R.id.bottomNavigationView);
 
-        // Load the initial default fragment (Orders)
-        loadFragment(new OrdersFragment());
+        // Show the initial default tab (Orders); after a recreation the fragment manager restores
+        // the tabs, including which of them are hidden
+        if (savedInstanceState == null) showTab(TAB_ORDERS);
 
         // Set up listener for bottom navigation item selection
         bottomNav.setOnItemSelectedListener(item -> {
-            Fragment selectedFragment = null;
+            String tab = null;
             int itemId = item.getItemId();
 
-            // Determine which fragment to load based on the selected menu item ID
+            // Determine which tab to show based on the selected menu item ID
             if (itemId == R.id.nav_orders) {
-                selectedFragment = new OrdersFragment();
+                tab = TAB_ORDERS;
             } else if (itemId == R.id.nav_sales) {
-                selectedFragment = new SalesFragment();
+                tab = TAB_SALES;
             } else if (itemId == R.id.nav_admin) {
-                selectedFragment = new AdminFragment();
+                tab = TAB_ADMIN;
             }
 
-            // Execute the fragment transaction if a valid item was selected
-            if (selectedFragment != null) {
-                loadFragment(selectedFragment);
+            if (tab != null) {
+                showTab(tab);
                 return true;
             }
 
             return false;
         });
+        // Re-selecting the visible tab keeps it as it is
+        bottomNav.setOnItemReselectedListener(item -> {});
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Leaving the app: keep the read totals of this session for comparison between builds
+        FirestoreReadStats.getInstance().dump(this);
+    }
+
+    // Re-checks a cached admin decision in the background; a revoked role signs the user out
+    private void verifyAdminRole() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) {
+            returnToLogin(null);
+            return;
+        }
+        TaskFutures.toTask(Repositories.users().isAdmin(user.getUid()))
+                .addOnSuccessListener(isAdmin -> {
+                    if (isAdmin) {
+                        WarmStartCache.getInstance(this).saveAdminRole(user.getUid());
+                    } else {
+                        FirebaseAuth.getInstance().signOut();
+                        returnToLogin("Access Denied: Account is not authorized as an administrator.");
+                    }
+                })
+                // Offline: keep the cached decision until it expires
+                .addOnFailureListener(e -> Log.w(TAG, "Admin role check failed", e));
+    }
+
+    private void returnToLogin(String message) {
+        WarmStartCache.getInstance(this).clear();
+        if (isFinishing()) return;
+        if (message != null) Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+        Intent intent = new Intent(this, LoginActivity.class);
+        intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        startActivity(intent);
+        finish();
+    }
+
+    // --- Tabs ---
+    // Each tab is created on its first visit and then kept: switching hides the others instead of
+    // replacing them, so views, stores and loaded pages survive. Hidden tabs are capped at STARTED,
+    // which pauses them (and their child fragments); the tabs subscribe in onResume and
+    // unsubscribe in onPause, so only the visible one listens to Firestore.
+    private void showTab(String tag) {
+        FragmentManager fm = getSupportFragmentManager();
+        FragmentTransaction transaction = fm.beginTransaction().setReorderingAllowed(true);
+
+        for (String other : TABS) {
+            Fragment fragment = fm.findFragmentByTag(other);
+            if (fragment == null || other.equals(tag) || fragment.isHidden()) continue;
+            transaction.hide(fragment).setMaxLifecycle(fragment, Lifecycle.State.STARTED);
+        }
+
+        Fragment target = fm.findFragmentByTag(tag);
+        if (target == null) {
+            transaction.add(R.id.fragment_container, newTab(tag), tag);
+        } else {
+            transaction.show(target).setMaxLifecycle(target, Lifecycle.State.RESUMED);
+        }
+        transaction.commit();
     }
 
-    // Method to handle replacing the current fragment in the container
-    private void loadFragment(Fragment fragment) {
-        getSupportFragmentManager()
-                .beginTransaction()
-                .replace(R.id.fragment_container, fragment)
-                .commit();
+    private static Fragment newTab(String tag) {
+        switch (tag) {
+            case TAB_SALES: return new SalesFragment();
+            case TAB_ADMIN: return new AdminFragment();
+            default: return new OrdersFragment();
+        }
     }
 }
\ No newline at end of file
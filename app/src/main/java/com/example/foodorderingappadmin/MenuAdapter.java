@@ -12,25 +12,60 @@ import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.fragment.app.FragmentActivity; // Required for showing DialogFragment
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.imageview.ShapeableImageView;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.List;
+import java.util.Objects;
 
-public class MenuAdapter extends RecyclerView.Adapter<MenuAdapter.MenuViewHolder> {
+// Rows are diffed on a background thread from immutable snapshots passed to submitList()
+public class MenuAdapter extends ListAdapter<MenuItem, MenuAdapter.MenuViewHolder> {
+
+    // Same item = same document id; a row is rebound only when a displayed field changed
+    private static final DiffUtil.ItemCallback<MenuItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<MenuItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull MenuItem oldItem, @NonNull MenuItem newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull MenuItem oldItem, @NonNull MenuItem newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                    && Double.compare(oldItem.getPrice(), newItem.getPrice()) == 0
+                    && Objects.equals(oldItem.getCategory(), newItem.getCategory())
+                    && Objects.equals(oldItem.getImageUrl(), newItem.getImageUrl())
+                    && Objects.equals(oldItem.getThumbnailUrl(), newItem.getThumbnailUrl())
+                    && oldItem.isAvailable() == newItem.isAvailable();
+        }
+    };
 
     private final Context context;
-    private final List<MenuItem> menuList;
-    private final FirebaseFirestore db;
+    private final MenuRepository menuRepository;
+    private final StableIds stableIds = new StableIds();
+    // Matches the 80dp itemImage in list_item_menu
+    private final MenuImageLoader imageLoader;
 
-    public MenuAdapter(Context context, List<MenuItem> menuList) {
+    public MenuAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.menuList = menuList;
-        this.db = FirebaseFirestore.getInstance();
+        this.menuRepository = Repositories.menu();
+        this.imageLoader = new MenuImageLoader(context, 80);
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(getItem(position).getId());
+    }
+
+    @Override
+    public void onCurrentListChanged(@NonNull List<MenuItem> previousList, @NonNull List<MenuItem> currentList) {
+        stableIds.retainOnly(currentList, MenuItem::getId);
     }
 
     @NonNull
@@ -42,70 +77,64 @@ public class MenuAdapter extends RecyclerView.Adapter<MenuAdapter.MenuViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull MenuViewHolder holder, int position) {
-        MenuItem item = menuList.get(position);
-
-        // Bind basic item details
-        holder.itemName.setText(item.getName());
-        holder.itemDescription.setText(item.getDescription());
-        holder.itemPrice.setText(String.format("₱%.2f", item.getPrice()));
-        holder.itemCategoryChip.setText(item.getCategory());
-
-        // Load Image using Glide
-        if (item.getImageUrl() != null && !item.getImageUrl().isEmpty()) {
-            Glide.with(context)
-                    .load(item.getImageUrl())
-                    .placeholder(android.R.color.darker_gray)
-                    .into(holder.itemImage);
-        }
+        AppTrace.begin("MenuAdapter.onBindViewHolder");
+        try {
+            MenuItem item = getItem(position);
 
-        // --- OUT OF STOCK VISUALS (Conditional Styling) ---
-        if (!item.isAvailable()) {
-            // Apply dimming and 'Out of Stock' label if unavailable
-            holder.itemImage.setAlpha(0.4f);
-            holder.itemName.setTextColor(Color.GRAY);
-            holder.itemDescription.setTextColor(Color.LTGRAY);
-            holder.itemPrice.setText("Out of Stock");
-            holder.itemPrice.setTextColor(Color.RED);
-        } else {
-            // Reset to default colors and price display
-            holder.itemImage.setAlpha(1.0f);
-            holder.itemName.setTextColor(Color.parseColor("#111827"));
-            holder.itemDescription.setTextColor(Color.parseColor("#6B7280"));
+            // Bind basic item details
+            holder.itemName.setText(item.getName());
+            holder.itemDescription.setText(item.getDescription());
             holder.itemPrice.setText(String.format("₱%.2f", item.getPrice()));
-            holder.itemPrice.setTextColor(Color.parseColor("#111827"));
-        }
-
-        // --- DELETE CONFIRMATION & ACTION ---
-        holder.deleteButton.setOnClickListener(v -> {
-            new AlertDialog.Builder(context)
-                    .setTitle("Delete Item")
-                    .setMessage("Are you sure you want to delete " + item.getName() + "?")
-                    .setPositiveButton("Delete", (dialog, which) -> {
-                        // Execute Firestore deletion
-                        if (item.getId() != null) {
-                            db.collection("menu_items").document(item.getId())
-                                    .delete()
-                                    .addOnSuccessListener(aVoid -> Toast.makeText(context, "Item deleted", Toast.LENGTH_SHORT).show())
-                                    .addOnFailureListener(e -> Toast.makeText(context, "Error deleting", Toast.LENGTH_SHORT).show());
-                        }
-                    })
-                    .setNegativeButton("Cancel", null)
-                    .show();
-        });
-
-        // --- EDIT FUNCTION ---
-        holder.editButton.setOnClickListener(v -> {
-            // Show the Edit Dialog, passing the current item data
-            if (context instanceof FragmentActivity) {
-                EditMenuItemDialogFragment dialog = EditMenuItemDialogFragment.newInstance(item);
-                dialog.show(((FragmentActivity) context).getSupportFragmentManager(), "EditMenuItemDialog");
+            holder.itemCategoryChip.setText(item.getCategory());
+
+            // Load image at thumbnail size; items without one get the placeholder, never a recycled row's photo
+            imageLoader.load(holder.itemImage, MenuImageLoader.listImageUrl(item));
+
+            // --- OUT OF STOCK VISUALS (Conditional Styling) ---
+            if (!item.isAvailable()) {
+                // Apply dimming and 'Out of Stock' label if unavailable
+                holder.itemImage.setAlpha(0.4f);
+                holder.itemName.setTextColor(Color.GRAY);
+                holder.itemDescription.setTextColor(Color.LTGRAY);
+                holder.itemPrice.setText("Out of Stock");
+                holder.itemPrice.setTextColor(Color.RED);
+            } else {
+                // Reset to default colors and price display
+                holder.itemImage.setAlpha(1.0f);
+                holder.itemName.setTextColor(Color.parseColor("#111827"));
+                holder.itemDescription.setTextColor(Color.parseColor("#6B7280"));
+                holder.itemPrice.setText(String.format("₱%.2f", item.getPrice()));
+                holder.itemPrice.setTextColor(Color.parseColor("#111827"));
             }
-        });
-    }
 
-    @Override
-    public int getItemCount() {
-        return menuList.size();
+            // --- DELETE CONFIRMATION & ACTION ---
+            holder.deleteButton.setOnClickListener(v -> {
+                new AlertDialog.Builder(context)
+                        .setTitle("Delete Item")
+                        .setMessage("Are you sure you want to delete " + item.getName() + "?")
+                        .setPositiveButton("Delete", (dialog, which) -> {
+                            // Execute the deletion
+                            if (item.getId() != null) {
+                                TaskFutures.toTask(menuRepository.delete(item.getId()))
+                                        .addOnSuccessListener(aVoid -> Toast.makeText(context, "Item deleted", Toast.LENGTH_SHORT).show())
+                                        .addOnFailureListener(e -> Toast.makeText(context, "Error deleting", Toast.LENGTH_SHORT).show());
+                            }
+                        })
+                        .setNegativeButton("Cancel", null)
+                        .show();
+            });
+
+            // --- EDIT FUNCTION ---
+            holder.editButton.setOnClickListener(v -> {
+                // Show the Edit Dialog, passing the current item data
+                if (context instanceof FragmentActivity) {
+                    EditMenuItemDialogFragment dialog = EditMenuItemDialogFragment.newInstance(item);
+                    dialog.show(((FragmentActivity) context).getSupportFragmentManager(), "EditMenuItemDialog");
+                }
+            });
+        } finally {
+            AppTrace.end();
+        }
     }
 
     public static class MenuViewHolder extends RecyclerView.ViewHolder {
@@ -0,0 +1,192 @@
+package com.example.foodorderingappadmin;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Process-wide, real-time copy of 'menu_items' (main thread only).
+// One MenuRepository listener feeds a shared MenuStore, so every screen reads the same items through
+// O(1) id and normalized-name lookups instead of scanning the collection itself.
+// The listener runs while any screen is registered, and for IDLE_UNSUBSCRIBE_MS after the last
+// one leaves so switching tabs does not resubscribe. A listener that fails is dropped and, while
+// screens are registered, replaced after a growing delay (the next addListener retries at once).
+// Until then screens keep the last applied items.
+public class MenuCatalog {
+
+    private static final String TAG = "MenuCatalog";
+    private static final long IDLE_UNSUBSCRIBE_MS = 60 * 1000L;
+    private static final long INITIAL_RETRY_MS = 2000;
+    private static final long MAX_RETRY_MS = 60 * 1000L;
+
+    // Told about every applied snapshot, with the categories whose item count changed
+    public interface Listener {
+        void onCatalogChanged(Set<String> changedCategories);
+
+        // The subscription failed; the items stay as they were until a retry succeeds
+        default void onCatalogError(Exception error) {}
+    }
+
+    private static MenuCatalog instance;
+
+    private final MenuRepository repository;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable unsubscribeRunnable = this::unsubscribe;
+    private final Runnable resubscribeRunnable = this::resubscribe;
+    private final MenuStore store = new MenuStore();
+    private final List<Listener> listeners = new ArrayList<>();
+
+    @Nullable
+    private Registration registration;
+    private boolean loaded;
+    // False while the items only come from the warm-start cache
+    private boolean live;
+    private long retryDelayMs = INITIAL_RETRY_MS;
+
+    private MenuCatalog() {
+        this.repository = Repositories.menu();
+    }
+
+    public static synchronized MenuCatalog getInstance() {
+        if (instance == null) {
+            instance = new MenuCatalog();
+        }
+        return instance;
+    }
+
+    // Registers a screen. If the menu is already loaded the listener is called right away with
+    // every category, so it can build its initial state.
+    public void addListener(Listener listener) {
+        mainHandler.removeCallbacks(unsubscribeRunnable);
+        listeners.add(listener);
+        subscribe();
+        if (loaded) listener.onCatalogChanged(new HashSet<>(store.getCategories()));
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+        if (listeners.isEmpty()) mainHandler.postDelayed(unsubscribeRunnable, IDLE_UNSUBSCRIBE_MS);
+    }
+
+    // Shows the last persisted menu until the first snapshot arrives; that snapshot then drops
+    // any seeded item that no longer exists. Ignored once anything has been loaded.
+    public void seed(Collection<MenuItem> items) {
+        if (loaded || items.isEmpty()) return;
+        Set<String> changedCategories = store.upsertAll(items);
+        loaded = true;
+        for (Listener listener : new ArrayList<>(listeners)) {
+            listener.onCatalogChanged(changedCategories);
+        }
+    }
+
+    // --- Lookups ---
+
+    // True once the first snapshot has been applied
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // True once a snapshot from Firestore has been applied (not just the warm-start seed)
+    public boolean isLive() {
+        return live;
+    }
+
+    // Read access to the items, category indexes and counts
+    public MenuStore getStore() {
+        return store;
+    }
+
+    @Nullable
+    public MenuItem get(@Nullable String id) {
+        return id != null ? store.get(id) : null;
+    }
+
+    @Nullable
+    public MenuItem findByName(@Nullable String name) {
+        return store.findByName(name);
+    }
+
+    // Resolves an order line or sales row: by id when it has one, otherwise by name
+    @Nullable
+    public MenuItem resolve(@Nullable String id, @Nullable String name) {
+        MenuItem item = get(id);
+        return item != null ? item : findByName(name);
+    }
+
+    // Current menu price, or 'fallback' for items no longer on the menu
+    public double getPrice(@Nullable String id, @Nullable String name, double fallback) {
+        MenuItem item = resolve(id, name);
+        return item != null ? item.getPrice() : fallback;
+    }
+
+    // --- Subscription ---
+
+    private void subscribe() {
+        if (registration != null) return;
+        mainHandler.removeCallbacks(resubscribeRunnable);
+        registration = repository.listen(new ChangeListener<MenuItem>() {
+            @Override
+            public void onChanges(List<Change<MenuItem>> changes, boolean initial) {
+                AppTrace.begin("MenuCatalog.onChanges");
+                try {
+                    AppTrace.count("MenuCatalog.changed", changes.size());
+                    Set<String> changedCategories = new HashSet<>();
+                    // A fresh subscription replays every item as ADDED; drop anything deleted meanwhile
+                    if (initial) {
+                        Set<String> currentIds = new HashSet<>();
+                        for (Change<MenuItem> change : changes) currentIds.add(change.id);
+                        changedCategories.addAll(store.retainOnly(currentIds));
+                    }
+
+                    if (changes.isEmpty() && changedCategories.isEmpty() && loaded) return;
+                    changedCategories.addAll(store.applyChanges(changes));
+                    loaded = true;
+                    live = true;
+                    retryDelayMs = INITIAL_RETRY_MS;
+
+                    for (Listener listener : new ArrayList<>(listeners)) {
+                        listener.onCatalogChanged(changedCategories);
+                    }
+                    AppTrace.count("MenuCatalog.items", store.size());
+                } finally {
+                    AppTrace.end();
+                }
+            }
+
+            @Override
+            public void onError(Exception error) {
+                Log.e(TAG, "Listen failed for menu items", error);
+                // A failed listener receives nothing more; drop it so a new one can be started
+                if (registration != null) {
+                    registration.remove();
+                    registration = null;
+                }
+                for (Listener listener : new ArrayList<>(listeners)) {
+                    listener.onCatalogError(error);
+                }
+                if (!listeners.isEmpty()) {
+                    mainHandler.postDelayed(resubscribeRunnable, retryDelayMs);
+                    retryDelayMs = Math.min(retryDelayMs * 2, MAX_RETRY_MS);
+                }
+            }
+        });
+    }
+
+    private void resubscribe() {
+        if (!listeners.isEmpty()) subscribe();
+    }
+
+    private void unsubscribe() {
+        mainHandler.removeCallbacks(resubscribeRunnable);
+        if (registration == null || !listeners.isEmpty()) return;
+        registration.remove();
+        registration = null;
+    }
+}
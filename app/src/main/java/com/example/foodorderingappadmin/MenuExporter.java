@@ -0,0 +1,32 @@
+package com.example.foodorderingappadmin;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+
+// Streams every menu item to a file, paging through 'menu_items' by document id so only one
+// page is held in memory. run() blocks on the reads: call it from a background thread.
+class MenuExporter {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final MenuRepository repository;
+
+    MenuExporter(MenuRepository repository) {
+        this.repository = repository;
+    }
+
+    // Returns the number of items written
+    int run(MenuFileFormat.RowWriter writer) throws IOException, ExecutionException, InterruptedException {
+        int written = 0;
+        Object next = null;
+        do {
+            Page<MenuItem> page = repository.loadPage(next, PAGE_SIZE).get();
+            for (MenuItem item : page.items) {
+                writer.write(item);
+                written++;
+            }
+            next = page.next;
+        } while (next != null);
+        return written;
+    }
+}
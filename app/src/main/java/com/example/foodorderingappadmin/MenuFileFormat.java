@@ -0,0 +1,397 @@
+package com.example.foodorderingappadmin;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.JsonWriter;
+
+import androidx.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Menu file formats for bulk import/export. Both are streamed: readers hand out one row at a
+// time and writers emit each item as it arrives, so file size never bounds memory.
+// - CSV: header row naming the columns ('id' plus the MenuItemMapper keys), RFC 4180 quoting
+// - JSON: a top-level array of objects using the same keys
+// Columns/keys a file leaves out are reported as absent, so an import only touches what it names.
+enum MenuFileFormat {
+    CSV("text/csv"),
+    JSON("application/json");
+
+    static final String ID_KEY = "id";
+
+    final String mimeType;
+
+    MenuFileFormat(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    // Picks the format from a mime type or file name; anything not JSON is read as CSV
+    static MenuFileFormat detect(@Nullable String mimeType, @Nullable String fileName) {
+        if (mimeType != null && mimeType.contains("json")) return JSON;
+        if (fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".json")) return JSON;
+        return CSV;
+    }
+
+    RowReader openReader(Reader in) {
+        return this == JSON ? new JsonRowReader(in) : new CsvRowReader(in);
+    }
+
+    RowWriter openWriter(Writer out) throws IOException {
+        return this == JSON ? new JsonRowWriter(out) : new CsvRowWriter(out);
+    }
+
+    // One parsed row: the item plus the fields the file actually provided
+    static class Row {
+        final int line;
+        final MenuItem item;
+        final Set<MenuItemMapper.Field> fields;
+
+        Row(int line, MenuItem item, Set<MenuItemMapper.Field> fields) {
+            this.line = line;
+            this.item = item;
+            this.fields = fields;
+        }
+    }
+
+    // Thrown for a row that cannot be used; the reader can continue with the next row
+    static class RowException extends Exception {
+        final int line;
+
+        RowException(int line, String message) {
+            super("Line " + line + ": " + message);
+            this.line = line;
+        }
+    }
+
+    interface RowReader extends Closeable {
+        // Next row, or null at the end of the file
+        @Nullable
+        Row next() throws IOException, RowException;
+    }
+
+    interface RowWriter extends Closeable {
+        void write(MenuItem item) throws IOException;
+    }
+
+    // --- Value Parsing ---
+
+    private static void apply(MenuItem item, MenuItemMapper.Field field, String raw, int line) throws RowException {
+        String value = raw.trim();
+        switch (field) {
+            case NAME: item.setName(value); break;
+            case DESCRIPTION: item.setDescription(value); break;
+            case CATEGORY: item.setCategory(value); break;
+            case IMAGE_URL: item.setImageUrl(value); break;
+            case THUMBNAIL_URL: item.setThumbnailUrl(value); break;
+            case PRICE:
+                try {
+                    item.setPrice(Double.parseDouble(value));
+                } catch (NumberFormatException e) {
+                    throw new RowException(line, "invalid price '" + raw + "'");
+                }
+                break;
+            case AVAILABLE:
+                item.setAvailable(parseBoolean(value, line));
+                break;
+        }
+    }
+
+    private static boolean parseBoolean(String value, int line) throws RowException {
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "true": case "yes": case "1": return true;
+            case "false": case "no": case "0": return false;
+            default: throw new RowException(line, "invalid availability '" + value + "'");
+        }
+    }
+
+    @Nullable
+    private static MenuItemMapper.Field fieldForKey(String key) {
+        for (MenuItemMapper.Field field : MenuItemMapper.Field.values()) {
+            if (field.key.equalsIgnoreCase(key.trim())) return field;
+        }
+        return null;
+    }
+
+    // --- CSV ---
+
+    private static class CsvRowReader implements RowReader {
+        private final Reader in;
+        private final StringBuilder cell = new StringBuilder();
+        // Column index -> field (null for 'id' and unknown columns); built from the header row
+        @Nullable
+        private MenuItemMapper.Field[] columns;
+        private int idColumn = -1;
+        private int line;
+        // Line the last record started on; quoted line breaks move 'line' past it
+        private int recordLine;
+        private int peeked = -2;
+
+        CsvRowReader(Reader in) {
+            this.in = in;
+        }
+
+        @Nullable
+        @Override
+        public Row next() throws IOException, RowException {
+            if (columns == null) readHeader();
+
+            List<String> cells;
+            do {
+                cells = readRecord();
+                if (cells == null) return null;
+            } while (cells.size() == 1 && cells.get(0).trim().isEmpty()); // Skip blank lines
+
+            MenuItem item = new MenuItem();
+            Set<MenuItemMapper.Field> fields = EnumSet.noneOf(MenuItemMapper.Field.class);
+            for (int i = 0; i < cells.size() && i < columns.length; i++) {
+                if (i == idColumn) {
+                    String id = cells.get(i).trim();
+                    item.setId(id.isEmpty() ? null : id);
+                } else if (columns[i] != null) {
+                    apply(item, columns[i], cells.get(i), recordLine);
+                    fields.add(columns[i]);
+                }
+            }
+            return new Row(recordLine, item, fields);
+        }
+
+        private void readHeader() throws IOException, RowException {
+            // Spreadsheet apps often save CSV as UTF-8 with a byte order mark
+            if (peek() == '\uFEFF') read();
+            List<String> header = readRecord();
+            if (header == null) throw new RowException(1, "missing header row");
+            columns = new MenuItemMapper.Field[header.size()];
+            for (int i = 0; i < header.size(); i++) {
+                String key = header.get(i).trim();
+                if (key.equalsIgnoreCase(ID_KEY)) idColumn = i;
+                else columns[i] = fieldForKey(key);
+            }
+        }
+
+        // Reads one record; quoted cells may contain commas, quotes ("") and line breaks
+        @Nullable
+        private List<String> readRecord() throws IOException {
+            int c = read();
+            if (c == -1) return null;
+            recordLine = ++line;
+
+            List<String> cells = new ArrayList<>();
+            cell.setLength(0);
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) break;
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            cell.append('"');
+                            read();
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        cell.append((char) c);
+                    }
+                } else if (c == '"' && cell.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r' && peek() == '\n') read();
+                    break;
+                } else {
+                    cell.append((char) c);
+                }
+                c = read();
+            }
+            cells.add(cell.toString());
+            return cells;
+        }
+
+        private int read() throws IOException {
+            if (peeked != -2) {
+                int c = peeked;
+                peeked = -2;
+                return c;
+            }
+            return in.read();
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) peeked = in.read();
+            return peeked;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer out;
+
+        CsvRowWriter(Writer out) throws IOException {
+            this.out = out;
+            StringBuilder header = new StringBuilder(ID_KEY);
+            for (MenuItemMapper.Field field : MenuItemMapper.Field.values()) {
+                header.append(',').append(field.key);
+            }
+            out.write(header.append("\r\n").toString());
+        }
+
+        @Override
+        public void write(MenuItem item) throws IOException {
+            writeCell(item.getId());
+            out.write(',');
+            writeCell(item.getName());
+            out.write(',');
+            writeCell(item.getDescription());
+            out.write(',');
+            out.write(Double.toString(item.getPrice()));
+            out.write(',');
+            writeCell(item.getCategory());
+            out.write(',');
+            writeCell(item.getImageUrl());
+            out.write(',');
+            writeCell(item.getThumbnailUrl());
+            out.write(',');
+            out.write(item.isAvailable() ? "true" : "false");
+            out.write("\r\n");
+        }
+
+        private void writeCell(@Nullable String value) throws IOException {
+            if (value == null) return;
+            boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!needsQuotes) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    // --- JSON ---
+
+    private static class JsonRowReader implements RowReader {
+        private final JsonReader in;
+        private boolean started;
+        private int index;
+
+        JsonRowReader(Reader in) {
+            this.in = new JsonReader(in);
+        }
+
+        @Nullable
+        @Override
+        public Row next() throws IOException, RowException {
+            if (!started) {
+                started = true;
+                in.beginArray();
+            }
+            if (!in.hasNext()) {
+                in.endArray();
+                return null;
+            }
+            // JsonReader does not expose line numbers; rows are numbered by array position
+            int row = ++index;
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                in.skipValue();
+                throw new RowException(row, "expected an object");
+            }
+
+            MenuItem item = new MenuItem();
+            Set<MenuItemMapper.Field> fields = EnumSet.noneOf(MenuItemMapper.Field.class);
+            RowException invalid = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String key = in.nextName();
+                JsonToken token = in.peek();
+                if (token == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                boolean isId = key.equalsIgnoreCase(ID_KEY);
+                MenuItemMapper.Field field = isId ? null : fieldForKey(key);
+                if (!isId && field == null) {
+                    in.skipValue();
+                    continue;
+                }
+                if (token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY) {
+                    // Skipped whole, like an invalid value, so the rest of the object still parses
+                    in.skipValue();
+                    if (invalid == null) invalid = new RowException(row, "'" + key + "' must be a single value");
+                    continue;
+                }
+                // Numbers and booleans arrive as their literal text, parsed like CSV cells
+                String raw = token == JsonToken.BOOLEAN ? String.valueOf(in.nextBoolean()) : in.nextString();
+                if (isId) {
+                    item.setId(raw);
+                    continue;
+                }
+                try {
+                    apply(item, field, raw, row);
+                    fields.add(field);
+                } catch (RowException e) {
+                    // Finish the object first so the next row starts in the right place
+                    if (invalid == null) invalid = e;
+                }
+            }
+            in.endObject();
+            if (invalid != null) throw invalid;
+            return new Row(row, item, fields);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static class JsonRowWriter implements RowWriter {
+        private final JsonWriter out;
+
+        JsonRowWriter(Writer out) throws IOException {
+            this.out = new JsonWriter(out);
+            this.out.setIndent("  ");
+            this.out.beginArray();
+        }
+
+        @Override
+        public void write(MenuItem item) throws IOException {
+            out.beginObject();
+            out.name(ID_KEY).value(item.getId());
+            out.name(MenuItemMapper.Field.NAME.key).value(item.getName());
+            out.name(MenuItemMapper.Field.DESCRIPTION.key).value(item.getDescription());
+            out.name(MenuItemMapper.Field.PRICE.key).value(item.getPrice());
+            out.name(MenuItemMapper.Field.CATEGORY.key).value(item.getCategory());
+            out.name(MenuItemMapper.Field.IMAGE_URL.key).value(item.getImageUrl());
+            out.name(MenuItemMapper.Field.THUMBNAIL_URL.key).value(item.getThumbnailUrl());
+            out.name(MenuItemMapper.Field.AVAILABLE.key).value(item.isAvailable());
+            out.endObject();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.endArray();
+            out.close();
+        }
+    }
+}
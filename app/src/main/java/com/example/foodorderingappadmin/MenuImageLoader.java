@@ -0,0 +1,186 @@
+package com.example.foodorderingappadmin;
+
+import android.content.Context;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.SystemClock;
+import android.util.Log;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.util.FixedPreloadSizeProvider;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Loads menu photos into fixed-size, center-cropped list thumbnails.
+// - Decoded at the thumbnail's pixel size (override), never at the photo's full resolution
+// - DiskCacheStrategy.ALL: menu image URLs rarely change, so the downloaded original and each
+//   resized thumbnail are both kept on disk; revisits decode only the small cached copy
+// - One placeholder/error/fallback drawable everywhere; a missing URL clears the view's old image
+// - createPreloader() issues identical requests ahead of the scroll position
+// - Load time, data source and bitmap bytes of every image are recorded in Stats
+public class MenuImageLoader {
+
+    private static final String TAG = "MenuImageLoader";
+    // Rows fetched ahead of the last visible one while scrolling
+    private static final int MAX_PRELOAD = 10;
+
+    // Supplies the image URL shown at an adapter position (null when there is none)
+    public interface UrlProvider {
+        @Nullable
+        String urlAt(int position);
+    }
+
+    private static final Stats stats = new Stats();
+
+    private final RequestManager glide;
+    private final int sizePx;
+
+    public MenuImageLoader(Context context, int sizeDp) {
+        this.glide = Glide.with(context);
+        this.sizePx = Math.round(sizeDp * context.getResources().getDisplayMetrics().density);
+    }
+
+    public static Stats getStats() {
+        return stats;
+    }
+
+    // The URL list rows show: the uploaded thumbnail when there is one, else the full image
+    @Nullable
+    public static String listImageUrl(@Nullable MenuItem item) {
+        if (item == null) return null;
+        String thumbnail = item.getThumbnailUrl();
+        return thumbnail != null && !thumbnail.isEmpty() ? thumbnail : item.getImageUrl();
+    }
+
+    // Shows the image for 'url', or the placeholder when it is null/empty (also replacing
+    // whatever a recycled view showed before)
+    public void load(ImageView view, @Nullable String url) {
+        request(url).listener(new MetricsListener(url)).into(view);
+    }
+
+    public RecyclerViewPreloader<String> createPreloader(UrlProvider urls) {
+        ListPreloader.PreloadModelProvider<String> models = new ListPreloader.PreloadModelProvider<String>() {
+            @NonNull
+            @Override
+            public List<String> getPreloadItems(int position) {
+                String url = normalize(urls.urlAt(position));
+                return url != null ? Collections.singletonList(url) : Collections.emptyList();
+            }
+
+            @Nullable
+            @Override
+            public RequestBuilder<?> getPreloadRequestBuilder(@NonNull String url) {
+                return request(url);
+            }
+        };
+        return new RecyclerViewPreloader<>(glide, models, new FixedPreloadSizeProvider<>(sizePx, sizePx), MAX_PRELOAD);
+    }
+
+    // Displayed and preloaded requests must match exactly to share cache entries
+    private RequestBuilder<Drawable> request(@Nullable String url) {
+        return glide.load(normalize(url))
+                .override(sizePx, sizePx)
+                .centerCrop()
+                .diskCacheStrategy(DiskCacheStrategy.ALL)
+                .placeholder(R.drawable.ic_food_placeholder)
+                .error(R.drawable.ic_food_placeholder)
+                .fallback(R.drawable.ic_food_placeholder);
+    }
+
+    // Empty strings go through Glide's fallback path, same as null
+    @Nullable
+    private static String normalize(@Nullable String url) {
+        return url != null && !url.trim().isEmpty() ? url : null;
+    }
+
+    private static class MetricsListener implements RequestListener<Drawable> {
+        @Nullable
+        private final String url;
+        private final long startedAt = SystemClock.elapsedRealtime();
+
+        MetricsListener(@Nullable String url) {
+            this.url = url;
+        }
+
+        @Override
+        public boolean onLoadFailed(@Nullable GlideException e, Object model, @NonNull Target<Drawable> target, boolean isFirstResource) {
+            // A null model is the fallback policy, not a failure
+            if (url != null) {
+                stats.recordFailure();
+                Log.w(TAG, "Image load failed: " + url, e);
+            }
+            return false;
+        }
+
+        @Override
+        public boolean onResourceReady(@NonNull Drawable resource, @NonNull Object model, Target<Drawable> target,
+                                       @NonNull DataSource dataSource, boolean isFirstResource) {
+            long elapsedMs = SystemClock.elapsedRealtime() - startedAt;
+            long bytes = resource instanceof BitmapDrawable && ((BitmapDrawable) resource).getBitmap() != null
+                    ? ((BitmapDrawable) resource).getBitmap().getAllocationByteCount() : 0;
+            stats.record(dataSource, elapsedMs, bytes);
+            if (Log.isLoggable(TAG, Log.DEBUG)) {
+                Log.d(TAG, url + ": " + elapsedMs + " ms from " + dataSource + ", "
+                        + resource.getIntrinsicWidth() + "x" + resource.getIntrinsicHeight() + ", " + bytes + " bytes");
+            }
+            return false;
+        }
+    }
+
+    // Process-wide image load counters, grouped by where Glide found the image
+    public static class Stats {
+        private final Map<DataSource, long[]> bySource = new EnumMap<>(DataSource.class);
+        private long failures;
+
+        synchronized void record(DataSource source, long elapsedMs, long bytes) {
+            long[] totals = bySource.get(source);
+            if (totals == null) {
+                totals = new long[3];
+                bySource.put(source, totals);
+            }
+            totals[0]++;
+            totals[1] += elapsedMs;
+            totals[2] += bytes;
+        }
+
+        synchronized void recordFailure() {
+            failures++;
+        }
+
+        public synchronized long getLoadCount(DataSource source) {
+            long[] totals = bySource.get(source);
+            return totals != null ? totals[0] : 0;
+        }
+
+        // Average request-to-display time; for disk cache sources this is essentially decode time
+        public synchronized long getAverageLoadMs(DataSource source) {
+            long[] totals = bySource.get(source);
+            return totals != null && totals[0] > 0 ? totals[1] / totals[0] : 0;
+        }
+
+        public synchronized long getAverageBitmapBytes(DataSource source) {
+            long[] totals = bySource.get(source);
+            return totals != null && totals[0] > 0 ? totals[2] / totals[0] : 0;
+        }
+
+        public synchronized long getFailureCount() {
+            return failures;
+        }
+    }
+}
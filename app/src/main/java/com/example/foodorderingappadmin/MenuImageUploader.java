@@ -0,0 +1,187 @@
+package com.example.foodorderingappadmin;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// Turns a picked photo into the two menu image sizes and stores them.
+// - The source bytes are hashed (SHA-256) and both sizes are stored under that hash, so picking the
+//   same photo again reuses the stored images without decoding or uploading anything
+// - The source is decoded subsampled (never at full resolution), EXIF-rotated, scaled and
+//   re-encoded as JPEG: a thumbnail for list rows and a detail image for full-width views
+// upload() blocks: call it from a background thread.
+class MenuImageUploader {
+
+    private static final String TAG = "MenuImageUploader";
+
+    // Short edge of the thumbnail: the 80dp list image at xxhdpi, center-cropped by the lists
+    static final int THUMB_PX = 240;
+    // Long edge of the detail image: full width of a phone screen
+    static final int DETAIL_PX = 1080;
+    private static final int JPEG_QUALITY = 82;
+    private static final String ROOT = "menu_images/";
+
+    // URLs of one stored photo
+    static class Result {
+        final String thumbnailUrl;
+        final String imageUrl;
+        // True when both sizes were already stored for this content
+        final boolean reused;
+
+        Result(String thumbnailUrl, String imageUrl, boolean reused) {
+            this.thumbnailUrl = thumbnailUrl;
+            this.imageUrl = imageUrl;
+            this.reused = reused;
+        }
+    }
+
+    private final ContentResolver resolver;
+    private final ImageStore store;
+
+    MenuImageUploader(ContentResolver resolver, ImageStore store) {
+        this.resolver = resolver;
+        this.store = store;
+    }
+
+    Result upload(Uri source) throws IOException {
+        String hash = hash(source);
+        // The size is part of the name, so changing THUMB_PX/DETAIL_PX never serves stale sizes
+        String thumbPath = ROOT + hash + "/thumb_" + THUMB_PX + ".jpg";
+        String detailPath = ROOT + hash + "/detail_" + DETAIL_PX + ".jpg";
+
+        String thumbUrl = store.find(thumbPath);
+        String detailUrl = store.find(detailPath);
+        if (thumbUrl != null && detailUrl != null) return new Result(thumbUrl, detailUrl, true);
+
+        long startedAt = System.currentTimeMillis();
+        Bitmap detail = decode(source, DETAIL_PX);
+        try {
+            if (detailUrl == null) detailUrl = store.put(detailPath, encode(detail), "image/jpeg");
+            if (thumbUrl == null) {
+                Bitmap thumb = scale(detail, 0, shortEdgeScale(detail.getWidth(), detail.getHeight(), THUMB_PX));
+                try {
+                    thumbUrl = store.put(thumbPath, encode(thumb), "image/jpeg");
+                } finally {
+                    if (thumb != detail) thumb.recycle();
+                }
+            }
+        } finally {
+            detail.recycle();
+        }
+        Log.d(TAG, "Stored " + hash + " in " + (System.currentTimeMillis() - startedAt) + " ms");
+        return new Result(thumbUrl, detailUrl, false);
+    }
+
+    // --- Hashing ---
+
+    private String hash(Uri source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = open(source)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) digest.update(buffer, 0, read);
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) hex.append(String.format("%02x", b));
+        return hex.toString();
+    }
+
+    // --- Decoding ---
+
+    // Decodes 'source' upright with its long edge at most 'maxEdge'
+    private Bitmap decode(Uri source, int maxEdge) throws IOException {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = open(source)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) throw new IOException("Not an image");
+
+        // Largest power-of-two subsample that still leaves at least maxEdge pixels to scale from
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        int longEdge = Math.max(bounds.outWidth, bounds.outHeight);
+        options.inSampleSize = 1;
+        while (longEdge / (options.inSampleSize * 2) >= maxEdge) options.inSampleSize *= 2;
+
+        Bitmap sampled;
+        try (InputStream in = open(source)) {
+            sampled = BitmapFactory.decodeStream(in, null, options);
+        }
+        if (sampled == null) throw new IOException("Cannot decode image");
+
+        float factor = Math.min(1f, maxEdge / (float) Math.max(sampled.getWidth(), sampled.getHeight()));
+        Bitmap upright = scale(sampled, rotationOf(source), factor);
+        if (upright != sampled) sampled.recycle();
+        return upright;
+    }
+
+    private int rotationOf(Uri source) {
+        try (InputStream in = open(source)) {
+            switch (new ExifInterface(in).getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL)) {
+                case ExifInterface.ORIENTATION_ROTATE_90: return 90;
+                case ExifInterface.ORIENTATION_ROTATE_180: return 180;
+                case ExifInterface.ORIENTATION_ROTATE_270: return 270;
+                default: return 0;
+            }
+        } catch (IOException e) {
+            // Formats without EXIF (PNG, WebP) are already upright
+            return 0;
+        }
+    }
+
+    // Rotates and scales in one filtered draw, flattening transparency onto white for JPEG
+    private static Bitmap scale(Bitmap src, int rotation, float factor) {
+        if (rotation == 0 && factor == 1f && !src.hasAlpha()) return src;
+        boolean sideways = rotation == 90 || rotation == 270;
+        int width = Math.max(1, Math.round((sideways ? src.getHeight() : src.getWidth()) * factor));
+        int height = Math.max(1, Math.round((sideways ? src.getWidth() : src.getHeight()) * factor));
+
+        Matrix matrix = new Matrix();
+        matrix.postTranslate(-src.getWidth() / 2f, -src.getHeight() / 2f);
+        matrix.postRotate(rotation);
+        matrix.postScale(factor, factor);
+        matrix.postTranslate(width / 2f, height / 2f);
+
+        Bitmap out = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(out);
+        canvas.drawColor(Color.WHITE);
+        canvas.drawBitmap(src, matrix, new Paint(Paint.FILTER_BITMAP_FLAG));
+        return out;
+    }
+
+    // Factor that brings the short edge down to 'shortEdge' (never up)
+    private static float shortEdgeScale(int width, int height, int shortEdge) {
+        return Math.min(1f, shortEdge / (float) Math.min(width, height));
+    }
+
+    private static byte[] encode(Bitmap bitmap) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, out);
+        return out.toByteArray();
+    }
+
+    private InputStream open(Uri source) throws IOException {
+        InputStream in = resolver.openInputStream(source);
+        if (in == null) throw new FileNotFoundException("Cannot open " + source);
+        return in;
+    }
+}
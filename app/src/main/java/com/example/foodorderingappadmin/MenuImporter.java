@@ -0,0 +1,206 @@
+package com.example.foodorderingappadmin;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+// Streams a menu file into 'menu_items' as a diff against the current menu.
+// Rows match existing items by 'id', or by name when the row has no id. Only fields the row
+// provides and whose value differs are written; rows for unknown items create new documents.
+// Writes go out in MenuRepository commits of MAX_BATCH_OPS with up to MAX_PARALLEL_BATCHES committing at
+// once, so memory holds one batch being filled plus those in flight, however long the file is.
+// run() blocks on commits: call it from a background thread.
+class MenuImporter {
+
+    private static final String TAG = "MenuImporter";
+
+    static final int MAX_BATCH_OPS = MenuRepository.MAX_BATCH_WRITES;
+    private static final int MAX_PARALLEL_BATCHES = 4;
+    // Only the first few row errors are kept for display; the rest are counted
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    // Called on the importing thread after every committed batch
+    interface ProgressListener {
+        void onProgress(int rowsRead, int writesCommitted);
+    }
+
+    private final MenuRepository repository;
+    private final Map<String, MenuItem> itemsById = new HashMap<>();
+    private final Map<String, MenuItem> itemsByName = new HashMap<>();
+
+    MenuImporter(MenuRepository repository, Collection<MenuItem> currentMenu) {
+        this.repository = repository;
+        for (MenuItem item : currentMenu) {
+            if (item.getId() != null) itemsById.put(item.getId(), item);
+            String name = MenuStore.normalizeName(item.getName());
+            if (name != null) itemsByName.put(name, item);
+        }
+    }
+
+    Result run(MenuFileFormat.RowReader reader, @Nullable ProgressListener progress) throws IOException, InterruptedException {
+        Result result = new Result();
+        ArrayDeque<PendingBatch> inFlight = new ArrayDeque<>();
+        // Each existing item may be changed by one row only, so parallel batches never race
+        Set<String> touchedIds = new HashSet<>();
+
+        List<MenuRepository.Write> batch = new ArrayList<>();
+        while (true) {
+            MenuFileFormat.Row row;
+            try {
+                row = reader.next();
+            } catch (MenuFileFormat.RowException e) {
+                result.addError(e.getMessage());
+                continue;
+            }
+            if (row == null) break;
+            result.rowsRead++;
+
+            MenuItem current = findExisting(row);
+            if (current != null) {
+                if (!touchedIds.add(current.getId())) {
+                    result.addError("Line " + row.line + ": duplicate row for '" + current.getName() + "'");
+                    continue;
+                }
+                Map<String, Object> changes = diff(current, row);
+                if (changes.isEmpty()) {
+                    result.unchanged++;
+                    continue;
+                }
+                batch.add(MenuRepository.Write.update(current.getId(), changes));
+                result.updated++;
+            } else {
+                if (row.item.getId() != null) {
+                    result.addError("Line " + row.line + ": no menu item with id '" + row.item.getId() + "'");
+                    continue;
+                }
+                String missing = missingRequiredField(row);
+                if (missing != null) {
+                    result.addError("Line " + row.line + ": new item needs a " + missing);
+                    continue;
+                }
+                // Same defaults as the Add Item dialog
+                if (!row.fields.contains(MenuItemMapper.Field.AVAILABLE)) row.item.setAvailable(true);
+                String id = repository.newId();
+                batch.add(MenuRepository.Write.create(id, row.item));
+                // Later rows with the same name are rejected as duplicates instead of adding another
+                // item; they cannot update it, as their batch may commit before this create does
+                itemsByName.put(MenuStore.normalizeName(row.item.getName()), withId(row.item, id));
+                touchedIds.add(id);
+                result.added++;
+            }
+
+            if (batch.size() == MAX_BATCH_OPS) {
+                commit(batch, inFlight, result, progress);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) commit(batch, inFlight, result, progress);
+        while (!inFlight.isEmpty()) await(inFlight.poll(), result, progress);
+        return result;
+    }
+
+    // --- Batching ---
+
+    private void commit(List<MenuRepository.Write> batch, ArrayDeque<PendingBatch> inFlight, Result result,
+                        @Nullable ProgressListener progress) throws InterruptedException {
+        // Bound the number of batches (and their payloads) held in memory at once
+        while (inFlight.size() >= MAX_PARALLEL_BATCHES) await(inFlight.poll(), result, progress);
+        inFlight.add(new PendingBatch(repository.commit(batch), batch.size()));
+    }
+
+    private static void await(PendingBatch pending, Result result, @Nullable ProgressListener progress) throws InterruptedException {
+        try {
+            pending.future.get();
+            result.writesCommitted += pending.ops;
+        } catch (ExecutionException e) {
+            Log.w(TAG, "Menu import batch of " + pending.ops + " writes failed", e.getCause());
+            result.writesFailed += pending.ops;
+        }
+        if (progress != null) progress.onProgress(result.rowsRead, result.writesCommitted);
+    }
+
+    // --- Matching and Diffing ---
+
+    @Nullable
+    private MenuItem findExisting(MenuFileFormat.Row row) {
+        if (row.item.getId() != null) return itemsById.get(row.item.getId());
+        String name = MenuStore.normalizeName(row.item.getName());
+        return name != null ? itemsByName.get(name) : null;
+    }
+
+    private static Map<String, Object> diff(MenuItem current, MenuFileFormat.Row row) {
+        Map<String, Object> changes = new HashMap<>();
+        for (MenuItemMapper.Field field : row.fields) {
+            Object value = MenuItemMapper.valueOf(row.item, field);
+            if (!Objects.equals(value, MenuItemMapper.valueOf(current, field))) changes.put(field.key, value);
+        }
+        // A new image without its own thumbnail must not keep showing the old thumbnail in lists
+        if (changes.containsKey(MenuItemMapper.Field.IMAGE_URL.key) && !row.fields.contains(MenuItemMapper.Field.THUMBNAIL_URL)) {
+            changes.put(MenuItemMapper.Field.THUMBNAIL_URL.key, "");
+        }
+        return changes;
+    }
+
+    @Nullable
+    private static String missingRequiredField(MenuFileFormat.Row row) {
+        if (!row.fields.contains(MenuItemMapper.Field.NAME) || isBlank(row.item.getName())) return "name";
+        if (!row.fields.contains(MenuItemMapper.Field.PRICE)) return "price";
+        if (!row.fields.contains(MenuItemMapper.Field.CATEGORY) || isBlank(row.item.getCategory())) return "category";
+        return null;
+    }
+
+    private static MenuItem withId(MenuItem item, String id) {
+        item.setId(id);
+        return item;
+    }
+
+    private static boolean isBlank(@Nullable String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static class PendingBatch {
+        final CompletableFuture<Void> future;
+        final int ops;
+
+        PendingBatch(CompletableFuture<Void> future, int ops) {
+            this.future = future;
+            this.ops = ops;
+        }
+    }
+
+    // Counts of one import run
+    static class Result {
+        int rowsRead;
+        int added;
+        int updated;
+        int unchanged;
+        int writesCommitted;
+        int writesFailed;
+        int errorCount;
+        private final List<String> errors = new ArrayList<>();
+
+        void addError(String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(message);
+        }
+
+        // First MAX_REPORTED_ERRORS row errors; errorCount has the total
+        List<String> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+    }
+}
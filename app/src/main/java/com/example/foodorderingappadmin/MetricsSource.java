@@ -0,0 +1,19 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+
+import java.util.Date;
+
+// Source of the sales dashboard's headline numbers for a date range (null start means "All Time").
+public interface MetricsSource {
+
+    // Revenue and order count, for sources that know them before the other two numbers
+    interface TotalsListener {
+        void onTotals(double revenue, long orderCount);
+    }
+
+    // 'onTotals' (optional) may be called on the main thread before the task completes
+    Task<HeadlineMetrics> load(@Nullable Date start, @Nullable Date end, @Nullable TotalsListener onTotals);
+}
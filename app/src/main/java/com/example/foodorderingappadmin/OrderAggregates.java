@@ -0,0 +1,24 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+
+import java.util.Date;
+
+// count() and sum(total) over the orders placed in [start, end], computed by the backend
+// without downloading the documents. A null start means every order.
+interface OrderAggregates {
+
+    Task<Totals> countAndSumTotal(@Nullable Date start, @Nullable Date end);
+
+    final class Totals {
+        final long orderCount;
+        final double revenue;
+
+        Totals(long orderCount, double revenue) {
+            this.orderCount = orderCount;
+            this.revenue = revenue;
+        }
+    }
+}
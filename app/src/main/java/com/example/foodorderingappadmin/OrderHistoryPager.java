@@ -0,0 +1,59 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+// Cursor-based pages of Completed/Cancelled orders in a date range, newest first.
+// The status filter runs in the query, so active orders are never downloaded here.
+class OrderHistoryPager {
+
+    private final OrderRepository repository;
+    @Nullable
+    private final Date start;
+    @Nullable
+    private final Date end;
+    private final int pageSize;
+
+    @Nullable
+    private Object cursor;
+    @Nullable
+    private Task<List<Order>> runningPage;
+    private boolean exhausted;
+
+    // A null start means "All Time" (end is then ignored, as in SalesAggregator)
+    OrderHistoryPager(OrderRepository repository, @Nullable Date start, @Nullable Date end, int pageSize) {
+        this.repository = repository;
+        this.start = start;
+        this.end = end;
+        this.pageSize = pageSize;
+    }
+
+    boolean hasMore() {
+        return !exhausted;
+    }
+
+    boolean isLoading() {
+        return runningPage != null && !runningPage.isComplete();
+    }
+
+    // Fetches the page after the last one returned. While a page is in flight the same task is
+    // returned; once the range is exhausted the result is an empty list.
+    Task<List<Order>> loadNextPage() {
+        if (isLoading()) return runningPage;
+        if (exhausted) return Tasks.forResult(Collections.emptyList());
+
+        runningPage = TaskFutures.toTask(repository.loadFinalOrders(start, end, cursor, pageSize)).continueWith(task -> {
+            Page<Order> page = task.getResult();
+            cursor = page.next;
+            exhausted = page.next == null;
+            return page.items;
+        });
+        return runningPage;
+    }
+}
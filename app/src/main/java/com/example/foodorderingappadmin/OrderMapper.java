@@ -0,0 +1,84 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+// Hand-written replacement for doc.toObject(Order.class).
+// Reads the document fields directly instead of going through Firestore's reflective mapper.
+// Keys match the former reflective mapping: 'userId' is stored as "userID", and the local-only
+// fields (orderId, customerNameForSearch) are never read from the document.
+final class OrderMapper {
+
+    // Firestore keys an Order is built from
+    enum Field {
+        USER_ID("userID"),
+        STATUS("status"),
+        TOTAL("total"),
+        ORDERED_AT("orderedAt"),
+        NOTE("note"),
+        PAYMENT_METHOD("paymentMethod"),
+        ITEMS("items");
+
+        final String key;
+
+        Field(String key) { this.key = key; }
+    }
+
+    private OrderMapper() {}
+
+    // Full mapping, equivalent to toObject() followed by setOrderId()
+    @Nullable
+    static Order fromSnapshot(DocumentSnapshot doc) {
+        Map<String, Object> data = doc.getData();
+        return data != null ? fromData(doc.getId(), data) : null;
+    }
+
+    // Projected mapping: only the given fields are read, the rest keep their defaults.
+    // Each field is converted on its own, so unread fields (e.g. 'items') cost nothing.
+    @Nullable
+    static Order fromSnapshot(DocumentSnapshot doc, Set<Field> fields) {
+        if (!doc.exists()) return null;
+        Order order = new Order();
+        order.setOrderId(doc.getId());
+        for (Field field : fields) {
+            read(order, field, doc.get(field.key));
+        }
+        return order;
+    }
+
+    static Order fromData(String id, Map<String, Object> data) {
+        Order order = new Order();
+        order.setOrderId(id);
+        for (Field field : Field.values()) {
+            read(order, field, data.get(field.key));
+        }
+        return order;
+    }
+
+    private static void read(Order order, Field field, @Nullable Object value) {
+        switch (field) {
+            case USER_ID: order.setUserId(FirestoreValues.asString(value)); break;
+            // Matched case-insensitively, like the list filters always were
+            case STATUS: order.setStatus(OrderStatus.canonical(FirestoreValues.asString(value))); break;
+            case TOTAL: order.setTotal(FirestoreValues.asDouble(value)); break;
+            case ORDERED_AT: order.setOrderedAt(asDate(value)); break;
+            case NOTE: order.setNote(FirestoreValues.asString(value)); break;
+            case PAYMENT_METHOD: order.setPaymentMethod(FirestoreValues.asString(value)); break;
+            case ITEMS: order.setItems(OrderLine.fromRaw(value)); break;
+        }
+    }
+
+    // Timestamp fields come back as Timestamp; plain Dates are accepted for locally built maps
+    @Nullable
+    private static Date asDate(@Nullable Object value) {
+        if (value instanceof Timestamp) return ((Timestamp) value).toDate();
+        if (value instanceof Date) return (Date) value;
+        return null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.text.DecimalFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+// Everything AdminOrderAdapter shows for one order, formatted ahead of time off the main thread.
+// Binding a row then only copies strings into views.
+public class OrderRowModel {
+
+    // Formatters are created once; DateTimeFormatter is thread-safe, DecimalFormat is not
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, hh:mm a", Locale.getDefault());
+    private static final ThreadLocal<DecimalFormat> MONEY_FORMAT = ThreadLocal.withInitial(() -> new DecimalFormat("'₱'0.00"));
+
+    private final Order order;
+    private final String idText;
+    private final String dateText;
+    private final String totalText;
+    private final List<String> itemLabels;
+    @Nullable private final String note;
+    private final StatusStyle statusStyle;
+
+    private OrderRowModel(Order order) {
+        this.order = order;
+
+        String displayId = order.getOrderId();
+        if (displayId != null && displayId.length() > 8) displayId = displayId.substring(0, 8);
+        this.idText = "Order #" + displayId;
+
+        this.dateText = order.getOrderedAt() != null
+                ? DATE_FORMAT.format(order.getOrderedAt().toInstant().atZone(ZoneId.systemDefault()))
+                : "";
+        this.totalText = MONEY_FORMAT.get().format(order.getTotal());
+
+        List<String> labels = new ArrayList<>();
+        if (order.getItems() != null) {
+            for (OrderLine line : order.getItems()) labels.add(line.getQty() + "x " + line.getName());
+        }
+        this.itemLabels = Collections.unmodifiableList(labels);
+
+        this.note = order.getNote() != null && !order.getNote().isEmpty() ? order.getNote() : null;
+        this.statusStyle = StatusStyle.of(order.getStatus());
+    }
+
+    public static OrderRowModel from(Order order) {
+        return new OrderRowModel(order);
+    }
+
+    // --- Getters ---
+    public Order getOrder() { return order; }
+    public String getOrderId() { return order.getOrderId(); }
+    @Nullable public String getUserId() { return order.getUserId(); }
+    @Nullable public String getStatus() { return order.getStatus(); }
+    public String getIdText() { return idText; }
+    public String getDateText() { return dateText; }
+    public String getTotalText() { return totalText; }
+    public List<String> getItemLabels() { return itemLabels; }
+    @Nullable public String getNote() { return note; }
+    public StatusStyle getStatusStyle() { return statusStyle; }
+
+    // True when the row would look the same for both models
+    boolean hasSameContent(OrderRowModel other) {
+        return Objects.equals(getStatus(), other.getStatus())
+                && Objects.equals(getUserId(), other.getUserId())
+                && idText.equals(other.idText)
+                && dateText.equals(other.dateText)
+                && totalText.equals(other.totalText)
+                && itemLabels.equals(other.itemLabels)
+                && Objects.equals(note, other.note);
+    }
+
+    // Color resources and icon of the status dropdown for one status value
+    public enum StatusStyle {
+        PENDING(R.color.status_pending_bg, R.color.status_pending_tint, R.drawable.ic_time),
+        BEING_MADE(R.color.status_made_bg, R.color.status_made_tint, R.drawable.ic_chef),
+        BEING_DELIVERED(R.color.status_delivered_bg, R.color.status_delivered_tint, R.drawable.ic_delivery),
+        CANCELLED(R.color.status_cancelled_bg, R.color.status_cancelled_tint, R.drawable.ic_cancel),
+        COMPLETED(R.color.status_delivered_bg, R.color.status_delivered_tint, R.drawable.ic_archive),
+        UNKNOWN(android.R.color.white, R.color.black, 0);
+
+        final int backgroundColorRes;
+        final int tintColorRes;
+        final int iconRes;
+
+        StatusStyle(int backgroundColorRes, int tintColorRes, int iconRes) {
+            this.backgroundColorRes = backgroundColorRes;
+            this.tintColorRes = tintColorRes;
+            this.iconRes = iconRes;
+        }
+
+        static StatusStyle of(@Nullable String status) {
+            if (status == null) return UNKNOWN;
+            switch (status) {
+                case "Pending": return PENDING;
+                case "Being Made": return BEING_MADE;
+                case "Being Delivered": return BEING_DELIVERED;
+                case "Cancelled": return CANCELLED;
+                case "Completed": return COMPLETED;
+                default: return UNKNOWN;
+            }
+        }
+    }
+}
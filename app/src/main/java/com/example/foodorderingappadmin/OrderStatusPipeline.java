@@ -0,0 +1,434 @@
+package com.example.foodorderingappadmin;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Process-wide write pipeline for order status changes (main thread only).
+// - A change is validated against OrderStatus, then shown at once through the attached OrderStore
+// - Changes to the same order within FLUSH_DELAY_MS coalesce into one write of the latest status
+// - Pending changes are committed together (OrderRepository.updateStatuses) in batches of at
+//   most MAX_BATCH_OPS updates
+// - Retryable failures are retried with exponential backoff; permanent ones roll the order back
+// Once committed, a batch sits in Firestore's own offline write queue until the server acks it.
+// Bulk changes (submitAll) skip the coalescing window and report per-order progress.
+public class OrderStatusPipeline {
+
+    private static final String TAG = "OrderStatusPipeline";
+
+    private static final long FLUSH_DELAY_MS = 300;
+    // updateStatuses() takes at most 500 orders (a Firestore WriteBatch limit)
+    static final int MAX_BATCH_OPS = 500;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long INITIAL_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 30 * 1000L;
+    // Flush latency is averaged over the most recent batches
+    private static final int LATENCY_WINDOW = 32;
+
+    // Told when a change could not be written and the order was put back to its previous status
+    public interface Listener {
+        void onStatusRolledBack(String orderId, String restoredStatus, Exception error);
+    }
+
+    // Called on the main thread each time an order of a bulk change is written or fails
+    public interface BulkProgressListener {
+        void onProgress(int written, int failed, int total);
+    }
+
+    private static OrderStatusPipeline instance;
+
+    private final OrderRepository orderRepository;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = this::flush;
+
+    // Every order with a change that is queued or awaiting its commit, in submission order
+    private final LinkedHashMap<String, PendingWrite> writes = new LinkedHashMap<>();
+    @Nullable
+    private OrderStore store;
+    @Nullable
+    private Listener listener;
+    private long scheduledFlushAt = Long.MAX_VALUE;
+
+    // --- Metrics ---
+    private final long[] latencySamples = new long[LATENCY_WINDOW];
+    private int latencySampleCount;
+    private long lastFlushLatencyMs;
+    private long committedCount;
+    private long retryCount;
+    private long rollbackCount;
+
+    // Tests create their own pipelines over an in-memory repository
+    OrderStatusPipeline(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    public static synchronized OrderStatusPipeline getInstance() {
+        if (instance == null) {
+            instance = new OrderStatusPipeline(Repositories.orders());
+        }
+        return instance;
+    }
+
+    // The store that shows optimistic statuses; changes still pending are re-applied to it, and
+    // overrides of changes that were committed or rolled back while detached are dropped
+    public void attach(OrderStore store, @Nullable Listener listener) {
+        this.store = store;
+        this.listener = listener;
+        store.retainStatusOverrides(writes.keySet());
+        for (PendingWrite write : writes.values()) {
+            store.overrideStatus(write.orderId, write.targetStatus);
+        }
+    }
+
+    public void detach(OrderStore store) {
+        if (this.store != store) return;
+        this.store = null;
+        this.listener = null;
+    }
+
+    // --- Submission ---
+
+    // Status the order will have once every pending change is written
+    @Nullable
+    public String effectiveStatus(Order order) {
+        PendingWrite write = writes.get(order.getOrderId());
+        return write != null ? write.targetStatus : order.getStatus();
+    }
+
+    // Queues a status change. Returns false (and changes nothing) when the transition is not allowed.
+    public boolean submit(Order order, String newStatus) {
+        if (enqueue(order, newStatus) == null) return false;
+        if (store != null) store.overrideStatus(order.getOrderId(), newStatus);
+
+        // A full batch goes out right away instead of waiting for the coalescing window
+        scheduleFlush(countReady(SystemClock.elapsedRealtime()) >= MAX_BATCH_OPS ? 0 : FLUSH_DELAY_MS);
+        return true;
+    }
+
+    // Changes many orders at once; 'targetOf' maps an order's current status to its new one (null
+    // skips the order). Orders whose transition is not allowed are skipped as well. The store sees
+    // one update for all accepted orders, which are committed right away in parallel batches.
+    // The task completes once every accepted order has been written or rolled back; an order
+    // changed again before its write commits counts once that newer status is written.
+    public Task<BulkResult> submitAll(Collection<Order> orders, Function<String, String> targetOf,
+                                      @Nullable BulkProgressListener progress) {
+        final BulkOperation bulk = new BulkOperation(progress);
+        final Map<String, String> accepted = new LinkedHashMap<>();
+        for (Order order : orders) {
+            String newStatus = targetOf.apply(effectiveStatus(order));
+            PendingWrite write = newStatus != null ? enqueue(order, newStatus) : null;
+            if (write == null) {
+                bulk.skipped.add(order.getOrderId());
+                continue;
+            }
+            write.bulks.add(bulk);
+            bulk.total++;
+            accepted.put(write.orderId, newStatus);
+        }
+
+        if (store != null && !accepted.isEmpty()) {
+            final OrderStore target = store;
+            target.batchUpdates(() -> {
+                for (Map.Entry<String, String> entry : accepted.entrySet()) {
+                    target.overrideStatus(entry.getKey(), entry.getValue());
+                }
+            });
+        }
+
+        bulk.started = true;
+        if (accepted.isEmpty()) bulk.update();
+        else flushNow();
+        return bulk.completion.getTask();
+    }
+
+    // Records the change on the order's pending write, or returns null if it is not allowed
+    @Nullable
+    private PendingWrite enqueue(Order order, String newStatus) {
+        String orderId = order.getOrderId();
+        if (orderId == null || !OrderStatus.canTransition(effectiveStatus(order), newStatus)) return null;
+
+        PendingWrite write = writes.get(orderId);
+        if (write == null) {
+            write = new PendingWrite(orderId, order.getStatus());
+            writes.put(orderId, write);
+        }
+        write.targetStatus = newStatus;
+        if (!write.queued) {
+            write.queued = true;
+            write.attempts = 0;
+            write.notBefore = 0;
+        }
+        // A bulk operation waiting for this order keeps waiting: its change is superseded by
+        // the new status and only counts as written once that reaches the server
+        return write;
+    }
+
+    // --- Flushing ---
+
+    private void scheduleFlush(long delayMs) {
+        long at = SystemClock.elapsedRealtime() + delayMs;
+        if (at >= scheduledFlushAt) return;
+        mainHandler.removeCallbacks(flushRunnable);
+        scheduledFlushAt = at;
+        mainHandler.postDelayed(flushRunnable, delayMs);
+    }
+
+    private void flushNow() {
+        mainHandler.removeCallbacks(flushRunnable);
+        flush();
+    }
+
+    private void flush() {
+        scheduledFlushAt = Long.MAX_VALUE;
+        long now = SystemClock.elapsedRealtime();
+        long nextDue = Long.MAX_VALUE;
+
+        List<PendingWrite> ready = new ArrayList<>();
+        List<PendingWrite> isolated = new ArrayList<>();
+        for (PendingWrite write : writes.values()) {
+            if (!write.queued) continue;
+            if (write.notBefore > now) {
+                nextDue = Math.min(nextDue, write.notBefore);
+                continue;
+            }
+            write.queued = false;
+            write.inFlight++;
+            (write.isolate ? isolated : ready).add(write);
+        }
+
+        for (int start = 0; start < ready.size(); start += MAX_BATCH_OPS) {
+            commit(new ArrayList<>(ready.subList(start, Math.min(start + MAX_BATCH_OPS, ready.size()))), now);
+        }
+        // Writes that already failed inside a larger batch go alone, so one bad document
+        // cannot roll back the others
+        for (PendingWrite write : isolated) {
+            List<PendingWrite> single = new ArrayList<>(1);
+            single.add(write);
+            commit(single, now);
+        }
+
+        if (nextDue != Long.MAX_VALUE) scheduleFlush(nextDue - now);
+    }
+
+    private void commit(List<PendingWrite> batchWrites, long startedAt) {
+        Map<String, String> statuses = new LinkedHashMap<>();
+        final List<String> sentStatuses = new ArrayList<>(batchWrites.size());
+        for (PendingWrite write : batchWrites) {
+            statuses.put(write.orderId, write.targetStatus);
+            sentStatuses.add(write.targetStatus);
+        }
+        // Commit callbacks run on the main thread, like submit()
+        TaskFutures.toTask(orderRepository.updateStatuses(statuses))
+                .addOnCompleteListener(task -> onCommitted(batchWrites, sentStatuses, startedAt, task));
+    }
+
+    private void onCommitted(List<PendingWrite> batchWrites, List<String> sentStatuses, long startedAt, Task<Void> task) {
+        long now = SystemClock.elapsedRealtime();
+        if (task.isSuccessful()) {
+            recordFlushLatency(now - startedAt);
+            committedCount += batchWrites.size();
+        }
+        Exception error = task.getException();
+        boolean retryable = error != null && orderRepository.isRetryable(error);
+
+        for (int i = 0; i < batchWrites.size(); i++) {
+            PendingWrite write = batchWrites.get(i);
+            // Already rolled back through an earlier failed batch
+            if (writes.get(write.orderId) != write) continue;
+            write.inFlight--;
+
+            if (task.isSuccessful()) {
+                write.confirmedStatus = sentStatuses.get(i);
+                write.isolate = false;
+                if (write.confirmedStatus.equals(write.targetStatus)) {
+                    for (BulkOperation bulk : takeBulks(write)) bulk.onWritten(write.orderId);
+                }
+                if (!write.queued && write.inFlight == 0) {
+                    writes.remove(write.orderId);
+                    // The listener already reflects the committed value; stop overriding it
+                    if (store != null) store.clearStatusOverride(write.orderId, null);
+                }
+            } else if (retryable && write.attempts + 1 < MAX_ATTEMPTS) {
+                // Resend the latest status after a backoff (a newer queued change already will)
+                if (!write.queued) {
+                    write.queued = true;
+                    write.attempts++;
+                    write.notBefore = now + backoffMs(write.attempts);
+                    retryCount++;
+                }
+            } else if (!retryable && batchWrites.size() > 1 && !write.isolate) {
+                write.isolate = true;
+                write.queued = true;
+                write.notBefore = 0;
+            } else {
+                rollBack(write, error);
+            }
+        }
+
+        if (!task.isSuccessful()) {
+            Log.w(TAG, "Status batch of " + batchWrites.size() + " failed", error);
+            scheduleNextRetry();
+        }
+    }
+
+    // Schedules a flush for the earliest queued write that is allowed to go out
+    private void scheduleNextRetry() {
+        long now = SystemClock.elapsedRealtime();
+        long nextDue = Long.MAX_VALUE;
+        for (PendingWrite write : writes.values()) {
+            if (write.queued) nextDue = Math.min(nextDue, Math.max(write.notBefore, now));
+        }
+        if (nextDue != Long.MAX_VALUE) scheduleFlush(nextDue - now);
+    }
+
+    private void rollBack(PendingWrite write, @Nullable Exception error) {
+        writes.remove(write.orderId);
+        rollbackCount++;
+        Exception cause = error != null ? error : new IllegalStateException("Status write failed");
+        if (store != null) store.clearStatusOverride(write.orderId, write.confirmedStatus);
+        for (BulkOperation bulk : takeBulks(write)) bulk.onFailed(write.orderId, cause);
+        if (listener != null) listener.onStatusRolledBack(write.orderId, write.confirmedStatus, cause);
+    }
+
+    // --- Metrics ---
+
+    // Orders with a change that is queued, backing off or awaiting the server
+    public int getQueueDepth() {
+        return writes.size();
+    }
+
+    // Time from handing a batch to Firestore until the server acknowledged it
+    public long getLastFlushLatencyMs() {
+        return lastFlushLatencyMs;
+    }
+
+    public long getAverageFlushLatencyMs() {
+        int count = Math.min(latencySampleCount, LATENCY_WINDOW);
+        if (count == 0) return 0;
+        long sum = 0;
+        for (int i = 0; i < count; i++) sum += latencySamples[i];
+        return sum / count;
+    }
+
+    public long getCommittedCount() { return committedCount; }
+    public long getRetryCount() { return retryCount; }
+    public long getRollbackCount() { return rollbackCount; }
+
+    // --- Internal Helpers ---
+
+    private int countReady(long now) {
+        int count = 0;
+        for (PendingWrite write : writes.values()) {
+            if (write.queued && write.notBefore <= now) count++;
+        }
+        return count;
+    }
+
+    private void recordFlushLatency(long latencyMs) {
+        lastFlushLatencyMs = latencyMs;
+        latencySamples[latencySampleCount % LATENCY_WINDOW] = latencyMs;
+        latencySampleCount++;
+    }
+
+    // Detaches the waiting bulk changes first, so a listener that submits again starts afresh
+    private static List<BulkOperation> takeBulks(PendingWrite write) {
+        if (write.bulks.isEmpty()) return Collections.emptyList();
+        List<BulkOperation> waiting = new ArrayList<>(write.bulks);
+        write.bulks.clear();
+        return waiting;
+    }
+
+    private static long backoffMs(int attempt) {
+        return Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << Math.min(attempt - 1, 16));
+    }
+
+    // Latest change of one order and the bookkeeping needed to retry or undo it
+    private static class PendingWrite {
+        final String orderId;
+        // Last status known to be on the server; restored on rollback
+        String confirmedStatus;
+        String targetStatus;
+        // True while targetStatus still has to be sent
+        boolean queued;
+        // Batches carrying this order that have not completed yet
+        int inFlight;
+        int attempts;
+        long notBefore;
+        boolean isolate;
+        // Bulk changes waiting for this order's latest status to be written
+        final List<BulkOperation> bulks = new ArrayList<>(1);
+
+        PendingWrite(String orderId, String confirmedStatus) {
+            this.orderId = orderId;
+            this.confirmedStatus = confirmedStatus;
+        }
+    }
+
+    // Final outcome of a bulk change
+    public static class BulkResult {
+        private final List<String> written;
+        private final Map<String, Exception> failed;
+        private final List<String> skipped;
+
+        BulkResult(List<String> written, Map<String, Exception> failed, List<String> skipped) {
+            this.written = Collections.unmodifiableList(new ArrayList<>(written));
+            this.failed = Collections.unmodifiableMap(new LinkedHashMap<>(failed));
+            this.skipped = Collections.unmodifiableList(new ArrayList<>(skipped));
+        }
+
+        // Ids of orders whose new status (or a later one that superseded it) reached the server
+        public List<String> getWritten() { return written; }
+        // Orders that were rolled back, with the error that caused it
+        public Map<String, Exception> getFailed() { return failed; }
+        // Orders left untouched because the change was not allowed for their status
+        public List<String> getSkipped() { return skipped; }
+    }
+
+    private static class BulkOperation {
+        final TaskCompletionSource<BulkResult> completion = new TaskCompletionSource<>();
+        @Nullable
+        final BulkProgressListener progress;
+        final List<String> written = new ArrayList<>();
+        final Map<String, Exception> failed = new LinkedHashMap<>();
+        final List<String> skipped = new ArrayList<>();
+        int total;
+        // False while orders are still being added, so an early result cannot complete it
+        boolean started;
+
+        BulkOperation(@Nullable BulkProgressListener progress) {
+            this.progress = progress;
+        }
+
+        void onWritten(String orderId) {
+            written.add(orderId);
+            update();
+        }
+
+        void onFailed(String orderId, Exception error) {
+            failed.put(orderId, error);
+            update();
+        }
+
+        void update() {
+            if (!started) return;
+            if (progress != null) progress.onProgress(written.size(), failed.size(), total);
+            if (written.size() + failed.size() >= total) {
+                completion.trySetResult(new BulkResult(written, failed, skipped));
+            }
+        }
+    }
+}
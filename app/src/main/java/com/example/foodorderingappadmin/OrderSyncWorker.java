@@ -0,0 +1,97 @@
+package com.example.foodorderingappadmin;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+// Pulls order deltas from the OrderRepository into the OrderWarehouse.
+// Each run fetches only documents at or after the stored 'orderedAt' watermark (paged), then
+// re-reads the orders that can still change status so status flips reach the warehouse too.
+// All warehouse writes happen on the supplied background executor.
+class OrderSyncWorker {
+
+    private static final String TAG = "OrderSyncWorker";
+    private static final String KEY_WATERMARK = "orders_ordered_at_watermark";
+
+    private static final int PAGE_SIZE = 500;
+    // Back-to-back screens share one sync instead of hitting the network again
+    private static final long MIN_SYNC_INTERVAL_MS = 15 * 1000L;
+
+    private final OrderRepository repository;
+    private final OrderWarehouse warehouse;
+    private final Executor executor;
+
+    @Nullable
+    private Task<Void> runningSync;
+    private long lastSyncAt;
+
+    OrderSyncWorker(OrderRepository repository, OrderWarehouse warehouse, Executor executor) {
+        this.repository = repository;
+        this.warehouse = warehouse;
+        this.executor = executor;
+    }
+
+    // Brings the warehouse up to date. Concurrent callers share the same run.
+    synchronized Task<Void> sync() {
+        if (runningSync != null && !runningSync.isComplete()) return runningSync;
+        if (lastSyncAt != 0 && SystemClock.elapsedRealtime() - lastSyncAt < MIN_SYNC_INTERVAL_MS) {
+            return Tasks.forResult(null);
+        }
+
+        runningSync = Tasks.call(executor, () -> warehouse.getSyncValue(KEY_WATERMARK, Long.MIN_VALUE))
+                .continueWithTask(executor, watermark -> pullNewOrders(watermark.getResult(), null))
+                .continueWithTask(executor, ignored -> refreshOpenOrders())
+                .addOnSuccessListener(executor, ignored -> {
+                    synchronized (OrderSyncWorker.this) {
+                        lastSyncAt = SystemClock.elapsedRealtime();
+                    }
+                })
+                .addOnFailureListener(executor, e -> Log.w(TAG, "Order sync failed", e));
+        return runningSync;
+    }
+
+    // --- Sync Steps ---
+
+    // Pages through every order at or after the watermark, oldest first
+    private Task<Void> pullNewOrders(long watermark, @Nullable Object after) {
+        Date since = watermark != Long.MIN_VALUE ? new Date(watermark) : null;
+        return TaskFutures.toTask(repository.loadOrderedSince(since, after, PAGE_SIZE)).continueWithTask(executor, task -> {
+            Page<Order> page = task.getResult();
+            warehouse.upsertOrders(page.items);
+
+            // Advance the watermark page by page so an interrupted sync resumes where it stopped
+            long newWatermark = watermark;
+            for (Order order : page.items) {
+                if (order.getOrderedAt() != null) newWatermark = Math.max(newWatermark, order.getOrderedAt().getTime());
+            }
+            warehouse.putSyncValue(KEY_WATERMARK, newWatermark);
+
+            if (page.next == null) return Tasks.forResult(null);
+            return pullNewOrders(watermark, page.next);
+        });
+    }
+
+    // Re-reads orders not yet Completed/Cancelled; missing documents are deleted locally
+    private Task<Void> refreshOpenOrders() {
+        List<String> openIds = warehouse.getOpenOrderIds();
+        return TaskFutures.toTask(repository.loadByIds(openIds)).continueWith(executor, task -> {
+            List<Order> orders = task.getResult();
+            Set<String> missing = new HashSet<>(openIds);
+            for (Order order : orders) missing.remove(order.getOrderId());
+
+            warehouse.upsertOrders(orders);
+            warehouse.deleteOrders(missing);
+            return null;
+        });
+    }
+}
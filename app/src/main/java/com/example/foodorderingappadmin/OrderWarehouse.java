@@ -0,0 +1,284 @@
+package com.example.foodorderingappadmin;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// On-device order warehouse backed by SQLite.
+// Orders are stored as flat rows plus one row per line item, and every synced day is
+// materialized into small daily rollup tables (sales, per-item qty, per-customer spend).
+// Range aggregates are answered from those rollups with indexed SQL instead of the network.
+// Passing a null name to the constructor gives an in-memory database (useful for tests).
+public class OrderWarehouse extends SQLiteOpenHelper {
+
+    private static final String DATABASE_NAME = "order_warehouse.db";
+    private static final int DATABASE_VERSION = 3;
+
+    // SQLite's default limit on bound parameters is 999
+    private static final int MAX_SQL_ARGS = 500;
+    // Rollup key of an order line: its menu item id, or its name for lines recorded without one
+    private static final String ITEM_KEY = "COALESCE(NULLIF(l.menu_item_id, ''), 'name:' || l.name)";
+
+    private static OrderWarehouse instance;
+
+    public static synchronized OrderWarehouse getInstance(Context context) {
+        if (instance == null) {
+            instance = new OrderWarehouse(context.getApplicationContext(), DATABASE_NAME);
+        }
+        return instance;
+    }
+
+    public OrderWarehouse(Context context, @Nullable String name) {
+        super(context, name, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE orders (" +
+                "id TEXT PRIMARY KEY, user_id TEXT, status TEXT, total REAL NOT NULL, " +
+                "ordered_at INTEGER, day INTEGER NOT NULL, note TEXT, payment_method TEXT)");
+        db.execSQL("CREATE INDEX idx_orders_ordered_at ON orders(ordered_at)");
+        db.execSQL("CREATE INDEX idx_orders_status_ordered_at ON orders(status, ordered_at)");
+        db.execSQL("CREATE INDEX idx_orders_day ON orders(day)");
+
+        db.execSQL("CREATE TABLE order_lines (" +
+                "order_id TEXT NOT NULL, line_no INTEGER NOT NULL, name TEXT, menu_item_id TEXT, qty INTEGER NOT NULL, unit_price REAL NOT NULL, " +
+                "PRIMARY KEY (order_id, line_no))");
+
+        db.execSQL("CREATE TABLE daily_sales (day INTEGER PRIMARY KEY, revenue REAL NOT NULL, orders INTEGER NOT NULL, items INTEGER NOT NULL)");
+        // Items are keyed by menu item id so renames do not split their sales; lines without an id fall back to the name
+        db.execSQL("CREATE TABLE daily_item_sales (day INTEGER NOT NULL, item_key TEXT NOT NULL, menu_item_id TEXT, name TEXT, " +
+                "qty INTEGER NOT NULL, PRIMARY KEY (day, item_key))");
+        db.execSQL("CREATE TABLE daily_customer_sales (day INTEGER NOT NULL, user_id TEXT NOT NULL, spent REAL NOT NULL, orders INTEGER NOT NULL, PRIMARY KEY (day, user_id))");
+
+        db.execSQL("CREATE TABLE sync_state (key TEXT PRIMARY KEY, value INTEGER NOT NULL)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // The warehouse is a cache of Firestore; rebuild it from scratch on schema changes
+        db.execSQL("DROP TABLE IF EXISTS orders");
+        db.execSQL("DROP TABLE IF EXISTS order_lines");
+        db.execSQL("DROP TABLE IF EXISTS daily_sales");
+        db.execSQL("DROP TABLE IF EXISTS daily_item_sales");
+        db.execSQL("DROP TABLE IF EXISTS daily_customer_sales");
+        db.execSQL("DROP TABLE IF EXISTS sync_state");
+        onCreate(db);
+    }
+
+    // --- Day Keys ---
+
+    // Day encoded as yyyyMMdd in the device time zone; orders without a date use day 0
+    public static int dayKey(@Nullable Date date) {
+        if (date == null) return 0;
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(date);
+        return cal.get(Calendar.YEAR) * 10000 + (cal.get(Calendar.MONTH) + 1) * 100 + cal.get(Calendar.DAY_OF_MONTH);
+    }
+
+    // --- Writes (called from the sync worker's background thread) ---
+
+    // Upserts orders with their lines and re-rolls every day they touch, in one transaction
+    public void upsertOrders(Collection<Order> orders) {
+        if (orders.isEmpty()) return;
+        AppTrace.begin("OrderWarehouse.upsertOrders");
+        try {
+            AppTrace.count("OrderWarehouse.upserted", orders.size());
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                Set<Integer> touchedDays = new HashSet<>();
+                for (Order order : orders) {
+                    Integer previousDay = findDay(db, order.getOrderId());
+                    if (previousDay != null) touchedDays.add(previousDay);
+
+                    int day = dayKey(order.getOrderedAt());
+                    touchedDays.add(day);
+
+                    ContentValues row = new ContentValues();
+                    row.put("id", order.getOrderId());
+                    row.put("user_id", order.getUserId());
+                    row.put("status", order.getStatus());
+                    row.put("total", order.getTotal());
+                    row.put("ordered_at", order.getOrderedAt() != null ? order.getOrderedAt().getTime() : null);
+                    row.put("day", day);
+                    row.put("note", order.getNote());
+                    row.put("payment_method", order.getPaymentMethod());
+                    db.insertWithOnConflict("orders", null, row, SQLiteDatabase.CONFLICT_REPLACE);
+
+                    db.delete("order_lines", "order_id = ?", new String[]{order.getOrderId()});
+                    if (order.getItems() != null) {
+                        int lineNo = 0;
+                        for (OrderLine item : order.getItems()) {
+                            ContentValues line = new ContentValues();
+                            line.put("order_id", order.getOrderId());
+                            line.put("line_no", lineNo++);
+                            line.put("name", item.getName());
+                            line.put("menu_item_id", item.getMenuItemId());
+                            line.put("qty", item.getQty());
+                            line.put("unit_price", item.getUnitPrice());
+                            db.insert("order_lines", null, line);
+                        }
+                    }
+                }
+                rebuildRollups(db, touchedDays);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        } finally {
+            AppTrace.end();
+        }
+    }
+
+    public void deleteOrders(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) return;
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            Set<Integer> touchedDays = new HashSet<>();
+            for (String id : orderIds) {
+                Integer day = findDay(db, id);
+                if (day == null) continue;
+                touchedDays.add(day);
+                db.delete("orders", "id = ?", new String[]{id});
+                db.delete("order_lines", "order_id = ?", new String[]{id});
+            }
+            rebuildRollups(db, touchedDays);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public long getSyncValue(String key, long defaultValue) {
+        try (Cursor c = getReadableDatabase().rawQuery("SELECT value FROM sync_state WHERE key = ?", new String[]{key})) {
+            return c.moveToFirst() ? c.getLong(0) : defaultValue;
+        }
+    }
+
+    public void putSyncValue(String key, long value) {
+        ContentValues row = new ContentValues();
+        row.put("key", key);
+        row.put("value", value);
+        getWritableDatabase().insertWithOnConflict("sync_state", null, row, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    // Ids of orders that can still change status (anything not Completed/Cancelled)
+    public List<String> getOpenOrderIds() {
+        List<String> ids = new ArrayList<>();
+        try (Cursor c = getReadableDatabase().rawQuery(
+                "SELECT id FROM orders WHERE status IS NULL OR status NOT IN ('Completed', 'Cancelled')", null)) {
+            while (c.moveToNext()) ids.add(c.getString(0));
+        }
+        return ids;
+    }
+
+    // --- Aggregate Queries ---
+
+    // Aggregates every day in [start, end] (null start means "All Time") from the rollup tables
+    public SalesSummary querySummary(@Nullable Date start, @Nullable Date end) {
+        AppTrace.begin("OrderWarehouse.querySummary");
+        try {
+            SQLiteDatabase db = getReadableDatabase();
+            String[] range = dayRangeArgs(start, end);
+
+            double totalRevenue = 0;
+            int totalOrders = 0;
+            long totalItems = 0;
+            try (Cursor c = db.rawQuery("SELECT COALESCE(SUM(revenue), 0), COALESCE(SUM(orders), 0), COALESCE(SUM(items), 0) " +
+                    "FROM daily_sales WHERE day BETWEEN ? AND ?", range)) {
+                if (c.moveToFirst()) {
+                    totalRevenue = c.getDouble(0);
+                    totalOrders = c.getInt(1);
+                    totalItems = c.getLong(2);
+                }
+            }
+
+            List<SalesSummary.TopItem> topItems = new ArrayList<>();
+            try (Cursor c = db.rawQuery("SELECT item_key, MAX(menu_item_id), MAX(name), SUM(qty) AS total_qty FROM daily_item_sales " +
+                    "WHERE day BETWEEN ? AND ? GROUP BY item_key ORDER BY total_qty DESC", range)) {
+                while (c.moveToNext()) {
+                    topItems.add(new SalesSummary.TopItem(c.getString(0), c.getString(1), c.getString(2), c.getInt(3)));
+                }
+            }
+
+            List<SalesSummary.CustomerStat> customers = new ArrayList<>();
+            try (Cursor c = db.rawQuery("SELECT user_id, SUM(spent) AS total_spent, SUM(orders) FROM daily_customer_sales " +
+                    "WHERE day BETWEEN ? AND ? GROUP BY user_id ORDER BY total_spent DESC", range)) {
+                while (c.moveToNext()) customers.add(new SalesSummary.CustomerStat(c.getString(0), c.getDouble(1), c.getInt(2)));
+            }
+
+            AppTrace.count("OrderWarehouse.topItems", topItems.size());
+            AppTrace.count("OrderWarehouse.customers", customers.size());
+
+            // One CustomerStat per distinct user, so its size is the unique customer count
+            return new SalesSummary(start, end, totalRevenue, totalOrders, totalItems, customers.size(), topItems, customers);
+        } finally {
+            AppTrace.end();
+        }
+    }
+
+    // --- Internal Helpers ---
+
+    @Nullable
+    private static Integer findDay(SQLiteDatabase db, String orderId) {
+        try (Cursor c = db.rawQuery("SELECT day FROM orders WHERE id = ?", new String[]{orderId})) {
+            return c.moveToFirst() ? c.getInt(0) : null;
+        }
+    }
+
+    // Recomputes the rollup rows of the given days from the order tables
+    private static void rebuildRollups(SQLiteDatabase db, Set<Integer> days) {
+        List<String> dayArgs = new ArrayList<>();
+        for (Integer day : days) dayArgs.add(String.valueOf(day));
+
+        for (int start = 0; start < dayArgs.size(); start += MAX_SQL_ARGS) {
+            String[] args = dayArgs.subList(start, Math.min(start + MAX_SQL_ARGS, dayArgs.size())).toArray(new String[0]);
+            String in = "(" + placeholders(args.length) + ")";
+
+            db.execSQL("DELETE FROM daily_sales WHERE day IN " + in, args);
+            db.execSQL("DELETE FROM daily_item_sales WHERE day IN " + in, args);
+            db.execSQL("DELETE FROM daily_customer_sales WHERE day IN " + in, args);
+
+            db.execSQL("INSERT INTO daily_sales (day, revenue, orders, items) " +
+                    "SELECT o.day, SUM(o.total), COUNT(*), " +
+                    "SUM((SELECT COALESCE(SUM(l.qty), 0) FROM order_lines l WHERE l.order_id = o.id)) " +
+                    "FROM orders o WHERE o.day IN " + in + " GROUP BY o.day", args);
+            db.execSQL("INSERT INTO daily_item_sales (day, item_key, menu_item_id, name, qty) " +
+                    "SELECT o.day, " + ITEM_KEY + ", NULLIF(l.menu_item_id, ''), MAX(l.name), SUM(l.qty) " +
+                    "FROM order_lines l JOIN orders o ON o.id = l.order_id " +
+                    "WHERE o.day IN " + in + " AND " + ITEM_KEY + " IS NOT NULL GROUP BY o.day, " + ITEM_KEY, args);
+            db.execSQL("INSERT INTO daily_customer_sales (day, user_id, spent, orders) " +
+                    "SELECT day, user_id, SUM(total), COUNT(*) FROM orders " +
+                    "WHERE day IN " + in + " AND user_id IS NOT NULL GROUP BY day, user_id", args);
+        }
+    }
+
+    private static String[] dayRangeArgs(@Nullable Date start, @Nullable Date end) {
+        int startDay = start != null ? dayKey(start) : 0;
+        int endDay = start != null && end != null ? dayKey(end) : Integer.MAX_VALUE;
+        return new String[]{String.valueOf(startDay), String.valueOf(endDay)};
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(',');
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+}
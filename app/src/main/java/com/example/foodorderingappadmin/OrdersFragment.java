@@ -7,6 +7,8 @@ import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.ProgressBar;
+import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
@@ -16,43 +18,68 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
+import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.textfield.TextInputEditText;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.EventListener;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.FirebaseFirestoreException;
-import com.google.firebase.firestore.ListenerRegistration;
-import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 public class OrdersFragment extends Fragment {
 
     private static final String TAG = "OrdersFragment";
+    private static final long SEARCH_DEBOUNCE_MS = 250;
 
     private RecyclerView ordersRecyclerView;
     private AdminOrderAdapter orderAdapter;
-    private List<Order> masterOrderList;
-    private List<Order> displayedOrderList;
-    private FirebaseFirestore db;
+    // Incrementally maintained, id-keyed view of the active orders
+    private final OrderStore orderStore = new OrderStore();
+    private OrderRepository orderRepository;
     private ChipGroup filterChipGroup;
     private TextInputEditText searchEditText;
+    private TextView txtSelectionCount;
+    private MaterialButton btnAdvanceSelected, btnClearSelection, btnCompleteDelivered;
+    private ProgressBar bulkProgress;
 
-    // Listener object to manage the Firestore real-time subscription
-    private ListenerRegistration orderListenerRegistration;
+    // Handle of the real-time order subscription
+    private Registration orderListenerRegistration;
+    // True while a snapshot submit is queued, so one listener event submits only once
+    private boolean submitScheduled;
 
     private String selectedStatus = "All";
     private String searchText = "";
 
+    // Orders picked for a bulk action (multi-select mode while non-empty)
+    private final Set<String> selectedOrderIds = new LinkedHashSet<>();
+    // Bulk changes still waiting for their writes; the progress bar shows their combined state
+    private int runningBulkOps;
+    private int bulkDone;
+    private int bulkTotal;
+
+    // Background thread for search and for formatting row models
+    private final ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor();
+    // Row models keyed by order instance (only touched on backgroundExecutor); a replaced or
+    // newly added order is the only thing that gets formatted again
+    private Map<Order, OrderRowModel> rowModels = new IdentityHashMap<>();
+
+    // Order id, note and customer name, normalized once per order and searched off the main thread
+    private final SearchEngine<Order> searchEngine = new SearchEngine<>(
+            Order::getOrderId,
+            order -> new String[]{order.getOrderId(), order.getNote(), order.getCustomerNameForSearch()},
+            backgroundExecutor,
+            "OrdersFragment.search");
+
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
@@ -64,42 +91,76 @@ public class OrdersFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        db = FirebaseFirestore.getInstance();
+        orderRepository = Repositories.orders();
         // Initialize UI components and RecyclerView setup
         ordersRecyclerView = view.findViewById(R.id.ordersRecyclerView);
         filterChipGroup = view.findViewById(R.id.filterChipGroup);
         searchEditText = view.findViewById(R.id.searchEditText);
+        txtSelectionCount = view.findViewById(R.id.txtSelectionCount);
+        btnAdvanceSelected = view.findViewById(R.id.btnAdvanceSelected);
+        btnClearSelection = view.findViewById(R.id.btnClearSelection);
+        btnCompleteDelivered = view.findViewById(R.id.btnCompleteDelivered);
+        bulkProgress = view.findViewById(R.id.bulkProgress);
 
         ordersRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
-        masterOrderList = new ArrayList<>();
-        displayedOrderList = new ArrayList<>();
-        orderAdapter = new AdminOrderAdapter(getContext(), displayedOrderList);
+        orderAdapter = new AdminOrderAdapter(getContext());
+        orderAdapter.setOnSelectionToggleListener(this::toggleSelection);
         ordersRecyclerView.setAdapter(orderAdapter);
+        orderStore.setOnVisibleChangedListener(this::scheduleSubmit);
+        scheduleSubmit();
 
         setupStatusChipListener();
         setupSearchListener();
+        setupBulkActions();
+        showWarmStartOrders();
     }
 
-    // Start listening when the fragment becomes visible
+    // First frame after a cold start: the orders from the last run, until the listener reconciles
+    // them (its initial snapshot drops orders that have since left the active set)
+    private void showWarmStartOrders() {
+        if (orderStore.size() > 0) return;
+        List<Order> cached = WarmStartCache.getInstance(requireContext()).getSnapshot().orders;
+        if (cached.isEmpty()) return;
+        orderStore.batchUpdates(() -> {
+            for (Order order : cached) orderStore.upsert(order);
+        });
+        searchEngine.reindex(orderStore.getAllOrders());
+        updateChipCounts();
+    }
+
+    // Start listening when the tab becomes visible. Hidden tabs stay alive but paused (see
+    // MainActivity), so the store and list survive and the listener only catches up on changes.
     @Override
-    public void onStart() {
-        super.onStart();
+    public void onResume() {
+        super.onResume();
+        // Status changes still being written show up optimistically in this fragment's store
+        OrderStatusPipeline.getInstance().attach(orderStore, this::onStatusRolledBack);
         fetchOrders(); // Start the real-time subscription
     }
 
-    // Stop listening when the fragment goes into the background
+    // Stop listening when the tab is hidden or the app goes into the background
     @Override
-    public void onStop() {
-        super.onStop();
+    public void onPause() {
+        super.onPause();
         if (orderListenerRegistration != null) {
-            // Unsubscribe from Firestore updates to prevent memory leaks and unnecessary data usage
+            // Unsubscribe from order updates to prevent memory leaks and unnecessary data usage
             orderListenerRegistration.remove();
         }
+        OrderStatusPipeline.getInstance().detach(orderStore);
+        // Names resolved since the last snapshot are included this time
+        if (orderStore.size() > 0) saveWarmStartOrders();
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        searchEngine.cancel();
     }
 
     @Override
     public void onDestroy() {
         super.onDestroy();
+        backgroundExecutor.shutdownNow();
     }
 
     private void fetchOrders() {
@@ -108,92 +169,149 @@ public class OrdersFragment extends Fragment {
             orderListenerRegistration.remove();
         }
 
-        // Define the base query for active admin orders (excluding Completed and Cancelled)
-        Query query = db.collection("orders")
-                .whereNotIn("status", Arrays.asList("Completed", "Cancelled"))
-                .orderBy("orderedAt", Query.Direction.DESCENDING);
-
-        // Start the real-time listener
-        orderListenerRegistration = query.addSnapshotListener(new EventListener<QuerySnapshot>() {
+        // Start the real-time listener for active admin orders (excluding Completed and Cancelled)
+        orderListenerRegistration = orderRepository.listenToActiveOrders(new ChangeListener<Order>() {
             @Override
-            public void onEvent(@Nullable QuerySnapshot value, @Nullable FirebaseFirestoreException error) {
+            public void onChanges(List<Change<Order>> changes, boolean initial) {
                 if (!isAdded() || getContext() == null) {
                     return;
                 }
+                AppTrace.begin("OrdersFragment.onChanges");
+                try {
+                    AppTrace.count("OrdersFragment.changed", changes.size());
+
+                    // A fresh subscription replays every order as ADDED; drop anything that left
+                    // the active set while we were not listening.
+                    if (initial) {
+                        Set<String> currentIds = new HashSet<>();
+                        for (Change<Order> change : changes) {
+                            currentIds.add(change.id);
+                        }
+                        orderStore.retainOnly(currentIds);
+                    }
 
-                if (error != null) {
-                    Log.e(TAG, "Listen failed for orders: ", error);
-                    Toast.makeText(getContext(), "Failed to get real-time orders: " + error.getMessage(), Toast.LENGTH_LONG).show();
-                    return;
-                }
+                    // 1. Apply only the deltas; the store emits precise notifications to the adapter
+                    List<Order> addedOrders = orderStore.applyChanges(changes);
 
-                if (value != null) {
-                    List<Order> incomingOrders = new ArrayList<>();
-                    List<Task<Void>> userFetchTasks = new ArrayList<>();
-
-                    // 1. Process incoming order documents and launch parallel user fetches
-                    for (QueryDocumentSnapshot doc : value) {
-                        Order order = doc.toObject(Order.class);
-                        order.setOrderId(doc.getId());
-                        incomingOrders.add(order);
-
-                        String userId = order.getUserId();
-                        if (userId != null && !userId.isEmpty()) {
-                            // Fetch user name (customerNameForSearch) for display/search capability
-                            Task<Void> userTask = db.collection("users").document(userId).get()
-                                    .continueWith((Task<DocumentSnapshot> task) -> {
-                                        if (task.isSuccessful() && task.getResult().exists()) {
-                                            String name = task.getResult().getString("name");
-                                            order.setCustomerNameForSearch(name);
-                                        }
-                                        return null;
-                                    });
-                            userFetchTasks.add(userTask);
+                    // Index the instances the store now holds, so searches never rebuild their text
+                    if (initial) {
+                        searchEngine.reindex(orderStore.getAllOrders());
+                    } else {
+                        for (Change<Order> change : changes) {
+                            if (change.type == Change.Type.REMOVED) searchEngine.remove(change.id);
+                            else if (change.value != null) searchEngine.index(change.value);
                         }
                     }
 
-                    // 2. Wait for all background user fetches to complete
-                    Tasks.whenAll(userFetchTasks).addOnCompleteListener(task -> {
-                        if (!isAdded()) return;
+                    // 2. Resolve customer names for new orders only
+                    resolveCustomerNames(addedOrders);
 
-                        masterOrderList.clear();
-                        masterOrderList.addAll(incomingOrders);
+                    // 3. Chip counts are maintained incrementally by the store
+                    updateChipCounts();
 
-                        // 3. Update the UI elements (Chip counts, list filtering) on the Main Thread
-                        updateChipCountsAndFilter(masterOrderList);
-                    });
+                    // 4. Remember the list for the next cold start (written in the background)
+                    saveWarmStartOrders();
+
+                    AppTrace.count("OrdersFragment.active", orderStore.size());
+                } finally {
+                    AppTrace.end();
                 }
             }
+
+            @Override
+            public void onError(Exception error) {
+                if (!isAdded() || getContext() == null) return;
+                Log.e(TAG, "Listen failed for orders: ", error);
+                Toast.makeText(getContext(), "Failed to get real-time orders: " + error.getMessage(), Toast.LENGTH_LONG).show();
+            }
         });
     }
 
-    private void updateChipCountsAndFilter(List<Order> orders) {
-        if (getView() == null) {
-            return;
-        }
+    private void saveWarmStartOrders() {
+        if (getContext() == null) return;
+        List<Order> orders = orderStore.getAllOrders();
+        WarmStartCache.getInstance(getContext()).saveOrders(orders, WarmStartCache.customersOf(orders));
+    }
 
-        int pendingCount = 0;
-        int madeCount = 0;
-        int deliveredCount = 0;
+    private void onStatusRolledBack(String orderId, String restoredStatus, Exception error) {
+        Log.w(TAG, "Status update for " + orderId + " rolled back", error);
+        if (!isAdded() || getContext() == null) return;
+        Toast.makeText(getContext(), "Update Failed, order is " + restoredStatus + " again", Toast.LENGTH_SHORT).show();
+    }
 
-        String currentRawStatus = selectedStatus;
+    // Hands the adapter one immutable snapshot per frame, however many orders changed.
+    // Row models are built on the background thread; single-thread FIFO keeps submits in order.
+    private void scheduleSubmit() {
+        if (submitScheduled || ordersRecyclerView == null) return;
+        submitScheduled = true;
+        ordersRecyclerView.post(() -> {
+            submitScheduled = false;
+            if (!isAdded() || backgroundExecutor.isShutdown()) return;
+            // Optimistic status changes move orders between chips without a snapshot event, and
+            // replace them with copies the search index has not seen yet
+            updateChipCounts();
+            searchEngine.sync(orderStore.getAllOrders());
+            dropMissingSelections();
+            final List<Order> snapshot = orderStore.snapshotVisibleOrders();
+            backgroundExecutor.execute(() -> {
+                final List<OrderRowModel> rows = buildRowModels(snapshot);
+                ordersRecyclerView.post(() -> {
+                    if (isAdded() && orderAdapter != null) orderAdapter.submitList(rows);
+                });
+            });
+        });
+    }
 
-        // Calculate counts for each status category
+    // Runs on backgroundExecutor
+    private List<OrderRowModel> buildRowModels(List<Order> orders) {
+        Map<Order, OrderRowModel> next = new IdentityHashMap<>();
+        List<OrderRowModel> rows = new ArrayList<>(orders.size());
         for (Order order : orders) {
-            switch (order.getStatus()) {
-                case "Pending": pendingCount++; break;
-                case "Being Made": madeCount++; break;
-                case "Being Delivered": deliveredCount++; break;
+            OrderRowModel row = rowModels.get(order);
+            if (row == null) row = OrderRowModel.from(order);
+            next.put(order, row);
+            rows.add(row);
+        }
+        rowModels = next;
+        return Collections.unmodifiableList(rows);
+    }
+
+    private void resolveCustomerNames(List<Order> orders) {
+        CustomerProfileCache profileCache = CustomerProfileCache.getInstance();
+        for (Order order : orders) {
+            String userId = order.getUserId();
+            if (userId == null || userId.isEmpty()) continue;
+
+            Task<CustomerProfile> lookup = profileCache.get(userId);
+            if (lookup.isSuccessful()) {
+                order.setCustomerNameForSearch(lookup.getResult().getName());
+                searchEngine.index(order);
+                continue;
             }
+
+            lookup.addOnSuccessListener(profile -> {
+                // Skip if the order has since been replaced or removed
+                if (!isAdded() || orderStore.get(order.getOrderId()) != order) return;
+                order.setCustomerNameForSearch(profile.getName());
+                searchEngine.index(order);
+                // Re-evaluate visibility in case a name search is active
+                if (!searchText.isEmpty()) orderStore.upsert(order);
+            });
         }
+    }
 
-        // Update the visual count and state of each filter chip
-        updateChipCount(R.id.chipAll, orders.size(), currentRawStatus, "All");
-        updateChipCount(R.id.chipPending, pendingCount, currentRawStatus, "Pending");
-        updateChipCount(R.id.chipBeingMade, madeCount, currentRawStatus, "Being Made");
-        updateChipCount(R.id.chipDelivering, deliveredCount, currentRawStatus, "Being Delivered");
+    private void updateChipCounts() {
+        if (getView() == null) {
+            return;
+        }
+
+        String currentRawStatus = selectedStatus;
 
-        filterOrderList(); // Re-filter the displayed list based on the current selection/search
+        // Update the visual count and state of each filter chip
+        updateChipCount(R.id.chipAll, orderStore.size(), currentRawStatus, "All");
+        updateChipCount(R.id.chipPending, orderStore.getStatusCount("Pending"), currentRawStatus, "Pending");
+        updateChipCount(R.id.chipBeingMade, orderStore.getStatusCount("Being Made"), currentRawStatus, "Being Made");
+        updateChipCount(R.id.chipDelivering, orderStore.getStatusCount("Being Delivered"), currentRawStatus, "Being Delivered");
     }
 
     private void updateChipCount(int chipId, int count, String currentRawStatus, String dbStatusName) {
@@ -229,7 +347,7 @@ public class OrdersFragment extends Fragment {
                 selectedStatus = "All";
             }
 
-            filterOrderList();
+            filterOrderList(0);
         });
 
         filterChipGroup.check(R.id.chipAll);
@@ -241,52 +359,137 @@ public class OrdersFragment extends Fragment {
             @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                searchText = s.toString().toLowerCase(Locale.getDefault());
-                filterOrderList();
+                searchText = s.toString();
+                filterOrderList(SEARCH_DEBOUNCE_MS); // Only the last keystroke within the delay runs
             }
             @Override public void afterTextChanged(Editable s) {}
         });
     }
 
-    private void filterOrderList() {
-        if (getView() == null) {
-            return;
-        }
+    // --- Bulk Actions ---
 
-        displayedOrderList.clear();
-
-        // 1. Filter by selected status (if not "All")
-        String rawStatus = selectedStatus;
-        boolean filterByStatus = !rawStatus.equalsIgnoreCase("All");
+    private void setupBulkActions() {
+        btnClearSelection.setOnClickListener(v -> clearSelection());
+        btnAdvanceSelected.setOnClickListener(v -> {
+            List<Order> orders = new ArrayList<>();
+            for (String id : selectedOrderIds) {
+                Order order = orderStore.get(id);
+                if (order != null) orders.add(order);
+            }
+            clearSelection();
+            // Each order moves one step along the normal flow
+            runBulk(orders, OrderStatus::next);
+        });
+        btnCompleteDelivered.setOnClickListener(v -> {
+            List<Order> delivered = new ArrayList<>();
+            for (Order order : orderStore.getAllOrders()) {
+                if (OrderStatus.BEING_DELIVERED.equals(order.getStatus())) delivered.add(order);
+            }
+            runBulk(delivered, status -> OrderStatus.BEING_DELIVERED.equals(status) ? OrderStatus.COMPLETED : null);
+        });
+        updateSelectionUi();
+    }
 
-        List<Order> statusFilteredList;
-        if (filterByStatus) {
-            statusFilteredList = masterOrderList.stream()
-                    .filter(order -> rawStatus.equalsIgnoreCase(order.getStatus()))
-                    .collect(Collectors.toList());
-        } else {
-            statusFilteredList = masterOrderList;
-        }
+    private void toggleSelection(String orderId) {
+        if (!selectedOrderIds.remove(orderId)) selectedOrderIds.add(orderId);
+        updateSelectionUi();
+    }
 
-        // 2. Apply search text filter
-        if (searchText.isEmpty()) {
-            displayedOrderList.addAll(statusFilteredList);
-        } else {
-            String finalSearchText = searchText.toLowerCase(Locale.getDefault());
+    private void clearSelection() {
+        selectedOrderIds.clear();
+        updateSelectionUi();
+    }
 
-            // Filter items based on Order ID, Note, or fetched Customer Name
-            for (Order order : statusFilteredList) {
-                String id = order.getOrderId().toLowerCase(Locale.getDefault());
-                String note = order.getNote() != null ? order.getNote().toLowerCase(Locale.getDefault()) : "";
+    // Orders that left the active list (e.g. completed) cannot stay selected
+    private void dropMissingSelections() {
+        if (selectedOrderIds.isEmpty()) return;
+        int before = selectedOrderIds.size();
+        selectedOrderIds.removeIf(id -> orderStore.get(id) == null);
+        if (selectedOrderIds.size() != before) updateSelectionUi();
+    }
 
-                String customerName = order.getCustomerNameForSearch() != null ? order.getCustomerNameForSearch().toLowerCase(Locale.getDefault()) : "";
+    private void updateSelectionUi() {
+        if (getView() == null) return;
+        boolean selecting = !selectedOrderIds.isEmpty();
+        txtSelectionCount.setText(selecting ? selectedOrderIds.size() + " selected" : "Long-press orders to select");
+        btnAdvanceSelected.setVisibility(selecting ? View.VISIBLE : View.GONE);
+        btnClearSelection.setVisibility(selecting ? View.VISIBLE : View.GONE);
+        btnCompleteDelivered.setVisibility(selecting ? View.GONE : View.VISIBLE);
+        orderAdapter.setSelectedIds(Collections.unmodifiableSet(new HashSet<>(selectedOrderIds)));
+    }
 
-                if (id.contains(finalSearchText) || note.contains(finalSearchText) || customerName.contains(finalSearchText)) {
-                    displayedOrderList.add(order);
-                }
-            }
+    // The pipeline applies every change to the store in one update and commits them in parallel batches
+    private void runBulk(List<Order> orders, Function<String, String> targetOf) {
+        if (orders.isEmpty()) {
+            Toast.makeText(getContext(), "No orders to update", Toast.LENGTH_SHORT).show();
+            return;
         }
 
-        orderAdapter.notifyDataSetChanged(); // Update the RecyclerView
+        final int[] lastDone = {0};
+        runningBulkOps++;
+        bulkTotal += orders.size();
+        showBulkProgress();
+
+        OrderStatusPipeline.getInstance()
+                .submitAll(orders, targetOf, (written, failed, total) -> {
+                    bulkDone += written + failed - lastDone[0];
+                    lastDone[0] = written + failed;
+                    showBulkProgress();
+                })
+                .addOnSuccessListener(result -> {
+                    runningBulkOps--;
+                    // Skipped orders never report progress; count them as done now
+                    bulkDone += orders.size() - lastDone[0];
+                    if (runningBulkOps == 0) {
+                        bulkDone = 0;
+                        bulkTotal = 0;
+                    }
+                    showBulkProgress();
+                    if (!isAdded()) return;
+
+                    String message = "Updated " + result.getWritten().size() + " orders";
+                    if (!result.getFailed().isEmpty()) message += ", " + result.getFailed().size() + " failed";
+                    if (!result.getSkipped().isEmpty()) message += ", " + result.getSkipped().size() + " skipped";
+                    Toast.makeText(getContext(), message, Toast.LENGTH_SHORT).show();
+                });
+    }
+
+    private void showBulkProgress() {
+        if (getView() == null) return;
+        bulkProgress.setVisibility(runningBulkOps > 0 ? View.VISIBLE : View.GONE);
+        bulkProgress.setMax(Math.max(bulkTotal, 1));
+        bulkProgress.setProgress(bulkDone);
+    }
+
+    private void filterOrderList(long delayMs) {
+        if (getView() == null) {
+            return;
+        }
+        AppTrace.begin("OrdersFragment.filterOrderList");
+        try {
+            // 1. Filter by selected status (if not "All")
+            String rawStatus = selectedStatus;
+            boolean filterByStatus = !rawStatus.equalsIgnoreCase("All");
+            Predicate<Order> statusFilter = order -> !filterByStatus || rawStatus.equalsIgnoreCase(order.getStatus());
+
+            // 2. Match the search text against the indexed Order ID, Note and Customer Name in the background
+            final List<Order> snapshot = new ArrayList<>(orderStore.getAllOrders());
+            final int snapshotVersion = orderStore.getVersion();
+            final String normalizedQuery = SearchEngine.normalize(searchText);
+
+            searchEngine.submit(searchText, delayMs,
+                    (query, cancelled) -> searchEngine.filter(snapshot, query, statusFilter, cancelled),
+                    matching -> {
+                        if (!isAdded()) return;
+                        AppTrace.count("OrdersFragment.visible", matching.size());
+                        // The predicate also decides visibility of orders that arrive later
+                        Predicate<Order> filter = order -> statusFilter.test(order) && searchEngine.matches(order, normalizedQuery);
+                        // 3. Publish as a diff; if orders changed meanwhile, re-filter the current list instead
+                        if (orderStore.getVersion() == snapshotVersion) orderStore.setFilter(filter, matching);
+                        else orderStore.setFilter(filter);
+                    });
+        } finally {
+            AppTrace.end();
+        }
     }
-}
\ No newline at end of file
+}
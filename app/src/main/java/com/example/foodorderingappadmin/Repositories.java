@@ -0,0 +1,46 @@
+package com.example.foodorderingappadmin;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+
+// Process-wide repository instances. Screens and singletons look them up here instead of
+// talking to FirebaseFirestore; tests install in-memory ones before the first lookup.
+public final class Repositories {
+
+    private static OrderRepository orders;
+    private static MenuRepository menu;
+    private static UserRepository users;
+    private static OrderAggregates orderAggregates;
+
+    private Repositories() {}
+
+    public static synchronized OrderRepository orders() {
+        if (orders == null) orders = new FirestoreOrderRepository(FirebaseFirestore.getInstance());
+        return orders;
+    }
+
+    public static synchronized MenuRepository menu() {
+        if (menu == null) menu = new FirestoreMenuRepository(FirebaseFirestore.getInstance());
+        return menu;
+    }
+
+    public static synchronized UserRepository users() {
+        if (users == null) users = new FirestoreUserRepository(FirebaseFirestore.getInstance());
+        return users;
+    }
+
+    // Server-side count()/sum(); backend-specific, so it sits beside the repositories
+    static synchronized OrderAggregates orderAggregates() {
+        if (orderAggregates == null) orderAggregates = new FirestoreOrderAggregates(FirebaseFirestore.getInstance());
+        return orderAggregates;
+    }
+
+    // Replaces the backend (e.g. with the InMemory* repositories). Singletons that already looked
+    // a repository up (MenuCatalog, CustomerProfileCache, ...) keep the old one, so call this first.
+    static synchronized void install(OrderRepository orderRepository, MenuRepository menuRepository,
+                                     UserRepository userRepository, OrderAggregates aggregates) {
+        orders = orderRepository;
+        menu = menuRepository;
+        users = userRepository;
+        orderAggregates = aggregates;
+    }
+}
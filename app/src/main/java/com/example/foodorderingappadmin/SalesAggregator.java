@@ -0,0 +1,138 @@
+package com.example.foodorderingappadmin;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Process-wide sales aggregation engine.
+// Every request first runs a delta sync of the local OrderWarehouse, then answers from indexed
+// SQL aggregates over its daily rollup tables on a background thread. Results are cached per
+// (start, end) range. When the device is offline the last synced data is served instead.
+public class SalesAggregator {
+
+    private static final int MAX_CACHED_RANGES = 8;
+    private static final long CACHE_TTL_MS = 60 * 1000L;
+    // Range bounds are truncated to the minute so repeated "Last 7 Days" picks share a key
+    private static final long RANGE_GRANULARITY_MS = 60 * 1000L;
+
+    private static SalesAggregator instance;
+
+    // Single background thread for sync writes and warehouse queries
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final OrderWarehouse warehouse;
+    private final OrderSyncWorker syncWorker;
+
+    private final LinkedHashMap<RangeKey, Cached<SalesSummary>> summaryCache = newRangeCache();
+    private final Map<RangeKey, Task<SalesSummary>> inFlight = new HashMap<>();
+
+    private SalesAggregator(Context context) {
+        this.warehouse = OrderWarehouse.getInstance(context);
+        this.syncWorker = new OrderSyncWorker(Repositories.orders(), warehouse, executor);
+    }
+
+    public static synchronized SalesAggregator getInstance(Context context) {
+        if (instance == null) {
+            instance = new SalesAggregator(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    // Returns the cached summary for the range, or null if it has not been computed (or expired)
+    @Nullable
+    public synchronized SalesSummary peek(@Nullable Date start, @Nullable Date end) {
+        return fresh(summaryCache.get(new RangeKey(start, end)));
+    }
+
+    // Loads the summary for a date range (null start means "All Time").
+    public synchronized Task<SalesSummary> load(@Nullable Date start, @Nullable Date end) {
+        final RangeKey key = new RangeKey(start, end);
+
+        SalesSummary cached = fresh(summaryCache.get(key));
+        if (cached != null) return Tasks.forResult(cached);
+
+        // Share a running load for the same range
+        Task<SalesSummary> running = inFlight.get(key);
+        if (running != null) return running;
+
+        // Sync failures are ignored so the warehouse still answers from its last state
+        Task<SalesSummary> task = syncWorker.sync()
+                .continueWith(executor, ignored -> warehouse.querySummary(start, end))
+                .addOnCompleteListener(executor, done -> {
+                    synchronized (SalesAggregator.this) {
+                        inFlight.remove(key);
+                        if (done.isSuccessful()) {
+                            summaryCache.put(key, new Cached<>(done.getResult()));
+                        }
+                    }
+                });
+        inFlight.put(key, task);
+        return task;
+    }
+
+    // Drops every cached range, e.g. after the underlying orders are known to have changed
+    public synchronized void invalidate() {
+        summaryCache.clear();
+    }
+
+    // --- Cache Helpers ---
+
+    private static <T> LinkedHashMap<RangeKey, Cached<T>> newRangeCache() {
+        return new LinkedHashMap<RangeKey, Cached<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RangeKey, Cached<T>> eldest) {
+                return size() > MAX_CACHED_RANGES;
+            }
+        };
+    }
+
+    @Nullable
+    private static <T> T fresh(@Nullable Cached<T> cached) {
+        if (cached == null || SystemClock.elapsedRealtime() - cached.computedAt > CACHE_TTL_MS) return null;
+        return cached.value;
+    }
+
+    private static class RangeKey {
+        final Long start;
+        final Long end;
+
+        RangeKey(@Nullable Date start, @Nullable Date end) {
+            this.start = start != null ? truncate(start) : null;
+            this.end = start != null && end != null ? truncate(end) + RANGE_GRANULARITY_MS - 1 : null;
+        }
+
+        private static long truncate(Date date) {
+            return date.getTime() - (date.getTime() % RANGE_GRANULARITY_MS);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RangeKey)) return false;
+            RangeKey other = (RangeKey) o;
+            return Objects.equals(start, other.start) && Objects.equals(end, other.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, end);
+        }
+    }
+
+    private static class Cached<T> {
+        final T value;
+        final long computedAt = SystemClock.elapsedRealtime();
+        Cached(T value) { this.value = value; }
+    }
+}
@@ -8,24 +8,31 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
-import java.util.HashMap;
+import com.google.android.gms.tasks.Task;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 
 public class SalesCustomersFragment extends Fragment {
 
+    // One row per user id; a row changes only when its totals do
+    private static final DiffUtil.ItemCallback<SalesSummary.CustomerStat> CUSTOMER_DIFF = new DiffUtil.ItemCallback<SalesSummary.CustomerStat>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull SalesSummary.CustomerStat oldItem, @NonNull SalesSummary.CustomerStat newItem) {
+            return Objects.equals(oldItem.userId, newItem.userId);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull SalesSummary.CustomerStat oldItem, @NonNull SalesSummary.CustomerStat newItem) {
+            return Double.compare(oldItem.totalSpent, newItem.totalSpent) == 0 && oldItem.orderCount == newItem.orderCount;
+        }
+    };
+
     private RecyclerView recyclerView;
     private CustomerAdapter adapter;
-    private final List<CustomerStat> customerList = new ArrayList<>();
-    private FirebaseFirestore db;
 
     @Nullable
     @Override
@@ -35,65 +42,39 @@ public class SalesCustomersFragment extends Fragment {
         // Initialize RecyclerView and Adapter
         recyclerView = view.findViewById(R.id.recyclerView);
         recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
-        adapter = new CustomerAdapter(customerList);
+        adapter = new CustomerAdapter();
         recyclerView.setAdapter(adapter);
-
-        db = FirebaseFirestore.getInstance();
         return view;
     }
 
-    // Main function to fetch and process sales data based on date range
-    public void updateFilter(Date start, Date end) {
-        if (db == null) return;
-
-        Query query = db.collection("orders");
-        // Apply date range filters if provided
-        if (start != null) {
-            query = query.whereGreaterThanOrEqualTo("orderedAt", start)
-                    .whereLessThanOrEqualTo("orderedAt", end);
-        }
-
-        // Fetch orders once (no real-time listener needed for sales aggregation)
-        query.get().addOnSuccessListener(snapshots -> {
-            Map<String, CustomerStat> statsMap = new HashMap<>();
-
-            // Aggregate data by unique User ID
-            for (QueryDocumentSnapshot doc : snapshots) {
-                Order order = doc.toObject(Order.class);
-                String uid = order.getUserId();
-                if (uid == null) continue;
-
-                // Create or retrieve the CustomerStat object for the User ID
-                statsMap.putIfAbsent(uid, new CustomerStat(uid));
-                CustomerStat stat = statsMap.get(uid);
-
-                // Accumulate statistics
-                stat.totalSpent += order.getTotal();
-                stat.orderCount++;
-            }
+    // Called by the parent SalesFragment with the already-aggregated range summary
+    public void showSummary(SalesSummary summary) {
+        if (adapter == null) return;
 
-            customerList.clear();
-            customerList.addAll(statsMap.values());
+        // Customers arrive pre-sorted by Total Spent (descending); the summary's list is immutable
+        AppTrace.count("SalesCustomersFragment.customers", summary.getCustomers().size());
+        adapter.submitList(summary.getCustomers());
+    }
 
-            // Sort customers by Total Spent (descending)
-            Collections.sort(customerList, (a, b) -> Double.compare(b.totalSpent, a.totalSpent));
+    // RecyclerView Adapter for displaying customer sales statistics
+    private static class CustomerAdapter extends ListAdapter<SalesSummary.CustomerStat, CustomerAdapter.ViewHolder> {
+        final CustomerProfileCache profileCache = CustomerProfileCache.getInstance();
+        final StableIds stableIds = new StableIds();
 
-            if (adapter != null) adapter.notifyDataSetChanged();
-        });
-    }
+        CustomerAdapter() {
+            super(CUSTOMER_DIFF);
+            setHasStableIds(true);
+        }
 
-    // Data structure to hold aggregated statistics for a single customer
-    static class CustomerStat {
-        String userId;
-        double totalSpent;
-        int orderCount;
-        CustomerStat(String uid) { userId = uid; }
-    }
+        @Override
+        public long getItemId(int position) {
+            return stableIds.idFor(getItem(position).userId);
+        }
 
-    // RecyclerView Adapter for displaying customer sales statistics
-    private class CustomerAdapter extends RecyclerView.Adapter<CustomerAdapter.ViewHolder> {
-        final List<CustomerStat> list;
-        CustomerAdapter(List<CustomerStat> l) { list = l; }
+        @Override
+        public void onCurrentListChanged(@NonNull List<SalesSummary.CustomerStat> previousList, @NonNull List<SalesSummary.CustomerStat> currentList) {
+            stableIds.retainOnly(currentList, customer -> customer.userId);
+        }
 
         @NonNull @Override
         public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -103,24 +84,37 @@ public class SalesCustomersFragment extends Fragment {
 
         @Override
         public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-            CustomerStat item = list.get(position);
-            holder.txtTotalSpent.setText(String.format("₱%.2f", item.totalSpent));
-            holder.txtOrderCount.setText(item.orderCount + " Orders");
-
-            // Fetch the customer's name using their ID
-            db.collection("users").document(item.userId).get().addOnSuccessListener(doc -> {
-                if (doc.exists()) {
-                    String name = doc.getString("name");
-                    holder.txtCustomerName.setText(name != null ? name : "Unknown");
+            AppTrace.begin("SalesCustomersFragment.onBindViewHolder");
+            try {
+                SalesSummary.CustomerStat item = getItem(position);
+                holder.txtTotalSpent.setText(String.format("₱%.2f", item.totalSpent));
+                holder.txtOrderCount.setText(item.orderCount + " Orders");
+
+                // Resolve the customer's name through the shared profile cache
+                holder.boundUserId = item.userId;
+                Task<CustomerProfile> lookup = profileCache.get(item.userId);
+                if (lookup.isSuccessful()) {
+                    bindCustomerName(holder, lookup.getResult());
+                } else {
+                    holder.txtCustomerName.setText("Loading...");
+                    lookup.addOnSuccessListener(profile -> {
+                        if (item.userId.equals(holder.boundUserId)) bindCustomerName(holder, profile);
+                    });
                 }
-            });
+            } finally {
+                AppTrace.end();
+            }
         }
 
-        @Override public int getItemCount() { return list.size(); }
+        private void bindCustomerName(ViewHolder holder, CustomerProfile profile) {
+            String name = profile.exists() ? profile.getName() : null;
+            holder.txtCustomerName.setText(name != null ? name : "Unknown");
+        }
 
         // ViewHolder for the individual customer stat item
         class ViewHolder extends RecyclerView.ViewHolder {
             TextView txtCustomerName, txtOrderCount, txtTotalSpent;
+            String boundUserId;
             ViewHolder(View v) {
                 super(v);
                 txtCustomerName = v.findViewById(R.id.txtCustomerName);
@@ -13,16 +13,9 @@ import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
 import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.tabs.TabLayout;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 public class SalesFragment extends Fragment {
 
@@ -30,11 +23,13 @@ public class SalesFragment extends Fragment {
     private TextView currentRangeLabel;
     private ChipGroup timeFilterGroup;
     private TabLayout segmentTabs;
-    private FirebaseFirestore db;
 
-    // Current filter state for child fragments
-    private Date startDate;
-    private Date endDate;
+    // Aggregated data for the current filter, shared with the child fragments
+    private SalesSummary currentSummary;
+    private int latestRequestId;
+
+    // Headline cards: server-side count()/sum() with the local summary as fallback
+    private MetricsSource metricsSource;
 
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
@@ -46,8 +41,6 @@ public class SalesFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        db = FirebaseFirestore.getInstance();
-
         // Initialize primary sales metric views
         valueRevenue = view.findViewById(R.id.valueRevenue);
         valueOrders = view.findViewById(R.id.valueOrders);
@@ -57,32 +50,50 @@ public class SalesFragment extends Fragment {
         timeFilterGroup = view.findViewById(R.id.timeFilterGroup);
         segmentTabs = view.findViewById(R.id.segmentTabs);
 
+        SalesAggregator aggregator = SalesAggregator.getInstance(requireContext());
+        metricsSource = new AggregateMetricsSource(
+                Repositories.orderAggregates(),
+                (start, end, onTotals) -> aggregator.load(start, end).continueWith(task -> HeadlineMetrics.of(task.getResult())));
+
         // Setup UI listeners and initial load
         setupTimeFilters();
         setupTabs();
         setFilterAllTime(); // Default to 'All Time' on startup
     }
 
+    // The tab is kept alive while hidden (see MainActivity), so coming back shows the numbers as
+    // they were. They are only reloaded once the aggregator no longer holds them as fresh.
+    @Override
+    public void onResume() {
+        super.onResume();
+        if (currentSummary != null
+                && SalesAggregator.getInstance(requireContext()).peek(currentSummary.getStart(), currentSummary.getEnd()) == null) {
+            applyTimeFilter(timeFilterGroup.getCheckedChipId());
+        }
+    }
+
     // --- Time Filter Logic ---
 
     private void setupTimeFilters() {
         // Listener to handle time filter chip selection (Week, Month, Year, All Time)
         timeFilterGroup.setOnCheckedStateChangeListener((group, checkedIds) -> {
             if (checkedIds.isEmpty()) return;
-            int id = checkedIds.get(0);
-
-            if (id == R.id.chipWeek) {
-                setFilterWeek();
-            } else if (id == R.id.chipMonth) {
-                setFilterMonth();
-            } else if (id == R.id.chipYear) {
-                setFilterYear();
-            } else {
-                setFilterAllTime();
-            }
+            applyTimeFilter(checkedIds.get(0));
         });
     }
 
+    private void applyTimeFilter(int chipId) {
+        if (chipId == R.id.chipWeek) {
+            setFilterWeek();
+        } else if (chipId == R.id.chipMonth) {
+            setFilterMonth();
+        } else if (chipId == R.id.chipYear) {
+            setFilterYear();
+        } else {
+            setFilterAllTime();
+        }
+    }
+
     // Methods to calculate and apply the date range filter
     private void setFilterWeek() {
         Calendar cal = Calendar.getInstance();
@@ -109,61 +120,65 @@ public class SalesFragment extends Fragment {
     // --- Data Aggregation and UI Update ---
 
     private void updateData(@Nullable Date start, @Nullable Date end, String label) {
-        this.startDate = start;
-        this.endDate = end;
         currentRangeLabel.setText(label);
 
-        Query query = db.collection("orders");
+        final int requestId = ++latestRequestId;
+        final boolean allTime = start == null && end == null;
+        final WarmStartCache warmStart = WarmStartCache.getInstance(requireContext());
 
-        // Apply date filtering to the Firestore query
-        if (start != null) {
-            query = query.whereGreaterThanOrEqualTo("orderedAt", start)
-                    .whereLessThanOrEqualTo("orderedAt", end);
-        }
+        // All Time cards show the last known numbers until the fresh ones arrive
+        if (allTime && warmStart.getSnapshot().metrics != null) showMetrics(warmStart.getSnapshot().metrics);
 
-        // Fetch orders once for the current date range
-        query.get().addOnSuccessListener(snapshots -> {
+        // Headline cards: revenue and orders as soon as the server has counted them, items
+        // and customers once the local summary is ready
+        MetricsSource.TotalsListener onTotals = (revenue, orderCount) -> {
+            if (!isAdded() || getContext() == null || requestId != latestRequestId) return;
+            showTotals(revenue, orderCount);
+        };
+        metricsSource.load(start, end, onTotals).addOnSuccessListener(metrics -> {
             // CRITICAL: Check if fragment is still attached before updating UI
             if (!isAdded() || getContext() == null) {
                 return;
             }
+            // Ignore results for a range that has since been replaced
+            if (requestId != latestRequestId) return;
 
-            double totalRevenue = 0;
-            int totalOrders = 0;
-            long totalItems = 0;
-            Set<String> uniqueCustomers = new HashSet<>();
-
-            // Aggregate metrics from the order snapshots
-            for (QueryDocumentSnapshot doc : snapshots) {
-                Order order = doc.toObject(Order.class);
-
-                totalRevenue += order.getTotal();
-                totalOrders++;
-                if (order.getUserId() != null) uniqueCustomers.add(order.getUserId());
-
-                if (order.getItems() != null) {
-                    for (Map<String, Object> item : order.getItems()) {
-                        Object qtyObj = item.get("qty");
-                        if (qtyObj instanceof Long) totalItems += (Long) qtyObj;
-                        else if (qtyObj instanceof Integer) totalItems += (Integer) qtyObj;
-                    }
-                }
-            }
+            showMetrics(metrics);
+            if (allTime) warmStart.saveMetrics(metrics);
+        });
 
-            // Update main sales metrics UI
-            valueRevenue.setText(String.format("₱%.2f", totalRevenue));
-            valueOrders.setText(String.valueOf(totalOrders));
-            valueItemsSold.setText(String.valueOf(totalItems));
-            valueCustomers.setText(String.valueOf(uniqueCustomers.size()));
+        // Aggregate the range once for the tabs (shares the fallback's in-flight load).
+        // The trace slice spans sync + aggregation, up to the tabs being handed the summary.
+        AppTrace.beginAsync("SalesFragment.summary", requestId);
+        SalesAggregator.getInstance(requireContext()).load(start, end).addOnSuccessListener(summary -> {
+            if (!isAdded() || getContext() == null || requestId != latestRequestId) return;
+
+            currentSummary = summary;
 
             // Refresh the child fragment to update its segmented list view
-            refreshCurrentFragment();
+            AppTrace.begin("SalesFragment.refreshCurrentFragment");
+            try {
+                refreshCurrentFragment();
+            } finally {
+                AppTrace.end();
+            }
 
         }).addOnFailureListener(e -> {
             if (isAdded()) {
                 Toast.makeText(getContext(), "Failed to fetch data: " + e.getMessage(), Toast.LENGTH_SHORT).show();
             }
-        });
+        }).addOnCompleteListener(done -> AppTrace.endAsync("SalesFragment.summary", requestId));
+    }
+
+    private void showMetrics(HeadlineMetrics metrics) {
+        showTotals(metrics.getRevenue(), metrics.getOrderCount());
+        valueItemsSold.setText(String.valueOf(metrics.getItemsSold()));
+        valueCustomers.setText(String.valueOf(metrics.getUniqueCustomers()));
+    }
+
+    private void showTotals(double revenue, long orderCount) {
+        valueRevenue.setText(String.format("₱%.2f", revenue));
+        valueOrders.setText(String.valueOf(orderCount));
     }
 
     // --- Tab Management ---
@@ -196,26 +211,26 @@ public class SalesFragment extends Fragment {
                 .replace(R.id.segmentContainer, fragment)
                 .commitNow();
 
-        // Push the currently selected dates to the newly loaded child fragment
+        // Push the already-aggregated summary to the newly loaded child fragment (no I/O)
         refreshCurrentFragment();
     }
 
     private void refreshCurrentFragment() {
-        // Check if the parent fragment is still active
-        if (!isAdded()) {
+        // Check if the parent fragment is still active and data has arrived
+        if (!isAdded() || currentSummary == null) {
             return;
         }
 
         FragmentManager fm = getChildFragmentManager();
         Fragment currentFragment = fm.findFragmentById(R.id.segmentContainer);
 
-        // Dynamically call the updateFilter method on the correct child fragment type
+        // Dynamically call the showSummary method on the correct child fragment type
         if (currentFragment instanceof SalesTopItemsFragment) {
-            ((SalesTopItemsFragment) currentFragment).updateFilter(startDate, endDate);
+            ((SalesTopItemsFragment) currentFragment).showSummary(currentSummary);
         } else if (currentFragment instanceof SalesCustomersFragment) {
-            ((SalesCustomersFragment) currentFragment).updateFilter(startDate, endDate);
+            ((SalesCustomersFragment) currentFragment).showSummary(currentSummary);
         } else if (currentFragment instanceof SalesOrdersFragment) {
-            ((SalesOrdersFragment) currentFragment).updateFilter(startDate, endDate);
+            ((SalesOrdersFragment) currentFragment).showSummary(currentSummary);
         }
     }
-}
\ No newline at end of file
+}
@@ -11,110 +11,171 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 public class SalesOrdersFragment extends Fragment {
 
+    private static final int PAGE_SIZE = 25;
+    // Start fetching the next page when this many loaded rows are left below the viewport
+    private static final int PREFETCH_DISTANCE = 10;
+
     private RecyclerView recyclerView;
+    private LinearLayoutManager layoutManager;
     private SimpleOrderAdapter adapter;
     private final List<Order> orderList = new ArrayList<>();
-    private FirebaseFirestore db;
+    // Customer names keyed by user id (kept out of the shared, immutable summary)
+    private final Map<String, String> customerNames = new HashMap<>();
+
+    // Pager for the range currently shown; replaced whenever a new summary arrives
+    @Nullable private OrderHistoryPager pager;
+    @Nullable private SalesSummary shownSummary;
+    // True from a page request until its rows (with customer names) are in orderList, so pages
+    // are appended one at a time and in order
+    private boolean appending;
 
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
         View view = inflater.inflate(R.layout.fragment_sales_list, container, false);
 
-        // Initialize RecyclerView and Firestore
+        // Initialize RecyclerView
         recyclerView = view.findViewById(R.id.recyclerView);
-        recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
-        adapter = new SimpleOrderAdapter(orderList);
+        layoutManager = new LinearLayoutManager(getContext());
+        recyclerView.setLayoutManager(layoutManager);
+        adapter = new SimpleOrderAdapter(customerNames);
         recyclerView.setAdapter(adapter);
-        db = FirebaseFirestore.getInstance();
+
+        // Scroll position drives paging
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                loadMoreIfNeeded();
+            }
+        });
 
         return view;
     }
 
-    // Main method called by the parent SalesFragment to apply date range filter
-    public void updateFilter(Date start, Date end) {
-        if (!isAdded() || db == null) return;
+    // Called by the parent SalesFragment with the already-aggregated range summary
+    public void showSummary(SalesSummary summary) {
+        if (!isAdded() || adapter == null) return;
+        // Same cached summary re-pushed (e.g. on tab refresh): keep the pages already loaded
+        if (summary == shownSummary) return;
+        shownSummary = summary;
+
+        // History (Completed/Cancelled orders, newest first) is paged for the summary's range
+        pager = new OrderHistoryPager(Repositories.orders(), summary.getStart(), summary.getEnd(), PAGE_SIZE);
+        orderList.clear();
+        adapter.submitList(null);
+        loadNextPage();
+    }
+
+    private void loadMoreIfNeeded() {
+        if (pager == null || !pager.hasMore() || appending) return;
+        if (layoutManager.findLastVisibleItemPosition() >= orderList.size() - PREFETCH_DISTANCE) {
+            loadNextPage();
+        }
+    }
+
+    private void loadNextPage() {
+        final OrderHistoryPager requested = pager;
+        if (requested == null) return;
+
+        appending = true;
+        requested.loadNextPage()
+                .addOnSuccessListener(page -> {
+                    // Ignore pages of a range that has since been replaced
+                    if (requested == pager) appendPage(requested, page);
+                })
+                .addOnFailureListener(e -> {
+                    if (requested != pager) return;
+                    appending = false;
+                    if (isAdded()) {
+                        Toast.makeText(getContext(), "Error loading history: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
 
-        Query query = db.collection("orders")
-                .orderBy("orderedAt", Query.Direction.DESCENDING);
+    private void appendPage(OrderHistoryPager requested, List<Order> page) {
+        if (!isAdded() || page.isEmpty()) {
+            appending = false;
+            return;
+        }
 
-        // Apply date range filter to the query
-        if (start != null) {
-            query = query.whereGreaterThanOrEqualTo("orderedAt", start)
-                    .whereLessThanOrEqualTo("orderedAt", end);
+        // Only this page's customers are looked up; names already known are not fetched again
+        Set<String> userIds = new HashSet<>();
+        for (Order order : page) {
+            String userId = order.getUserId();
+            if (userId != null && !userId.isEmpty() && !customerNames.containsKey(userId)) {
+                userIds.add(userId);
+            }
         }
 
-        query.get().addOnSuccessListener(snapshots -> {
+        CustomerProfileCache.getInstance().getAll(userIds).addOnCompleteListener(task -> {
+            if (requested != pager) return;
+            appending = false;
             if (!isAdded()) return;
 
-            List<Order> incomingOrders = new ArrayList<>();
-            List<Task<Void>> userFetchTasks = new ArrayList<>();
-
-            // Step 1: Filter to get ONLY historical (Completed/Cancelled) orders
-            for (QueryDocumentSnapshot doc : snapshots) {
-                Order order = doc.toObject(Order.class);
-                String status = order.getStatus();
-
-                // CLIENT-SIDE FILTER: Only show orders marked as completed or cancelled
-                if ("Completed".equalsIgnoreCase(status) || "Cancelled".equalsIgnoreCase(status)) {
-
-                    order.setOrderId(doc.getId());
-                    incomingOrders.add(order);
-
-                    // Initiate asynchronous fetch for customer name
-                    String userId = order.getUserId();
-                    if (userId != null && !userId.isEmpty()) {
-                        Task<Void> userTask = db.collection("users").document(userId).get()
-                                .continueWith((Task<DocumentSnapshot> task) -> {
-                                    if (task.isSuccessful() && task.getResult().exists()) {
-                                        String name = task.getResult().getString("name");
-                                        order.setCustomerNameForSearch(name);
-                                    }
-                                    return null;
-                                });
-                        userFetchTasks.add(userTask);
-                    }
+            if (task.isSuccessful()) {
+                for (Map.Entry<String, CustomerProfile> entry : task.getResult().entrySet()) {
+                    if (entry.getValue().getName() != null) customerNames.put(entry.getKey(), entry.getValue().getName());
                 }
             }
 
-            // Step 2: Wait for all customer names to be fetched before updating UI
-            Tasks.whenAll(userFetchTasks).addOnCompleteListener(task -> {
-                if (!isAdded()) return;
-
-                orderList.clear();
-                orderList.addAll(incomingOrders);
-                if (adapter != null) adapter.notifyDataSetChanged();
-            });
-
-        }).addOnFailureListener(e -> {
-            if (isAdded()) {
-                Toast.makeText(getContext(), "Error loading history: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-            }
+            orderList.addAll(page);
+            // A short first page may not fill the screen, so no scroll event would follow
+            adapter.submitList(Collections.unmodifiableList(new ArrayList<>(orderList)), this::loadMoreIfNeeded);
         });
     }
 
     // Nested Adapter for displaying historical order summaries
-    private static class SimpleOrderAdapter extends RecyclerView.Adapter<SimpleOrderAdapter.ViewHolder> {
-        final List<Order> list;
-        SimpleOrderAdapter(List<Order> l) { list = l; }
+    private static class SimpleOrderAdapter extends ListAdapter<Order, SimpleOrderAdapter.ViewHolder> {
+        // Same order = same document id; history rows only show status and total
+        static final DiffUtil.ItemCallback<Order> DIFF_CALLBACK = new DiffUtil.ItemCallback<Order>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull Order oldItem, @NonNull Order newItem) {
+                return Objects.equals(oldItem.getOrderId(), newItem.getOrderId());
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull Order oldItem, @NonNull Order newItem) {
+                return Objects.equals(oldItem.getStatus(), newItem.getStatus())
+                        && Double.compare(oldItem.getTotal(), newItem.getTotal()) == 0;
+            }
+        };
+
+        final Map<String, String> names;
+        final StableIds stableIds = new StableIds();
+
+        SimpleOrderAdapter(Map<String, String> n) {
+            super(DIFF_CALLBACK);
+            names = n;
+            setHasStableIds(true);
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return stableIds.idFor(getItem(position).getOrderId());
+        }
+
+        @Override
+        public void onCurrentListChanged(@NonNull List<Order> previousList, @NonNull List<Order> currentList) {
+            stableIds.retainOnly(currentList, Order::getOrderId);
+        }
 
         @NonNull @Override
         public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -124,39 +185,42 @@ public class SalesOrdersFragment extends Fragment {
 
         @Override
         public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-            Order item = list.get(position);
-            String id = item.getOrderId();
-
-            // Bind order details
-            holder.txtOrderId.setText("#" + (id.length() > 8 ? id.substring(0, 8) : id));
-            holder.txtTotal.setText(String.format("₱%.2f", item.getTotal()));
-            holder.txtStatus.setText(item.getStatus());
-
-            // Format and display date
-            if (item.getOrderedAt() != null) {
-                SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, hh:mm a", Locale.getDefault());
-                holder.txtDate.setText(sdf.format(item.getOrderedAt()));
-            }
+            AppTrace.begin("SalesOrdersFragment.onBindViewHolder");
+            try {
+                Order item = getItem(position);
+                String id = item.getOrderId();
+
+                // Bind order details
+                holder.txtOrderId.setText("#" + (id.length() > 8 ? id.substring(0, 8) : id));
+                holder.txtTotal.setText(String.format("₱%.2f", item.getTotal()));
+                holder.txtStatus.setText(item.getStatus());
+
+                // Format and display date
+                if (item.getOrderedAt() != null) {
+                    SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, hh:mm a", Locale.getDefault());
+                    holder.txtDate.setText(sdf.format(item.getOrderedAt()));
+                }
 
-            // Display pre-fetched customer name or a fallback
-            holder.txtCustomerName.setText(item.getCustomerNameForSearch() != null ? item.getCustomerNameForSearch() : item.getUserId() != null ? item.getUserId().substring(0, 8) + "..." : "Guest");
+                // Display pre-fetched customer name or a fallback
+                String customerName = item.getUserId() != null ? names.get(item.getUserId()) : null;
+                holder.txtCustomerName.setText(customerName != null ? customerName : item.getUserId() != null ? item.getUserId().substring(0, 8) + "..." : "Guest");
 
-            // Display a summary of the first item
-            holder.txtFirstItem.setText(getFirstItemText(item.getItems()));
+                // Display a summary of the first item
+                holder.txtFirstItem.setText(getFirstItemText(item.getItems()));
 
-            // Apply color styling to the status badge
-            applyStatusStyle(holder, item.getStatus());
+                // Apply color styling to the status badge
+                applyStatusStyle(holder, item.getStatus());
+            } finally {
+                AppTrace.end();
+            }
         }
 
         // Utility to format a string summarizing the first item and item count
-        private static String getFirstItemText(List<Map<String, Object>> items) {
+        private static String getFirstItemText(List<OrderLine> items) {
             if (items == null || items.isEmpty()) return "No Items";
-            Map<String, Object> firstItem = items.get(0);
-            long qty = 1;
-            if (firstItem.get("qty") instanceof Long) qty = (Long) firstItem.get("qty");
-            else if (firstItem.get("qty") instanceof Integer) qty = (Integer) firstItem.get("qty");
-
-            String name = (String) firstItem.get("name");
+            OrderLine firstItem = items.get(0);
+            int qty = firstItem.getQty();
+            String name = firstItem.getName();
 
             if (items.size() > 1) {
                 return String.format("%dx %s (+%d others)", qty, name, items.size() - 1);
@@ -187,8 +251,6 @@ public class SalesOrdersFragment extends Fragment {
         }
 
 
-        @Override public int getItemCount() { return list.size(); }
-
         class ViewHolder extends RecyclerView.ViewHolder {
             TextView txtOrderId, txtDate, txtTotal, txtStatus, txtCustomerName, txtFirstItem;
             ViewHolder(View v) {
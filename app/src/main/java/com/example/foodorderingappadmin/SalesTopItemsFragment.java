@@ -9,28 +9,36 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
-import com.bumptech.glide.Glide;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 public class SalesTopItemsFragment extends Fragment {
 
+    // Item keys (menu item id, or name) are unique within a summary; a row changes only when its quantity does
+    private static final DiffUtil.ItemCallback<SalesSummary.TopItem> TOP_ITEM_DIFF = new DiffUtil.ItemCallback<SalesSummary.TopItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull SalesSummary.TopItem oldItem, @NonNull SalesSummary.TopItem newItem) {
+            return Objects.equals(oldItem.key, newItem.key);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull SalesSummary.TopItem oldItem, @NonNull SalesSummary.TopItem newItem) {
+            return oldItem.count == newItem.count;
+        }
+    };
+
     private RecyclerView recyclerView;
     private TopItemsAdapter adapter;
-    private final List<TopItem> topItemList = new ArrayList<>();
-    private FirebaseFirestore db;
+    private MenuImageLoader imageLoader;
 
-    // Cache map to store item names and their corresponding image URLs
-    private final Map<String, String> itemImageMap = new HashMap<>();
+    // Shared menu, used to join rows to their current name and image by id
+    private final MenuCatalog menuCatalog = MenuCatalog.getInstance();
+    private final MenuCatalog.Listener catalogListener = this::onCatalogChanged;
 
     @Nullable
     @Override
@@ -40,86 +48,67 @@ public class SalesTopItemsFragment extends Fragment {
         // Initialize RecyclerView and Adapter
         recyclerView = view.findViewById(R.id.recyclerView);
         recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
-        adapter = new TopItemsAdapter(topItemList);
+        adapter = new TopItemsAdapter();
         recyclerView.setAdapter(adapter);
-        db = FirebaseFirestore.getInstance();
 
-        // Fetch image URLs for all menu items to use for display optimization
-        fetchItemImageMap();
+        // Thumbnails sized to the 50dp image card, fetched a few rows ahead of the scroll
+        imageLoader = new MenuImageLoader(requireContext(), 50);
+        recyclerView.addOnScrollListener(imageLoader.createPreloader(adapter::imageUrlAt));
 
         return view;
     }
 
-    // Fetches all menu item images and stores them in a local map
-    private void fetchItemImageMap() {
-        db.collection("menu_items").get().addOnSuccessListener(snapshots -> {
-            itemImageMap.clear();
-            for (QueryDocumentSnapshot doc : snapshots) {
-                String name = doc.getString("name");
-                String url = doc.getString("imageUrl");
-                if (name != null && url != null) {
-                    itemImageMap.put(name, url);
-                }
-            }
-            if (adapter != null) adapter.notifyDataSetChanged();
-        });
+    // Follows the menu only while visible: the Sales tab is paused when another tab is shown
+    @Override
+    public void onResume() {
+        super.onResume();
+        menuCatalog.addListener(catalogListener);
     }
 
-    // Main function called by the parent SalesFragment to aggregate top selling items
-    public void updateFilter(Date start, Date end) {
-        if (db == null) return;
+    @Override
+    public void onPause() {
+        super.onPause();
+        menuCatalog.removeListener(catalogListener);
+    }
 
-        Query query = db.collection("orders");
+    private void onCatalogChanged(Set<String> changedCategories) {
+        // Only the names and images shown come from the menu
+        if (adapter != null) adapter.notifyItemRangeChanged(0, adapter.getItemCount(), TopItemsAdapter.PAYLOAD_MENU);
+    }
 
-        // Apply date range filters
-        if (start != null) {
-            query = query.whereGreaterThanOrEqualTo("orderedAt", start)
-                    .whereLessThanOrEqualTo("orderedAt", end);
-        }
+    // Called by the parent SalesFragment with the already-aggregated range summary
+    public void showSummary(SalesSummary summary) {
+        if (adapter == null) return;
 
-        query.get().addOnSuccessListener(snapshots -> {
-            Map<String, Integer> counts = new HashMap<>();
-
-            // Aggregate item quantities across all filtered orders
-            for (QueryDocumentSnapshot doc : snapshots) {
-                Order order = doc.toObject(Order.class);
-                if (order.getItems() != null) {
-                    for (Map<String, Object> item : order.getItems()) {
-                        String name = (String) item.get("name");
-                        long qty = 1;
-                        if (item.get("qty") instanceof Long) qty = (Long) item.get("qty");
-                        else if (item.get("qty") instanceof Integer) qty = (Integer) item.get("qty");
-
-                        // Sum quantities for the item name
-                        counts.put(name, counts.getOrDefault(name, 0) + (int)qty);
-                    }
-                }
-            }
+        // Items arrive pre-sorted by quantity sold (descending); the summary's list is immutable
+        AppTrace.count("SalesTopItemsFragment.items", summary.getTopItems().size());
+        adapter.submitList(summary.getTopItems(), () -> {
+            // Ranks are positional, so rows that only moved still need their rank refreshed
+            if (adapter != null) adapter.notifyItemRangeChanged(0, adapter.getItemCount(), TopItemsAdapter.PAYLOAD_RANK);
+        });
+    }
 
-            // Convert map results into the list model
-            topItemList.clear();
-            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
-                topItemList.add(new TopItem(entry.getKey(), entry.getValue()));
-            }
+    // RecyclerView Adapter for displaying top items
+    private class TopItemsAdapter extends ListAdapter<SalesSummary.TopItem, TopItemsAdapter.ViewHolder> {
+        static final String PAYLOAD_RANK = "rank";
+        static final String PAYLOAD_MENU = "menu";
 
-            // Sort items by count (quantity sold) in descending order
-            Collections.sort(topItemList, (a, b) -> b.count - a.count);
+        final StableIds stableIds = new StableIds();
 
-            if (adapter != null) adapter.notifyDataSetChanged();
-        });
-    }
+        TopItemsAdapter() {
+            super(TOP_ITEM_DIFF);
+            setHasStableIds(true);
+        }
 
-    // Data structure to hold item name and its total quantity sold
-    static class TopItem {
-        String name;
-        int count;
-        TopItem(String n, int c) { name = n; count = c; }
-    }
+        @Override
+        public long getItemId(int position) {
+            return stableIds.idFor(getItem(position).key);
+        }
 
-    // RecyclerView Adapter for displaying top items
-    private class TopItemsAdapter extends RecyclerView.Adapter<TopItemsAdapter.ViewHolder> {
-        final List<TopItem> list;
-        TopItemsAdapter(List<TopItem> l) { list = l; }
+        @Override
+        public void onCurrentListChanged(@NonNull List<SalesSummary.TopItem> previousList, @NonNull List<SalesSummary.TopItem> currentList) {
+            stableIds.retainOnly(currentList, item -> item.key);
+        }
 
         @NonNull @Override
         public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -127,28 +116,52 @@ public class SalesTopItemsFragment extends Fragment {
             return new ViewHolder(v);
         }
 
+        @Override
+        public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+            if (payloads.isEmpty()) {
+                super.onBindViewHolder(holder, position, payloads);
+                return;
+            }
+            // Partial rebinds: only touch the part that changed
+            AppTrace.begin("SalesTopItemsFragment.onBindViewHolder.payload");
+            try {
+                if (payloads.contains(PAYLOAD_RANK)) holder.txtRank.setText("#" + (position + 1));
+                if (payloads.contains(PAYLOAD_MENU)) bindMenuInfo(holder, getItem(position));
+            } finally {
+                AppTrace.end();
+            }
+        }
+
         @Override
         public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-            TopItem item = list.get(position);
-
-            // Bind rank, name, and quantity sold
-            holder.txtRank.setText("#" + (position + 1));
-            holder.txtItemName.setText(item.name);
-            holder.txtQuantity.setText(String.valueOf(item.count));
-
-            // Load Image using the pre-fetched cache map
-            String imageUrl = itemImageMap.get(item.name);
-            if (imageUrl != null && !imageUrl.isEmpty()) {
-                Glide.with(getContext())
-                        .load(imageUrl)
-                        .placeholder(R.drawable.ic_food_placeholder)
-                        .into(holder.itemImage);
-            } else {
-                holder.itemImage.setImageResource(R.drawable.ic_food_placeholder);
+            AppTrace.begin("SalesTopItemsFragment.onBindViewHolder");
+            try {
+                SalesSummary.TopItem item = getItem(position);
+
+                // Bind rank, quantity sold, then name and image from the menu
+                holder.txtRank.setText("#" + (position + 1));
+                holder.txtQuantity.setText(String.valueOf(item.count));
+                bindMenuInfo(holder, item);
+            } finally {
+                AppTrace.end();
             }
         }
 
-        @Override public int getItemCount() { return list.size(); }
+        // Used by the preloader, which may ask for positions just past a shrinking list
+        @Nullable
+        String imageUrlAt(int position) {
+            if (position >= getItemCount()) return null;
+            SalesSummary.TopItem item = getItem(position);
+            return MenuImageLoader.listImageUrl(menuCatalog.resolve(item.menuItemId, item.name));
+        }
+
+        private void bindMenuInfo(ViewHolder holder, SalesSummary.TopItem item) {
+            // Joined by id, so a renamed item shows its current name; the name recorded on the orders is the fallback
+            MenuItem menuItem = menuCatalog.resolve(item.menuItemId, item.name);
+            holder.txtItemName.setText(menuItem != null && menuItem.getName() != null ? menuItem.getName() : item.name);
+
+            imageLoader.load(holder.itemImage, MenuImageLoader.listImageUrl(menuItem));
+        }
 
         class ViewHolder extends RecyclerView.ViewHolder {
             TextView txtRank, txtItemName, txtQuantity;
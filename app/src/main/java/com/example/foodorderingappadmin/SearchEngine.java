@@ -0,0 +1,88 @@
+package com.example.foodorderingappadmin;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Reusable substring search over a list of records.
+// - Index: see SearchIndex; records are normalized once when indexed, not on every keystroke.
+// - Debounce: typing schedules the query; only the last one within the delay runs.
+// - Background evaluation: queries run on the given executor. Submitting a new query cancels
+//   the previous one, which stops early and never publishes.
+// Results are delivered on the main thread.
+// Each query that runs is an async trace slice named 'traceName' (see AppTrace), from the end of
+// its debounce until it publishes or is dropped, with the evaluation as a nested section.
+public class SearchEngine<T> extends SearchIndex<T> {
+
+    // Runs off the main thread; should poll 'cancelled' and return null once it is true
+    public interface Evaluation<R> {
+        @Nullable
+        R evaluate(String normalizedQuery, BooleanSupplier cancelled);
+    }
+
+    private final Executor executor;
+    private final String traceName;
+    private final String evaluateSection;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final AtomicInteger generation = new AtomicInteger();
+    @Nullable
+    private Runnable pendingQuery;
+
+    public SearchEngine(Function<T, String> keyOf, Function<T, String[]> fieldsOf, Executor executor, String traceName) {
+        super(keyOf, fieldsOf);
+        this.executor = executor;
+        this.traceName = traceName;
+        this.evaluateSection = traceName + ".evaluate";
+    }
+
+    // --- Query Execution ---
+
+    // Schedules a query after 'delayMs', replacing (and cancelling) any earlier one.
+    // Must be called on the main thread.
+    public <R> void submit(String rawQuery, long delayMs, Evaluation<R> evaluation, Consumer<R> publish) {
+        final int queryGeneration = generation.incrementAndGet();
+        final String normalizedQuery = normalize(rawQuery);
+        final BooleanSupplier cancelled = () -> generation.get() != queryGeneration;
+
+        if (pendingQuery != null) mainHandler.removeCallbacks(pendingQuery);
+        pendingQuery = () -> {
+            pendingQuery = null;
+            AppTrace.beginAsync(traceName, queryGeneration);
+            executor.execute(() -> {
+                R result;
+                AppTrace.begin(evaluateSection);
+                try {
+                    result = evaluation.evaluate(normalizedQuery, cancelled);
+                } finally {
+                    AppTrace.end();
+                }
+                if (result == null || cancelled.getAsBoolean()) {
+                    AppTrace.endAsync(traceName, queryGeneration);
+                    return;
+                }
+                mainHandler.post(() -> {
+                    if (!cancelled.getAsBoolean()) publish.accept(result);
+                    AppTrace.endAsync(traceName, queryGeneration);
+                });
+            });
+        };
+        mainHandler.postDelayed(pendingQuery, delayMs);
+    }
+
+    // Drops the pending query and prevents any running one from publishing
+    public void cancel() {
+        generation.incrementAndGet();
+        if (pendingQuery != null) {
+            mainHandler.removeCallbacks(pendingQuery);
+            pendingQuery = null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Gives each string key (document id, item name, user id) its own RecyclerView stable id.
+// Ids are handed out sequentially, so unlike hashCode() two keys can never collide.
+// Adapters prune the map to their current list (ListAdapter.onCurrentListChanged), so it never
+// outgrows the list being shown; a key that comes back later simply gets a fresh id.
+final class StableIds {
+
+    private final Map<String, Long> ids = new HashMap<>();
+    private long nextId;
+
+    long idFor(@Nullable String key) {
+        if (key == null) return RecyclerView.NO_ID;
+        Long id = ids.get(key);
+        if (id == null) {
+            id = nextId++;
+            ids.put(key, id);
+        }
+        return id;
+    }
+
+    // Forgets the ids of keys that are no longer in the list. Called once the list is committed,
+    // so rows of the previous list still had their ids while it was displayed.
+    <T> void retainOnly(List<T> items, Function<T, String> keyOf) {
+        if (ids.isEmpty()) return;
+        Set<String> keys = new HashSet<>();
+        for (T item : items) keys.add(keyOf.apply(item));
+        ids.keySet().retainAll(keys);
+    }
+}
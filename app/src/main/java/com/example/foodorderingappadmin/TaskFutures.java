@@ -0,0 +1,49 @@
+package com.example.foodorderingappadmin;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+// Bridges between the repositories' CompletableFutures and Play services Tasks.
+final class TaskFutures {
+
+    private TaskFutures() {}
+
+    // Completes on the thread that completes the task (no hop to the main thread)
+    static <T> CompletableFuture<T> toFuture(Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        task.addOnCompleteListener(Runnable::run, done -> {
+            if (done.isSuccessful()) {
+                future.complete(done.getResult());
+            } else if (done.isCanceled()) {
+                future.cancel(false);
+            } else {
+                future.completeExceptionally(done.getException());
+            }
+        });
+        return future;
+    }
+
+    // Listeners added without an executor run on the main thread, as for any Firebase task
+    static <T> Task<T> toTask(CompletableFuture<T> future) {
+        TaskCompletionSource<T> source = new TaskCompletionSource<>();
+        future.whenComplete((result, error) -> {
+            if (error == null) {
+                source.setResult(result);
+            } else {
+                source.setException(unwrap(error));
+            }
+        });
+        return source.getTask();
+    }
+
+    private static Exception unwrap(Throwable error) {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof Exception ? (Exception) error : new ExecutionException(error);
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.foodorderingappadmin;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Last-known dashboard state, persisted so a cold start can draw real content in its first frame.
+// Holds the active orders (with their customers), the menu, the All Time headline metrics and the
+// admin-role decision. Screens render from it while their live listeners catch up, and report
+// fresh data back through the save*() methods.
+// - File: one compact binary record (big-endian, length-prefixed UTF-8), rewritten atomically
+//   on a background thread at most once per WRITE_DELAY_MS
+// - Read: memory-mapped and decoded once per process on first use (a few ms for a typical day)
+// - A file from another format version, or one that fails to decode, is dropped and ignored
+// Main thread only, apart from the internal writer.
+public class WarmStartCache {
+
+    private static final String TAG = "WarmStartCache";
+    private static final String FILE_NAME = "warm_start.bin";
+    // "BBWS"
+    private static final int MAGIC = 0x42425753;
+    private static final int FORMAT_VERSION = 1;
+    private static final long WRITE_DELAY_MS = 2000;
+    // A cached admin decision skips the blocking 'admins/{uid}' read for this long
+    static final long ADMIN_ROLE_TTL_MS = 24 * 60 * 60 * 1000L;
+
+    private static WarmStartCache instance;
+
+    private final File file;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+    private final Runnable writeRunnable = this::writeNow;
+
+    @Nullable
+    private Snapshot current;
+    private boolean writeScheduled;
+    // --- Counters ---
+    private long loadTimeMs = -1;
+    private long lastWriteBytes;
+
+    private WarmStartCache(Context context) {
+        this.file = new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+    }
+
+    public static synchronized WarmStartCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new WarmStartCache(context);
+        }
+        return instance;
+    }
+
+    // The persisted state, read from disk on the first call; empty when nothing was saved yet
+    public Snapshot getSnapshot() {
+        if (current == null) {
+            long startedAt = SystemClock.elapsedRealtime();
+            current = read(file);
+            loadTimeMs = SystemClock.elapsedRealtime() - startedAt;
+            Log.d(TAG, "Loaded " + current.orders.size() + " orders, " + current.menu.size()
+                    + " menu items in " + loadTimeMs + " ms");
+        }
+        return current;
+    }
+
+    // True when 'uid' was confirmed as an admin less than ADMIN_ROLE_TTL_MS ago
+    public boolean isKnownAdmin(String uid) {
+        Snapshot snapshot = getSnapshot();
+        return uid.equals(snapshot.adminUid)
+                && System.currentTimeMillis() - snapshot.adminCheckedAt < ADMIN_ROLE_TTL_MS;
+    }
+
+    // --- Updates (each schedules a background write) ---
+
+    public void saveOrders(Collection<Order> orders, Collection<CustomerProfile> customers) {
+        Snapshot s = getSnapshot();
+        update(new Snapshot(new ArrayList<>(orders), new ArrayList<>(customers), s.menu, s.metrics, s.adminUid, s.adminCheckedAt));
+    }
+
+    public void saveMenu(Collection<MenuItem> menu) {
+        Snapshot s = getSnapshot();
+        update(new Snapshot(s.orders, s.customers, new ArrayList<>(menu), s.metrics, s.adminUid, s.adminCheckedAt));
+    }
+
+    public void saveMetrics(HeadlineMetrics metrics) {
+        Snapshot s = getSnapshot();
+        update(new Snapshot(s.orders, s.customers, s.menu, metrics, s.adminUid, s.adminCheckedAt));
+    }
+
+    public void saveAdminRole(String uid) {
+        Snapshot s = getSnapshot();
+        update(new Snapshot(s.orders, s.customers, s.menu, s.metrics, uid, System.currentTimeMillis()));
+    }
+
+    // Forgets everything, e.g. on logout or when the admin role was revoked
+    public void clear() {
+        current = Snapshot.EMPTY;
+        mainHandler.removeCallbacks(writeRunnable);
+        writeScheduled = false;
+        writeExecutor.execute(() -> {
+            if (file.exists() && !file.delete()) Log.w(TAG, "Could not delete " + file);
+        });
+    }
+
+    // Drops the decoded state so the next getSnapshot() maps the file again (startup benchmark)
+    void forgetLoadedSnapshot() {
+        current = null;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    public long getLoadTimeMs() { return loadTimeMs; }
+    public synchronized long getLastWriteBytes() { return lastWriteBytes; }
+
+    private void update(Snapshot snapshot) {
+        current = snapshot;
+        if (writeScheduled) return;
+        writeScheduled = true;
+        mainHandler.postDelayed(writeRunnable, WRITE_DELAY_MS);
+    }
+
+    private void writeNow() {
+        writeScheduled = false;
+        final Snapshot snapshot = current;
+        if (snapshot == null) return;
+        writeExecutor.execute(() -> {
+            try {
+                long bytes = write(file, snapshot);
+                synchronized (this) {
+                    lastWriteBytes = bytes;
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Could not save warm-start snapshot", e);
+            }
+        });
+    }
+
+    // --- Writing ---
+
+    // Returns the number of bytes written
+    static long write(File file, Snapshot snapshot) throws IOException {
+        long size;
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+
+            out.writeInt(snapshot.orders.size());
+            for (Order order : snapshot.orders) writeOrder(out, order);
+
+            out.writeInt(snapshot.customers.size());
+            for (CustomerProfile profile : snapshot.customers) {
+                writeString(out, profile.getUserId());
+                writeString(out, profile.getName());
+                writeString(out, profile.getAddress());
+                writeString(out, profile.getPhoneNumber());
+                out.writeBoolean(profile.exists());
+            }
+
+            out.writeInt(snapshot.menu.size());
+            for (MenuItem item : snapshot.menu) writeMenuItem(out, item);
+
+            out.writeBoolean(snapshot.metrics != null);
+            if (snapshot.metrics != null) {
+                out.writeDouble(snapshot.metrics.getRevenue());
+                out.writeLong(snapshot.metrics.getOrderCount());
+                out.writeLong(snapshot.metrics.getItemsSold());
+                out.writeInt(snapshot.metrics.getUniqueCustomers());
+            }
+
+            writeString(out, snapshot.adminUid);
+            out.writeLong(snapshot.adminCheckedAt);
+
+            out.flush();
+            fileOut.getFD().sync();
+            size = out.size();
+        }
+        // A reader sees the old file or the new one, never a partial write
+        if (!temp.renameTo(file)) throw new IOException("Cannot replace " + file);
+        return size;
+    }
+
+    private static void writeOrder(DataOutputStream out, Order order) throws IOException {
+        writeString(out, order.getOrderId());
+        writeString(out, order.getUserId());
+        writeString(out, order.getStatus());
+        out.writeDouble(order.getTotal());
+        out.writeLong(order.getOrderedAt() != null ? order.getOrderedAt().getTime() : Long.MIN_VALUE);
+        writeString(out, order.getNote());
+        writeString(out, order.getPaymentMethod());
+        writeString(out, order.getCustomerNameForSearch());
+        List<OrderLine> lines = order.getItems() != null ? order.getItems() : Collections.emptyList();
+        out.writeInt(lines.size());
+        for (OrderLine line : lines) {
+            writeString(out, line.getName());
+            writeString(out, line.getMenuItemId());
+            out.writeInt(line.getQty());
+            out.writeDouble(line.getUnitPrice());
+        }
+    }
+
+    private static void writeMenuItem(DataOutputStream out, MenuItem item) throws IOException {
+        writeString(out, item.getId());
+        writeString(out, item.getName());
+        writeString(out, item.getDescription());
+        out.writeDouble(item.getPrice());
+        writeString(out, item.getCategory());
+        writeString(out, item.getImageUrl());
+        writeString(out, item.getThumbnailUrl());
+        out.writeBoolean(item.isAvailable());
+    }
+
+    // Byte length (-1 for null) followed by UTF-8; writeUTF() would cap notes at 64 KB
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // --- Reading ---
+
+    static Snapshot read(File file) {
+        if (!file.isFile()) return Snapshot.EMPTY;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+                Log.i(TAG, "Ignoring warm-start snapshot from another format version");
+                return Snapshot.EMPTY;
+            }
+
+            int orderCount = count(in);
+            List<Order> orders = new ArrayList<>(orderCount);
+            for (int i = 0; i < orderCount; i++) orders.add(readOrder(in));
+
+            int customerCount = count(in);
+            List<CustomerProfile> customers = new ArrayList<>(customerCount);
+            for (int i = 0; i < customerCount; i++) {
+                customers.add(new CustomerProfile(readString(in), readString(in), readString(in), readString(in), in.get() != 0));
+            }
+
+            int menuCount = count(in);
+            List<MenuItem> menu = new ArrayList<>(menuCount);
+            for (int i = 0; i < menuCount; i++) menu.add(readMenuItem(in));
+
+            HeadlineMetrics metrics = null;
+            if (in.get() != 0) metrics = new HeadlineMetrics(in.getDouble(), in.getLong(), in.getLong(), in.getInt());
+
+            String adminUid = readString(in);
+            long adminCheckedAt = in.getLong();
+            return new Snapshot(orders, customers, menu, metrics, adminUid, adminCheckedAt);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            Log.w(TAG, "Discarding unreadable warm-start snapshot", e);
+            file.delete();
+            return Snapshot.EMPTY;
+        }
+    }
+
+    private static Order readOrder(ByteBuffer in) {
+        Order order = new Order();
+        order.setOrderId(readString(in));
+        order.setUserId(readString(in));
+        order.setStatus(readString(in));
+        order.setTotal(in.getDouble());
+        long orderedAt = in.getLong();
+        order.setOrderedAt(orderedAt != Long.MIN_VALUE ? new Date(orderedAt) : null);
+        order.setNote(readString(in));
+        order.setPaymentMethod(readString(in));
+        order.setCustomerNameForSearch(readString(in));
+        int lineCount = count(in);
+        List<OrderLine> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new OrderLine(readString(in), readString(in), in.getInt(), in.getDouble()));
+        }
+        order.setItems(lines);
+        return order;
+    }
+
+    private static MenuItem readMenuItem(ByteBuffer in) {
+        MenuItem item = new MenuItem();
+        item.setId(readString(in));
+        item.setName(readString(in));
+        item.setDescription(readString(in));
+        item.setPrice(in.getDouble());
+        item.setCategory(readString(in));
+        item.setImageUrl(readString(in));
+        item.setThumbnailUrl(readString(in));
+        item.setAvailable(in.get() != 0);
+        return item;
+    }
+
+    @Nullable
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        if (length > in.remaining()) throw new IllegalArgumentException("Bad string length " + length);
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Element count, checked so a corrupt file cannot trigger a huge allocation
+    private static int count(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining()) throw new IllegalArgumentException("Bad count " + count);
+        return count;
+    }
+
+    // Customers of the given orders as currently cached (orders without a cached profile are left out)
+    static List<CustomerProfile> customersOf(Collection<Order> orders) {
+        CustomerProfileCache cache = CustomerProfileCache.getInstance();
+        Map<String, CustomerProfile> profiles = new LinkedHashMap<>();
+        for (Order order : orders) {
+            String userId = order.getUserId();
+            if (userId == null || userId.isEmpty() || profiles.containsKey(userId)) continue;
+            CustomerProfile profile = cache.peek(userId);
+            if (profile != null && profile.exists()) profiles.put(userId, profile);
+        }
+        return new ArrayList<>(profiles.values());
+    }
+
+    // Immutable view of one persisted state
+    public static class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyList(), Collections.emptyList(),
+                Collections.emptyList(), null, null, 0);
+
+        // Active orders, newest first, with their resolved customer names
+        public final List<Order> orders;
+        // Profiles of the active orders' customers
+        public final List<CustomerProfile> customers;
+        public final List<MenuItem> menu;
+        // All Time headline metrics
+        @Nullable
+        public final HeadlineMetrics metrics;
+        @Nullable
+        final String adminUid;
+        // Wall-clock time of the last successful admin check
+        final long adminCheckedAt;
+
+        Snapshot(List<Order> orders, List<CustomerProfile> customers, List<MenuItem> menu,
+                 @Nullable HeadlineMetrics metrics, @Nullable String adminUid, long adminCheckedAt) {
+            this.orders = Collections.unmodifiableList(orders);
+            this.customers = Collections.unmodifiableList(customers);
+            this.menu = Collections.unmodifiableList(menu);
+            this.metrics = metrics;
+            this.adminUid = adminUid;
+            this.adminCheckedAt = adminCheckedAt;
+        }
+
+        public boolean isEmpty() {
+            return orders.isEmpty() && menu.isEmpty() && metrics == null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.foodorderingappadmin;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Parses CSV and JSON menu files row by row, including the malformed rows an import has to
+ * report and skip. Robolectric provides android.util.JsonReader.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MenuFileFormatTest {
+
+    @Test
+    public void csvQuotedCellsLineBreaksAndBlankLines() throws Exception {
+        MenuFileFormat.RowReader reader = csv(
+                "id,name,description,price,category,available\r\n" +
+                "m1,\"Adobo, Chicken\",\"Say \"\"hi\"\"\nsecond line\",120.5,Rice Meals,yes\r\n" +
+                "\r\n" +
+                ",Pancit,,80,Noodles,0\r\n");
+
+        MenuFileFormat.Row first = reader.next();
+        assertEquals(2, first.line);
+        assertEquals("m1", first.item.getId());
+        assertEquals("Adobo, Chicken", first.item.getName());
+        assertEquals("Say \"hi\"\nsecond line", first.item.getDescription());
+        assertEquals(120.5, first.item.getPrice(), 0);
+        assertTrue(first.item.isAvailable());
+        assertEquals(EnumSet.of(MenuItemMapper.Field.NAME, MenuItemMapper.Field.DESCRIPTION, MenuItemMapper.Field.PRICE,
+                MenuItemMapper.Field.CATEGORY, MenuItemMapper.Field.AVAILABLE), first.fields);
+
+        // The quoted line break and the blank line both count as file lines
+        MenuFileFormat.Row second = reader.next();
+        assertEquals(5, second.line);
+        assertNull(second.item.getId());
+        assertEquals("", second.item.getDescription());
+        assertFalse(second.item.isAvailable());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void csvHeaderMayStartWithByteOrderMarkAndNameSomeColumns() throws Exception {
+        MenuFileFormat.RowReader reader = csv("\uFEFFID,Price,unknown\nm1,99,ignored\n");
+
+        MenuFileFormat.Row row = reader.next();
+        assertEquals("m1", row.item.getId());
+        assertEquals(99, row.item.getPrice(), 0);
+        assertEquals(EnumSet.of(MenuItemMapper.Field.PRICE), row.fields);
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void csvInvalidValuesFailOnlyTheirRow() throws Exception {
+        MenuFileFormat.RowReader reader = csv("name,price,available\nA,abc,true\nB,10,maybe\nC,12,no\n");
+
+        assertRowError(reader, 2, "invalid price 'abc'");
+        assertRowError(reader, 3, "invalid availability 'maybe'");
+        assertEquals("C", reader.next().item.getName());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void csvWithoutHeaderIsRejected() throws Exception {
+        assertRowError(csv(""), 1, "missing header row");
+    }
+
+    @Test
+    public void csvWriterOutputReadsBack() throws Exception {
+        MenuItem item = new MenuItem("Adobo, \"Special\"", "Two\nlines", 150, "Rice Meals", "", false);
+        item.setId("m1");
+        StringWriter out = new StringWriter();
+        try (MenuFileFormat.RowWriter writer = MenuFileFormat.CSV.openWriter(out)) {
+            writer.write(item);
+        }
+
+        MenuFileFormat.Row row = csv(out.toString()).next();
+        assertEquals("m1", row.item.getId());
+        assertEquals(item.getName(), row.item.getName());
+        assertEquals(item.getDescription(), row.item.getDescription());
+        assertEquals(150, row.item.getPrice(), 0);
+        assertFalse(row.item.isAvailable());
+        assertEquals(EnumSet.allOf(MenuItemMapper.Field.class), row.fields);
+    }
+
+    @Test
+    public void jsonObjectPerRow() throws Exception {
+        MenuFileFormat.RowReader reader = MenuFileFormat.JSON.openReader(new StringReader("[" +
+                "{\"id\": \"m1\", \"name\": \"Adobo\", \"price\": 120, \"available\": false, \"extra\": {\"a\": [1]}}," +
+                "{\"name\": \"Pancit\", \"price\": {\"amount\": 5}, \"category\": \"Noodles\"}," +
+                "5," +
+                "{\"name\": \"Sisig\", \"price\": \"90\", \"category\": null}" +
+                "]"));
+
+        MenuFileFormat.Row first = reader.next();
+        assertEquals(1, first.line);
+        assertEquals("m1", first.item.getId());
+        assertEquals(120, first.item.getPrice(), 0);
+        assertFalse(first.item.isAvailable());
+        assertEquals(EnumSet.of(MenuItemMapper.Field.NAME, MenuItemMapper.Field.PRICE, MenuItemMapper.Field.AVAILABLE), first.fields);
+
+        assertRowError(reader, 2, "'price' must be a single value");
+        assertRowError(reader, 3, "expected an object");
+
+        // Nulls count as absent
+        MenuFileFormat.Row last = reader.next();
+        assertEquals(4, last.line);
+        assertEquals(90, last.item.getPrice(), 0);
+        assertEquals(EnumSet.of(MenuItemMapper.Field.NAME, MenuItemMapper.Field.PRICE), last.fields);
+
+        assertNull(reader.next());
+    }
+
+    // --- Helpers ---
+
+    private static MenuFileFormat.RowReader csv(String content) {
+        return MenuFileFormat.CSV.openReader(new StringReader(content));
+    }
+
+    private static void assertRowError(MenuFileFormat.RowReader reader, int line, String message) throws IOException {
+        try {
+            reader.next();
+            fail("Expected an error on line " + line);
+        } catch (MenuFileFormat.RowException e) {
+            assertEquals(line, e.line);
+            assertEquals("Line " + line + ": " + message, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.foodorderingappadmin;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Imports CSV files into InMemoryMenuRepository and checks which writes each row produced and
+ * how they were batched.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MenuImporterTest {
+
+    private RecordingMenuRepository repository;
+
+    @Before
+    public void setUp() {
+        repository = new RecordingMenuRepository();
+        repository.putAll(Arrays.asList(
+                item("m1", "Adobo", 120, "Rice Meals", "adobo.jpg", "adobo_thumb.jpg"),
+                item("m2", "Pancit", 80, "Noodles", "", ""),
+                item("m3", "Sisig", 150, "Rice Meals", "", "")));
+    }
+
+    @Test
+    public void rowsAreDiffedAgainstTheCurrentMenu() throws Exception {
+        MenuImporter.Result result = importCsv(
+                "id,name,price,category,imageUrl\n" +
+                "m1,Adobo,130,Rice Meals,adobo2.jpg\n" +  // price and image changed
+                ",Pancit,80,Noodles,\n" +                 // matched by name, nothing changed
+                "m9,Ghost,10,Snacks,\n" +                 // unknown id
+                ",Lumpia,45,,\n" +                        // new item without a category
+                ",Lumpia,45,Snacks,\n" +                  // new item
+                "m1,Adobo,140,Rice Meals,adobo2.jpg\n" +  // m1 again
+                ", lumpia,50,Snacks,\n");                 // the new item again
+
+        assertEquals(7, result.rowsRead);
+        assertEquals(1, result.updated);
+        assertEquals(1, result.unchanged);
+        assertEquals(1, result.added);
+        assertEquals(4, result.errorCount);
+        assertEquals(Arrays.asList(
+                "Line 4: no menu item with id 'm9'",
+                "Line 5: new item needs a category",
+                "Line 7: duplicate row for 'Adobo'",
+                "Line 8: duplicate row for 'Lumpia'"), result.getErrors());
+        assertEquals(2, result.writesCommitted);
+
+        // One batch: only the changed fields of m1 (its old thumbnail is cleared), then Lumpia
+        assertEquals(1, repository.batches.size());
+        List<MenuRepository.Write> writes = repository.batches.get(0);
+        Map<String, Object> m1Changes = new HashMap<>();
+        m1Changes.put("price", 130.0);
+        m1Changes.put("imageUrl", "adobo2.jpg");
+        m1Changes.put("thumbnailUrl", "");
+        assertEquals(m1Changes, writes.get(0).fields);
+        assertTrue(writes.get(1).create);
+
+        MenuItem lumpia = stored(writes.get(1).id);
+        assertEquals("Lumpia", lumpia.getName());
+        assertEquals(45, lumpia.getPrice(), 0);
+        // Same default as the Add Item dialog
+        assertTrue(lumpia.isAvailable());
+        assertEquals("Adobo", stored("m1").getName());
+        assertEquals(4, repository.size());
+    }
+
+    @Test
+    public void largeImportsCommitInBatchesOfFiveHundred() throws Exception {
+        StringBuilder csv = new StringBuilder("name,price,category\n");
+        for (int i = 0; i < 1203; i++) csv.append("Item ").append(i).append(",10,Snacks\n");
+        List<int[]> progress = new ArrayList<>();
+
+        MenuImporter.Result result = new MenuImporter(repository, currentMenu()).run(
+                MenuFileFormat.CSV.openReader(new StringReader(csv.toString())),
+                (rowsRead, writesCommitted) -> progress.add(new int[]{rowsRead, writesCommitted}));
+
+        assertEquals(1203, result.added);
+        assertEquals(1203, result.writesCommitted);
+        assertEquals(0, result.writesFailed);
+        List<Integer> sizes = new ArrayList<>();
+        for (List<MenuRepository.Write> batch : repository.batches) sizes.add(batch.size());
+        assertEquals(Arrays.asList(500, 500, 203), sizes);
+        assertEquals(3 + 1203, repository.size());
+
+        assertEquals(3, progress.size());
+        assertEquals(1203, progress.get(2)[0]);
+        assertEquals(1203, progress.get(2)[1]);
+    }
+
+    // --- Helpers ---
+
+    private MenuImporter.Result importCsv(String csv) throws Exception {
+        return new MenuImporter(repository, currentMenu())
+                .run(MenuFileFormat.CSV.openReader(new StringReader(csv)), null);
+    }
+
+    private List<MenuItem> currentMenu() {
+        return repository.loadPage(null, 1000).join().items;
+    }
+
+    private MenuItem stored(String id) {
+        for (MenuItem item : currentMenu()) {
+            if (item.getId().equals(id)) return item;
+        }
+        throw new AssertionError("No stored item " + id);
+    }
+
+    private static MenuItem item(String id, String name, double price, String category, String imageUrl, String thumbnailUrl) {
+        MenuItem item = new MenuItem(name, "", price, category, imageUrl, true);
+        item.setId(id);
+        item.setThumbnailUrl(thumbnailUrl);
+        return item;
+    }
+
+    // Remembers the writes of every commit, in commit order
+    private static class RecordingMenuRepository extends InMemoryMenuRepository {
+        final List<List<MenuRepository.Write>> batches = new ArrayList<>();
+
+        @Override
+        public synchronized CompletableFuture<Void> commit(List<Write> writes) {
+            batches.add(new ArrayList<>(writes));
+            return super.commit(writes);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.foodorderingappadmin;
+
+import android.os.Looper;
+
+import com.google.android.gms.tasks.Task;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Runs status changes through OrderStatusPipeline into InMemoryOrderRepository. Commit results
+ * and the coalescing window are delivered on the main looper, which Robolectric only advances
+ * when the test idles it.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class OrderStatusPipelineTest {
+
+    private static final Duration FLUSH_DELAY = Duration.ofMillis(300);
+
+    private FlakyOrderRepository repository;
+    private OrderStatusPipeline pipeline;
+    private OrderStore store;
+    private final List<String> rolledBack = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        repository = new FlakyOrderRepository();
+        repository.putAll(Arrays.asList(order("o1"), order("o2")));
+        pipeline = new OrderStatusPipeline(repository);
+        store = new OrderStore();
+        store.upsert(order("o1"));
+        store.upsert(order("o2"));
+        store.upsert(order("ghost"));
+        pipeline.attach(store, (orderId, restoredStatus, error) -> rolledBack.add(orderId + "=" + restoredStatus));
+    }
+
+    @Test
+    public void changesWithinTheWindowCoalesceIntoOneWrite() {
+        assertTrue(pipeline.submit(order("o1"), OrderStatus.BEING_MADE));
+        assertTrue(pipeline.submit(order("o1"), OrderStatus.BEING_DELIVERED));
+        assertFalse(pipeline.submit(order("o1"), OrderStatus.PENDING));
+        assertEquals(OrderStatus.BEING_DELIVERED, store.get("o1").getStatus());
+
+        idle(FLUSH_DELAY);
+
+        assertEquals(1, repository.commits.size());
+        assertEquals(Collections.singletonMap("o1", OrderStatus.BEING_DELIVERED), repository.commits.get(0));
+        assertEquals(OrderStatus.BEING_DELIVERED, repository.get("o1").getStatus());
+        assertEquals(0, pipeline.getQueueDepth());
+        assertEquals(1, pipeline.getCommittedCount());
+    }
+
+    @Test
+    public void nonRetryableFailureRollsTheOrderBack() {
+        assertTrue(pipeline.submit(order("ghost"), OrderStatus.BEING_MADE));
+        assertEquals(OrderStatus.BEING_MADE, store.get("ghost").getStatus());
+
+        idle(FLUSH_DELAY);
+
+        assertEquals(OrderStatus.PENDING, store.get("ghost").getStatus());
+        assertEquals(Collections.singletonList("ghost=" + OrderStatus.PENDING), rolledBack);
+        assertEquals(1, pipeline.getRollbackCount());
+        assertEquals(0, pipeline.getRetryCount());
+        assertEquals(0, pipeline.getQueueDepth());
+    }
+
+    @Test
+    public void retryableFailureIsResentAfterBackoff() {
+        repository.failuresLeft = 1;
+        pipeline.submit(order("o1"), OrderStatus.BEING_MADE);
+
+        idle(FLUSH_DELAY);
+        assertEquals(1, pipeline.getRetryCount());
+        assertEquals(1, pipeline.getQueueDepth());
+        assertEquals(OrderStatus.PENDING, repository.get("o1").getStatus());
+
+        idle(Duration.ofSeconds(1));
+        assertEquals(OrderStatus.BEING_MADE, repository.get("o1").getStatus());
+        assertEquals(0, pipeline.getQueueDepth());
+        assertTrue(rolledBack.isEmpty());
+    }
+
+    @Test
+    public void bulkFailureOnlyRollsBackTheBadOrder() {
+        Task<OrderStatusPipeline.BulkResult> task = pipeline.submitAll(
+                Arrays.asList(order("o1"), order("ghost"), completed("o2")), OrderStatus::next, null);
+
+        idle(Duration.ZERO);
+
+        assertTrue(task.isComplete());
+        OrderStatusPipeline.BulkResult result = task.getResult();
+        assertEquals(Collections.singletonList("o1"), result.getWritten());
+        assertEquals(Collections.singleton("ghost"), result.getFailed().keySet());
+        assertEquals(Collections.singletonList("o2"), result.getSkipped());
+        // The shared batch failed as a whole, then each order was resent alone
+        assertEquals(3, repository.commits.size());
+        assertEquals(OrderStatus.BEING_MADE, repository.get("o1").getStatus());
+        assertEquals(OrderStatus.PENDING, store.get("ghost").getStatus());
+        assertEquals(1, pipeline.getRollbackCount());
+    }
+
+    @Test
+    public void supersededBulkChangeCountsOnceTheNewerStatusIsWritten() {
+        List<int[]> progress = new ArrayList<>();
+        Task<OrderStatusPipeline.BulkResult> task = pipeline.submitAll(Collections.singletonList(order("o1")),
+                OrderStatus::next, (written, failed, total) -> progress.add(new int[]{written, failed, total}));
+
+        // Arrives while the bulk write is still awaiting its commit
+        assertTrue(pipeline.submit(order("o1"), OrderStatus.BEING_DELIVERED));
+
+        // The bulk status reached the server, but it is no longer the order's latest one
+        idle(Duration.ZERO);
+        assertEquals(OrderStatus.BEING_MADE, repository.get("o1").getStatus());
+        assertFalse(task.isComplete());
+        assertTrue(progress.isEmpty());
+
+        idle(FLUSH_DELAY);
+
+        assertEquals(OrderStatus.BEING_DELIVERED, repository.get("o1").getStatus());
+        assertEquals(2, repository.commits.size());
+        assertTrue(task.isComplete());
+        assertEquals(Collections.singletonList("o1"), task.getResult().getWritten());
+        assertTrue(task.getResult().getFailed().isEmpty());
+        assertEquals(1, progress.size());
+        assertEquals(0, pipeline.getQueueDepth());
+    }
+
+    @Test
+    public void supersededBulkChangeFailsWhenTheNewerStatusIsRolledBack() {
+        Task<OrderStatusPipeline.BulkResult> task = pipeline.submitAll(Collections.singletonList(order("o1")),
+                OrderStatus::next, null);
+        pipeline.submit(order("o1"), OrderStatus.BEING_DELIVERED);
+        idle(Duration.ZERO);
+
+        // The newer write is rejected for good
+        repository.remove("o1");
+        idle(FLUSH_DELAY);
+
+        assertTrue(task.isComplete());
+        assertTrue(task.getResult().getWritten().isEmpty());
+        assertEquals(Collections.singleton("o1"), task.getResult().getFailed().keySet());
+        assertEquals(Collections.singletonList("o1=" + OrderStatus.BEING_MADE), rolledBack);
+        assertEquals(OrderStatus.BEING_MADE, store.get("o1").getStatus());
+    }
+
+    @Test
+    public void overridesOfWritesFinishedWhileDetachedAreDropped() {
+        pipeline.submit(order("o1"), OrderStatus.BEING_MADE);
+        pipeline.submit(order("ghost"), OrderStatus.BEING_MADE);
+        pipeline.detach(store);
+
+        // One write commits and the other rolls back with no store attached
+        idle(FLUSH_DELAY);
+        assertEquals(0, pipeline.getQueueDepth());
+        assertTrue(rolledBack.isEmpty());
+
+        pipeline.attach(store, null);
+        Order o1 = order("o1");
+        o1.setStatus(OrderStatus.BEING_DELIVERED);
+        store.applyChanges(Arrays.asList(Change.modified("o1", o1), Change.modified("ghost", order("ghost"))));
+
+        // Later server changes show through instead of the finished writes' statuses
+        assertEquals(OrderStatus.BEING_DELIVERED, store.get("o1").getStatus());
+        assertEquals(OrderStatus.PENDING, store.get("ghost").getStatus());
+    }
+
+    // --- Helpers ---
+
+    private static void idle(Duration duration) {
+        shadowOf(Looper.getMainLooper()).idleFor(duration);
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    private static Order order(String id) {
+        Order order = new Order();
+        order.setOrderId(id);
+        order.setUserId("user-" + id);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotal(100);
+        order.setOrderedAt(new Date(1700000000000L));
+        order.setItems(Collections.singletonList(new OrderLine("Item", "m1", 1, 100)));
+        return order;
+    }
+
+    private static Order completed(String id) {
+        Order order = order(id);
+        order.setStatus(OrderStatus.COMPLETED);
+        return order;
+    }
+
+    // Records every status batch; the first 'failuresLeft' commits fail with a retryable error
+    private static class FlakyOrderRepository extends InMemoryOrderRepository {
+        final List<Map<String, String>> commits = new ArrayList<>();
+        int failuresLeft;
+
+        @Override
+        public synchronized CompletableFuture<Void> updateStatuses(Map<String, String> statusByOrderId) {
+            commits.add(statusByOrderId);
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new RetryableException());
+                return failed;
+            }
+            return super.updateStatuses(statusByOrderId);
+        }
+
+        @Override
+        public boolean isRetryable(Throwable error) {
+            return error instanceof RetryableException;
+        }
+    }
+
+    private static class RetryableException extends RuntimeException {
+        RetryableException() {
+            super("Service unavailable");
+        }
+    }
+}
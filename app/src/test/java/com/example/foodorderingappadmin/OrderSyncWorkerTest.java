@@ -0,0 +1,180 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Syncs InMemoryOrderRepository into an in-memory OrderWarehouse and checks the rollup
+ * aggregates the sales screens read. Every step runs on the calling thread, so each sync has
+ * finished by the time sync() returns.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class OrderSyncWorkerTest {
+
+    private RecordingOrderRepository repository;
+    private OrderWarehouse warehouse;
+
+    @Before
+    public void setUp() {
+        repository = new RecordingOrderRepository();
+        warehouse = new OrderWarehouse(RuntimeEnvironment.getApplication(), null);
+    }
+
+    @After
+    public void tearDown() {
+        warehouse.close();
+    }
+
+    @Test
+    public void firstSyncPagesEveryOrderIntoRollups() {
+        List<Order> orders = new ArrayList<>();
+        double revenue = 0;
+        for (int i = 0; i < 1200; i++) {
+            // Ten minutes apart, spread over nine days, from twenty customers
+            Date orderedAt = new Date(at(1, 0).getTime() + i * 10 * 60000L);
+            orders.add(order("o" + i, OrderStatus.COMPLETED, orderedAt, 10 + i % 7, "user" + i % 20));
+            revenue += 10 + i % 7;
+        }
+        repository.putAll(orders);
+
+        sync();
+
+        // Three pages of at most 500, all read from the start
+        assertEquals(3, repository.sinceArgs.size());
+        assertNull(repository.sinceArgs.get(0));
+
+        SalesSummary summary = warehouse.querySummary(null, null);
+        assertEquals(1200, summary.getTotalOrders());
+        assertEquals(revenue, summary.getTotalRevenue(), 0.001);
+        assertEquals(2400, summary.getTotalItems());
+        assertEquals(20, summary.getUniqueCustomers());
+        assertEquals(1, summary.getTopItems().size());
+        assertEquals("m1", summary.getTopItems().get(0).menuItemId);
+    }
+
+    @Test
+    public void laterSyncPullsOnlyFromWatermark() {
+        repository.put(order("a", OrderStatus.COMPLETED, at(1, 9), 100, "u1"));
+        repository.put(order("b", OrderStatus.COMPLETED, at(2, 9), 200, "u2"));
+        sync();
+
+        repository.put(order("c", OrderStatus.COMPLETED, at(3, 9), 300, "u1"));
+        sync();
+
+        Date since = repository.sinceArgs.get(repository.sinceArgs.size() - 1);
+        assertEquals(at(2, 9), since);
+
+        SalesSummary summary = warehouse.querySummary(null, null);
+        assertEquals(3, summary.getTotalOrders());
+        assertEquals(600, summary.getTotalRevenue(), 0.001);
+        assertEquals("u1", summary.getCustomers().get(0).userId);
+        assertEquals(400, summary.getCustomers().get(0).totalSpent, 0.001);
+    }
+
+    @Test
+    public void openOrdersAreReReadAndMovedBetweenDays() {
+        repository.put(order("done", OrderStatus.COMPLETED, at(3, 9), 100, "u1"));
+        repository.put(order("open", OrderStatus.PENDING, at(3, 10), 50, "u2"));
+        sync();
+        assertEquals(150, warehouse.querySummary(at(3, 0), at(3, 23)).getTotalRevenue(), 0.001);
+
+        // Edited behind the watermark: only the open-order refresh can see this
+        repository.put(order("open", OrderStatus.COMPLETED, at(1, 10), 70, "u2"));
+        sync();
+
+        SalesSummary dayThree = warehouse.querySummary(at(3, 0), at(3, 23));
+        assertEquals(1, dayThree.getTotalOrders());
+        assertEquals(100, dayThree.getTotalRevenue(), 0.001);
+        SalesSummary dayOne = warehouse.querySummary(at(1, 0), at(1, 23));
+        assertEquals(1, dayOne.getTotalOrders());
+        assertEquals(70, dayOne.getTotalRevenue(), 0.001);
+        assertTrue(warehouse.getOpenOrderIds().isEmpty());
+    }
+
+    @Test
+    public void deletedOpenOrdersLeaveTheRollups() {
+        repository.put(order("done", OrderStatus.COMPLETED, at(1, 9), 100, "u1"));
+        repository.put(order("open", OrderStatus.PENDING, at(1, 10), 50, "u2"));
+        sync();
+
+        repository.remove("open");
+        sync();
+
+        SalesSummary summary = warehouse.querySummary(null, null);
+        assertEquals(1, summary.getTotalOrders());
+        assertEquals(100, summary.getTotalRevenue(), 0.001);
+        assertEquals(1, summary.getUniqueCustomers());
+        assertEquals("u1", summary.getCustomers().get(0).userId);
+    }
+
+    @Test
+    public void rangesCoverWholeDays() {
+        repository.put(order("before", OrderStatus.COMPLETED, at(4, 23), 10, "u1"));
+        repository.put(order("morning", OrderStatus.COMPLETED, at(5, 9), 20, "u1"));
+        repository.put(order("evening", OrderStatus.COMPLETED, at(5, 20), 30, "u1"));
+        sync();
+
+        // The rollups are per day, so a range starting at 18:00 still counts that morning;
+        // "Last 7 Days" is every day from the one a week ago through today
+        SalesSummary summary = warehouse.querySummary(at(5, 18), at(5, 19));
+        assertEquals(2, summary.getTotalOrders());
+        assertEquals(50, summary.getTotalRevenue(), 0.001);
+    }
+
+    // --- Helpers ---
+
+    private void sync() {
+        // A new worker per call, as after a restart, so the minimum sync interval never applies
+        Task<Void> task = new OrderSyncWorker(repository, warehouse, Runnable::run).sync();
+        assertTrue(task.isSuccessful());
+    }
+
+    // The given hour of day 'day' in March 2024, in the device time zone the rollups use
+    private static Date at(int day, int hour) {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(2024, Calendar.MARCH, day, hour, 0);
+        return cal.getTime();
+    }
+
+    private static Order order(String id, String status, Date orderedAt, double total, String userId) {
+        Order order = new Order();
+        order.setOrderId(id);
+        order.setUserId(userId);
+        order.setStatus(status);
+        order.setTotal(total);
+        order.setOrderedAt(orderedAt);
+        order.setItems(Collections.singletonList(new OrderLine("Item", "m1", 2, total / 2)));
+        return order;
+    }
+
+    // Remembers the 'since' of every delta page the worker asks for
+    private static class RecordingOrderRepository extends InMemoryOrderRepository {
+        final List<Date> sinceArgs = new ArrayList<>();
+
+        @Override
+        public synchronized CompletableFuture<Page<Order>> loadOrderedSince(@Nullable Date since, @Nullable Object after, int limit) {
+            sinceArgs.add(since);
+            return super.loadOrderedSince(since, after, limit);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+// JMH microbenchmarks for the in-memory hot paths (sales aggregation, search filtering, mapping),
+// run on a desktop JVM at 1k/10k/100k synthetic orders.
+//   ./gradlew :benchmark:jmh                       -> build/results/jmh/local.json
+//   ./gradlew :benchmark:jmh -PbenchmarkTag=v1.2   -> build/results/jmh/v1.2.json
+// Compare two result files (e.g. on jmh.morethan.io) to spot regressions between versions.
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    jmhImplementation(project(":core"))
+}
+
+val benchmarkTag = providers.gradleProperty("benchmarkTag").getOrElse("local")
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    benchmarkMode.set(listOf("thrpt"))
+    timeUnit.set("s")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // Allocation rate (gc.alloc.rate.norm = bytes per operation) next to the throughput
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/$benchmarkTag.json"))
+}
@@ -0,0 +1,46 @@
+package com.example.foodorderingappadmin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Deserialization from document data: order lines (the bulk of every order document) and menu
+// items. Snapshot access itself needs Firestore and is covered by the on-device MapperBenchmark.
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int orderCount;
+
+    private List<Object> rawItems;
+    private List<Map<String, Object>> menuData;
+    private String[] menuIds;
+
+    @Setup
+    public void setUp() {
+        rawItems = SyntheticData.rawItems(SyntheticData.orders(orderCount));
+        menuData = new ArrayList<>();
+        for (MenuItem item : SyntheticData.menu(SyntheticData.MENU_SIZE)) menuData.add(MenuItemMapper.toData(item));
+        menuIds = new String[orderCount];
+        for (int i = 0; i < orderCount; i++) menuIds[i] = "item" + i;
+    }
+
+    @Benchmark
+    public void orderLines(Blackhole blackhole) {
+        for (Object raw : rawItems) blackhole.consume(OrderLine.fromRaw(raw));
+    }
+
+    @Benchmark
+    public void menuItems(Blackhole blackhole) {
+        for (int i = 0; i < orderCount; i++) {
+            blackhole.consume(MenuItemMapper.fromData(menuIds[i], menuData.get(i % menuData.size())));
+        }
+    }
+}
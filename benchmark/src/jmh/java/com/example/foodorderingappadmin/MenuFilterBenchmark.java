@@ -0,0 +1,43 @@
+package com.example.foodorderingappadmin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+// AdminFragment.filterMenuList: the category index narrows the menu, then the search text is
+// matched against the indexed name and description. Sized like the order benchmarks.
+@State(Scope.Benchmark)
+public class MenuFilterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int itemCount;
+
+    private MenuStore menuStore;
+    private SearchIndex<MenuItem> index;
+    private final String query = SearchIndex.normalize("adobo");
+    private String category;
+
+    @Setup
+    public void setUp() {
+        List<MenuItem> items = SyntheticData.menu(itemCount);
+        menuStore = new MenuStore();
+        menuStore.upsertAll(items);
+        index = new SearchIndex<>(MenuItem::getId, item -> new String[]{item.getName(), item.getDescription()});
+        index.reindex(items);
+        category = SyntheticData.categories().get(0);
+    }
+
+    @Benchmark
+    public List<MenuItem> allCategories() {
+        return index.filter(menuStore.getItems(), query, item -> true, () -> false);
+    }
+
+    @Benchmark
+    public List<MenuItem> oneCategory() {
+        return index.filter(menuStore.getItemsInCategory(category), query, item -> true, () -> false);
+    }
+}
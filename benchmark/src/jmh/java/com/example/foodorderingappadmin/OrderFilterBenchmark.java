@@ -0,0 +1,55 @@
+package com.example.foodorderingappadmin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+// OrdersFragment.filterOrderList: a status chip plus the search text over the indexed order id,
+// note and customer name, and the full re-index a fresh orders snapshot triggers.
+@State(Scope.Benchmark)
+public class OrderFilterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int orderCount;
+
+    private List<Order> orders;
+    private SearchIndex<Order> index;
+    private final String query = SearchIndex.normalize("ana");
+    private final Predicate<Order> pending = order -> OrderStatus.PENDING.equalsIgnoreCase(order.getStatus());
+
+    @Setup
+    public void setUp() {
+        orders = SyntheticData.orders(orderCount);
+        index = newIndex();
+        index.reindex(orders);
+    }
+
+    @Benchmark
+    public List<Order> statusAndQuery() {
+        return index.filter(orders, query, pending, () -> false);
+    }
+
+    @Benchmark
+    public List<Order> queryOnly() {
+        return index.filter(orders, query, order -> true, () -> false);
+    }
+
+    @Benchmark
+    public SearchIndex<Order> reindex() {
+        SearchIndex<Order> fresh = newIndex();
+        fresh.reindex(orders);
+        return fresh;
+    }
+
+    // Same key and fields as OrdersFragment's search engine
+    private static SearchIndex<Order> newIndex() {
+        return new SearchIndex<>(
+                Order::getOrderId,
+                order -> new String[]{order.getOrderId(), order.getNote(), order.getCustomerNameForSearch()});
+    }
+}
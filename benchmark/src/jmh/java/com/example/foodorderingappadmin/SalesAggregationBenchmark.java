@@ -0,0 +1,53 @@
+package com.example.foodorderingappadmin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The sales dashboard's three aggregation loops (see SalesFold), each measured on its own over
+// every order ("All Time") or only the last week's ("Last 7 Days").
+@State(Scope.Benchmark)
+public class SalesAggregationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int orderCount;
+
+    @Param({"allTime", "lastSevenDays"})
+    public String range;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        List<Order> all = SyntheticData.orders(orderCount);
+        if (range.equals("allTime")) {
+            orders = all;
+            return;
+        }
+        long weekAgo = SyntheticData.BASE_TIME - 7L * 24 * 60 * 60 * 1000;
+        orders = new ArrayList<>();
+        for (Order order : all) {
+            if (order.getOrderedAt().getTime() >= weekAgo) orders.add(order);
+        }
+    }
+
+    @Benchmark
+    public SalesFold.Totals headlineTotals() {
+        return SalesFold.totals(orders);
+    }
+
+    @Benchmark
+    public List<SalesSummary.TopItem> topItems() {
+        return SalesFold.topItems(orders);
+    }
+
+    @Benchmark
+    public List<SalesSummary.CustomerStat> customers() {
+        return SalesFold.customers(orders);
+    }
+}
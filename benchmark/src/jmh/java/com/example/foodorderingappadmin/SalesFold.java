@@ -0,0 +1,117 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reference model of the sales dashboard's in-memory loops, one method per screen:
+// - totals():    revenue, order and item totals (SalesFragment.updateData's headline cards)
+// - topItems():  quantity per item (SalesTopItemsFragment.updateFilter)
+// - customers(): spend per customer (SalesCustomersFragment.updateFilter)
+// The app now reads these aggregates from OrderWarehouse's SQL rollups; this copy only exists
+// so the per-order cost of the loops stays measurable on a desktop JVM. Keys match the
+// warehouse (items by menu item id, falling back to "name:" + name; orders without a user
+// count towards the totals only).
+public final class SalesFold {
+
+    private SalesFold() {}
+
+    static Totals totals(Iterable<Order> orders) {
+        Totals totals = new Totals();
+        for (Order order : orders) {
+            totals.revenue += order.getTotal();
+            totals.orders++;
+            if (order.getItems() == null) continue;
+            for (OrderLine line : order.getItems()) totals.items += line.getQty();
+        }
+        return totals;
+    }
+
+    // Items sorted by quantity sold (descending)
+    static List<SalesSummary.TopItem> topItems(Iterable<Order> orders) {
+        Map<String, ItemTally> items = new HashMap<>();
+        for (Order order : orders) {
+            if (order.getItems() == null) continue;
+            for (OrderLine line : order.getItems()) {
+                String key = itemKey(line);
+                if (key == null) continue;
+                ItemTally item = items.get(key);
+                if (item == null) {
+                    item = new ItemTally(line);
+                    items.put(key, item);
+                } else if (line.getName() != null && (item.name == null || line.getName().compareTo(item.name) > 0)) {
+                    // MAX(name), as in the warehouse
+                    item.name = line.getName();
+                }
+                item.qty += line.getQty();
+            }
+        }
+
+        List<SalesSummary.TopItem> topItems = new ArrayList<>(items.size());
+        for (Map.Entry<String, ItemTally> entry : items.entrySet()) {
+            ItemTally item = entry.getValue();
+            topItems.add(new SalesSummary.TopItem(entry.getKey(), item.menuItemId, item.name, item.qty));
+        }
+        topItems.sort((a, b) -> Integer.compare(b.count, a.count));
+        return topItems;
+    }
+
+    // Customers sorted by total spent (descending)
+    static List<SalesSummary.CustomerStat> customers(Iterable<Order> orders) {
+        Map<String, CustomerTally> customers = new HashMap<>();
+        for (Order order : orders) {
+            String uid = order.getUserId();
+            if (uid == null) continue;
+            CustomerTally customer = customers.get(uid);
+            if (customer == null) {
+                customer = new CustomerTally();
+                customers.put(uid, customer);
+            }
+            customer.spent += order.getTotal();
+            customer.orders++;
+        }
+
+        List<SalesSummary.CustomerStat> customerStats = new ArrayList<>(customers.size());
+        for (Map.Entry<String, CustomerTally> entry : customers.entrySet()) {
+            CustomerTally customer = entry.getValue();
+            customerStats.add(new SalesSummary.CustomerStat(entry.getKey(), customer.spent, customer.orders));
+        }
+        customerStats.sort((a, b) -> Double.compare(b.totalSpent, a.totalSpent));
+        return customerStats;
+    }
+
+    public static final class Totals {
+        double revenue;
+        int orders;
+        long items;
+    }
+
+    // --- Internal Helpers ---
+
+    @Nullable
+    private static String itemKey(OrderLine line) {
+        String id = line.getMenuItemId();
+        if (id != null && !id.isEmpty()) return id;
+        return line.getName() != null ? "name:" + line.getName() : null;
+    }
+
+    private static class ItemTally {
+        @Nullable final String menuItemId;
+        @Nullable String name;
+        int qty;
+
+        ItemTally(OrderLine line) {
+            String id = line.getMenuItemId();
+            this.menuItemId = id != null && !id.isEmpty() ? id : null;
+            this.name = line.getName();
+        }
+    }
+
+    private static class CustomerTally {
+        double spent;
+        int orders;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.foodorderingappadmin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+// Deterministic orders and menu items shaped like the production data: a menu of a few dozen
+// dishes, one to four lines per order, about one customer per five orders, most orders final.
+// The same seed gives the same data, so runs of different versions measure the same input.
+final class SyntheticData {
+
+    static final long BASE_TIME = 1700000000000L;
+    static final int MENU_SIZE = 80;
+
+    private static final long SEED = 42L;
+    private static final String[] CATEGORIES = {"Rice Meals", "Noodles", "Snacks", "Drinks", "Desserts"};
+    private static final String[] DISHES = {"Adobo", "Sinigang", "Pancit", "Lumpia", "Sisig", "Tapsilog",
+            "Halo-Halo", "Kare-Kare", "Lechon", "Bibingka", "Palabok", "Turon", "Tocino", "Arroz Caldo"};
+    private static final String[] FIRST_NAMES = {"Ana", "Ben", "Carla", "Dennis", "Ella", "Fritz", "Gina", "Hector"};
+    private static final String[] LAST_NAMES = {"Santos", "Reyes", "Cruz", "Bautista", "Garcia", "Mendoza"};
+    private static final String[] NOTES = {"", "", "", "No onions", "Extra rice", "Call on arrival", "Less spicy"};
+    // Weighted like a running shop: mostly Completed, a few of every other status
+    private static final String[] STATUSES = {
+            OrderStatus.COMPLETED, OrderStatus.COMPLETED, OrderStatus.COMPLETED, OrderStatus.COMPLETED,
+            OrderStatus.COMPLETED, OrderStatus.CANCELLED, OrderStatus.PENDING, OrderStatus.BEING_MADE,
+            OrderStatus.BEING_DELIVERED};
+
+    private SyntheticData() {}
+
+    static List<MenuItem> menu(int count) {
+        Random random = new Random(SEED);
+        List<MenuItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = DISHES[i % DISHES.length] + " " + (i / DISHES.length + 1);
+            MenuItem item = new MenuItem(name, "Classic " + name.toLowerCase(Locale.ROOT) + ", served hot",
+                    50 + random.nextInt(250), CATEGORIES[random.nextInt(CATEGORIES.length)], "", random.nextInt(10) > 0);
+            item.setId(String.format(Locale.ROOT, "item%06d", i));
+            items.add(item);
+        }
+        return items;
+    }
+
+    static List<Order> orders(int count) {
+        Random random = new Random(SEED);
+        List<MenuItem> menu = menu(MENU_SIZE);
+        int customers = Math.max(1, count / 5);
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<OrderLine> lines = new ArrayList<>(4);
+            double total = 0;
+            for (int l = 1 + random.nextInt(4); l > 0; l--) {
+                MenuItem item = menu.get(random.nextInt(menu.size()));
+                int qty = 1 + random.nextInt(3);
+                // Older orders were recorded without a menu item id
+                String menuItemId = random.nextInt(10) == 0 ? null : item.getId();
+                lines.add(new OrderLine(item.getName(), menuItemId, qty, item.getPrice()));
+                total += qty * item.getPrice();
+            }
+
+            int customer = random.nextInt(customers);
+            Order order = new Order();
+            order.setOrderId(String.format(Locale.ROOT, "order%07d", i));
+            order.setUserId("user" + customer);
+            order.setCustomerNameForSearch(FIRST_NAMES[customer % FIRST_NAMES.length] + " "
+                    + LAST_NAMES[(customer / FIRST_NAMES.length) % LAST_NAMES.length]);
+            order.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            order.setTotal(total);
+            // Spread over the year before BASE_TIME, newest last
+            order.setOrderedAt(new Date(BASE_TIME - (long) (count - i) * 365L * 24 * 60 * 60 * 1000 / count));
+            order.setNote(NOTES[random.nextInt(NOTES.length)]);
+            order.setPaymentMethod(random.nextBoolean() ? "Cash" : "GCash");
+            order.setItems(lines);
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    // The raw 'items' values of the given orders, as Firestore hands them to OrderLine.fromRaw
+    static List<Object> rawItems(List<Order> orders) {
+        List<Object> raw = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            List<Map<String, Object>> lines = new ArrayList<>(order.getItems().size());
+            for (OrderLine line : order.getItems()) {
+                Map<String, Object> map = new HashMap<>();
+                map.put("name", line.getName());
+                if (line.getMenuItemId() != null) map.put("menuItemId", line.getMenuItemId());
+                map.put("qty", (long) line.getQty());
+                map.put("price", line.getUnitPrice());
+                lines.add(map);
+            }
+            raw.add(lines);
+        }
+        return raw;
+    }
+
+    static List<String> categories() {
+        return Arrays.asList(CATEGORIES);
+    }
+}
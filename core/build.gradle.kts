@@ -0,0 +1,15 @@
+// Plain Java models, stores and repository interfaces: no Android or Firebase dependencies, so
+// the hot paths can be unit tested and benchmarked on a desktop JVM
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    api(libs.annotation)
+    testImplementation(libs.junit)
+}
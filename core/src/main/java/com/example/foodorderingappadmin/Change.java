@@ -0,0 +1,33 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+// One document delta delivered by a repository listener (the equivalent of a Firestore
+// DocumentChange, already mapped). 'value' is null for REMOVED.
+public final class Change<T> {
+
+    public enum Type { ADDED, MODIFIED, REMOVED }
+
+    public final Type type;
+    public final String id;
+    @Nullable
+    public final T value;
+
+    private Change(Type type, String id, @Nullable T value) {
+        this.type = type;
+        this.id = id;
+        this.value = value;
+    }
+
+    public static <T> Change<T> added(String id, T value) {
+        return new Change<>(Type.ADDED, id, value);
+    }
+
+    public static <T> Change<T> modified(String id, T value) {
+        return new Change<>(Type.MODIFIED, id, value);
+    }
+
+    public static <T> Change<T> removed(String id) {
+        return new Change<>(Type.REMOVED, id, null);
+    }
+}
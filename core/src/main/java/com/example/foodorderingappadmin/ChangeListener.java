@@ -0,0 +1,14 @@
+package com.example.foodorderingappadmin;
+
+import java.util.List;
+
+// Receives the deltas of a repository subscription.
+// The first event of every subscription has 'initial' set and lists every matching document as
+// ADDED, so a listener can drop whatever it still holds from an earlier subscription.
+public interface ChangeListener<T> {
+
+    void onChanges(List<Change<T>> changes, boolean initial);
+
+    // The subscription has failed and delivers nothing more
+    default void onError(Exception error) {}
+}
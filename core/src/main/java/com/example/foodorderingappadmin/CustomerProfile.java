@@ -0,0 +1,29 @@
+package com.example.foodorderingappadmin;
+
+// Read-only view of the 'users/{id}' fields the admin screens display.
+public class CustomerProfile {
+
+    // Shared marker for ids with no matching 'users' document
+    public static final CustomerProfile MISSING = new CustomerProfile(null, null, null, null, false);
+
+    private final String userId;
+    private final String name;
+    private final String address;
+    private final String phoneNumber;
+    private final boolean exists;
+
+    public CustomerProfile(String userId, String name, String address, String phoneNumber, boolean exists) {
+        this.userId = userId;
+        this.name = name;
+        this.address = address;
+        this.phoneNumber = phoneNumber;
+        this.exists = exists;
+    }
+
+    // --- Getters ---
+    public String getUserId() { return userId; }
+    public String getName() { return name; }
+    public String getAddress() { return address; }
+    public String getPhoneNumber() { return phoneNumber; }
+    public boolean exists() { return exists; }
+}
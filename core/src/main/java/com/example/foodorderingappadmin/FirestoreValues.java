@@ -0,0 +1,28 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+// Lenient conversions for raw Firestore field values (as returned by getData()/get()).
+// A value of the wrong type reads as the fallback instead of throwing like toObject() does.
+final class FirestoreValues {
+
+    private FirestoreValues() {}
+
+    @Nullable
+    static String asString(@Nullable Object value) {
+        return value instanceof String ? (String) value : null;
+    }
+
+    // Firestore returns integers as Long and decimals as Double
+    static int asInt(@Nullable Object value, int fallback) {
+        return value instanceof Number ? ((Number) value).intValue() : fallback;
+    }
+
+    static double asDouble(@Nullable Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    static boolean asBoolean(@Nullable Object value) {
+        return value instanceof Boolean && (Boolean) value;
+    }
+}
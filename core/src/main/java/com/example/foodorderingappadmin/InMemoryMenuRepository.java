@@ -0,0 +1,137 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// MenuRepository held in memory, for tests and JVM benchmarks.
+// Items are stored as their document data (MenuItemMapper.toData) and mapped back on the way out,
+// so they read exactly as after a Firestore round trip (null strings come back as "").
+// Synchronous like InMemoryOrderRepository.
+public class InMemoryMenuRepository implements MenuRepository {
+
+    private final TreeMap<String, Map<String, Object>> dataById = new TreeMap<>();
+    private final List<ChangeListener<MenuItem>> listeners = new CopyOnWriteArrayList<>();
+    private int lastId;
+
+    // --- Backend-side Writes ---
+
+    // Stores items under their own ids (a null id gets a new one) as one listener event
+    public synchronized void putAll(Collection<MenuItem> items) {
+        List<Change<MenuItem>> changes = new ArrayList<>();
+        for (MenuItem item : items) {
+            store(item.getId() != null ? item.getId() : newId(), MenuItemMapper.toData(item), changes);
+        }
+        dispatch(changes);
+    }
+
+    public synchronized int size() {
+        return dataById.size();
+    }
+
+    // --- MenuRepository ---
+
+    @Override
+    public synchronized Registration listen(ChangeListener<MenuItem> listener) {
+        List<Change<MenuItem>> initial = new ArrayList<>(dataById.size());
+        for (Map.Entry<String, Map<String, Object>> entry : dataById.entrySet()) {
+            initial.add(Change.added(entry.getKey(), MenuItemMapper.fromData(entry.getKey(), entry.getValue())));
+        }
+        listeners.add(listener);
+        listener.onChanges(initial, true);
+        return () -> listeners.remove(listener);
+    }
+
+    @Override
+    public synchronized CompletableFuture<String> add(MenuItem item) {
+        String id = newId();
+        List<Change<MenuItem>> changes = new ArrayList<>(1);
+        store(id, MenuItemMapper.toData(item), changes);
+        dispatch(changes);
+        return CompletableFuture.completedFuture(id);
+    }
+
+    @Override
+    public CompletableFuture<Void> update(String id, Map<String, Object> fields) {
+        return commit(Collections.singletonList(Write.update(id, fields)));
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> delete(String id) {
+        // Deleting a missing document succeeds, as in Firestore
+        if (dataById.remove(id) != null) dispatch(Collections.singletonList(Change.removed(id)));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public synchronized String newId() {
+        return String.format(Locale.ROOT, "item%06d", ++lastId);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> commit(List<Write> writes) {
+        // All or nothing: an update of a missing item fails the whole commit
+        for (Write write : writes) {
+            if (!write.create && !dataById.containsKey(write.id)) {
+                CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new IllegalArgumentException("No menu item with id " + write.id));
+                return failed;
+            }
+        }
+        List<Change<MenuItem>> changes = new ArrayList<>(writes.size());
+        for (Write write : writes) {
+            Map<String, Object> data = write.create ? new TreeMap<>() : new TreeMap<>(dataById.get(write.id));
+            data.putAll(write.fields);
+            store(write.id, data, changes);
+        }
+        dispatch(changes);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Page<MenuItem>> loadPage(@Nullable Object after, int limit) {
+        SortedMap<String, Map<String, Object>> from = after != null ? dataById.tailMap((String) after, false) : dataById;
+        List<MenuItem> page = new ArrayList<>(Math.min(limit, from.size()));
+        for (Map.Entry<String, Map<String, Object>> entry : from.entrySet()) {
+            if (page.size() == limit) break;
+            page.add(MenuItemMapper.fromData(entry.getKey(), entry.getValue()));
+        }
+        String next = page.size() == limit && !page.isEmpty() ? page.get(page.size() - 1).getId() : null;
+        return CompletableFuture.completedFuture(new Page<>(page, next));
+    }
+
+    // --- Internal Helpers ---
+
+    private void store(String id, Map<String, Object> data, List<Change<MenuItem>> changes) {
+        Map<String, Object> previous = dataById.put(id, data);
+        MenuItem item = MenuItemMapper.fromData(id, data);
+        changes.add(previous != null ? Change.modified(id, item) : Change.added(id, item));
+    }
+
+    // Every listener gets its own copies
+    private void dispatch(List<Change<MenuItem>> changes) {
+        if (changes.isEmpty()) return;
+        for (ChangeListener<MenuItem> listener : listeners) {
+            List<Change<MenuItem>> copies = new ArrayList<>(changes.size());
+            for (Change<MenuItem> change : changes) {
+                copies.add(change.value == null ? change
+                        : change.type == Change.Type.ADDED ? Change.added(change.id, copyOf(change.value))
+                        : Change.modified(change.id, copyOf(change.value)));
+            }
+            listener.onChanges(copies, false);
+        }
+    }
+
+    private static MenuItem copyOf(MenuItem item) {
+        return MenuItemMapper.fromData(item.getId(), MenuItemMapper.toData(item));
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// OrderRepository held in memory, for tests and JVM benchmarks.
+// - Orders are kept by id and in a newest-first TreeSet, so pages and active-order events cost
+//   O(log n) per order; hundreds of thousands of orders are fine
+// - put()/putAll()/remove() stand in for other clients writing to the backend and are delivered
+//   to active-order listeners as ADDED/MODIFIED/REMOVED changes, like a Firestore listener
+// - Everything is synchronous: listeners are called before the writing call returns and every
+//   future is already complete
+// Orders are copied on the way in and out, so callers can never change what is stored.
+public class InMemoryOrderRepository implements OrderRepository {
+
+    private final Map<String, Order> ordersById = new HashMap<>();
+    private final TreeSet<Order> newestFirst = new TreeSet<>(OrderStore.NEWEST_FIRST);
+    private final List<ChangeListener<Order>> listeners = new CopyOnWriteArrayList<>();
+
+    // --- Backend-side Writes ---
+
+    public void put(Order order) {
+        putAll(Collections.singletonList(order));
+    }
+
+    // Stores the orders and sends all resulting changes as one listener event
+    public synchronized void putAll(Collection<Order> orders) {
+        List<Change<Order>> changes = new ArrayList<>();
+        for (Order order : orders) store(order.copy(), changes);
+        dispatch(changes);
+    }
+
+    public synchronized void remove(String orderId) {
+        Order previous = ordersById.remove(orderId);
+        if (previous == null) return;
+        newestFirst.remove(previous);
+        if (isActive(previous)) dispatch(Collections.singletonList(Change.removed(orderId)));
+    }
+
+    public synchronized int size() {
+        return ordersById.size();
+    }
+
+    @Nullable
+    public synchronized Order get(String orderId) {
+        Order order = ordersById.get(orderId);
+        return order != null ? order.copy() : null;
+    }
+
+    // --- OrderRepository ---
+
+    @Override
+    public synchronized Registration listenToActiveOrders(ChangeListener<Order> listener) {
+        List<Change<Order>> initial = new ArrayList<>();
+        for (Order order : newestFirst) {
+            if (isActive(order)) initial.add(Change.added(order.getOrderId(), order.copy()));
+        }
+        listeners.add(listener);
+        listener.onChanges(initial, true);
+        return () -> listeners.remove(listener);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> updateStatuses(Map<String, String> statusByOrderId) {
+        // All or nothing, like a WriteBatch: check every order before changing any
+        for (String orderId : statusByOrderId.keySet()) {
+            if (!ordersById.containsKey(orderId)) {
+                return failed(new IllegalArgumentException("No order with id " + orderId));
+            }
+        }
+        List<Change<Order>> changes = new ArrayList<>();
+        for (Map.Entry<String, String> entry : statusByOrderId.entrySet()) {
+            Order updated = ordersById.get(entry.getKey()).copy();
+            updated.setStatus(entry.getValue());
+            store(updated, changes);
+        }
+        dispatch(changes);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public boolean isRetryable(Throwable error) {
+        return false;
+    }
+
+    @Override
+    public synchronized CompletableFuture<Page<Order>> loadFinalOrders(@Nullable Date start, @Nullable Date end,
+                                                                      @Nullable Object after, int limit) {
+        if (start != null && end != null && end.before(start)) {
+            return CompletableFuture.completedFuture(new Page<>(new ArrayList<>(), null));
+        }
+        NavigableSet<Order> range = newestFirst;
+        if (start != null) {
+            range = placedSince(start);
+            if (end != null) range = range.tailSet(probe(end.getTime()), true);
+        }
+        if (after != null) range = range.tailSet((Order) after, false);
+
+        List<Order> page = new ArrayList<>(limit);
+        for (Order order : range) {
+            if (page.size() == limit) break;
+            // Like an orderBy("orderedAt") query, orders without the field never match
+            if (OrderStatus.isFinal(order.getStatus()) && order.getOrderedAt() != null) page.add(order.copy());
+        }
+        return CompletableFuture.completedFuture(pageOf(page, limit));
+    }
+
+    @Override
+    public synchronized CompletableFuture<Page<Order>> loadOrderedSince(@Nullable Date since, @Nullable Object after, int limit) {
+        NavigableSet<Order> oldestFirst = (since != null ? placedSince(since) : newestFirst).descendingSet();
+        if (after != null) oldestFirst = oldestFirst.tailSet((Order) after, false);
+
+        List<Order> page = new ArrayList<>(limit);
+        for (Order order : oldestFirst) {
+            if (page.size() == limit) break;
+            if (order.getOrderedAt() != null) page.add(order.copy());
+        }
+        return CompletableFuture.completedFuture(pageOf(page, limit));
+    }
+
+    @Override
+    public synchronized CompletableFuture<List<Order>> loadByIds(Collection<String> orderIds) {
+        List<Order> orders = new ArrayList<>(orderIds.size());
+        for (String orderId : orderIds) {
+            Order order = ordersById.get(orderId);
+            if (order != null) orders.add(order.copy());
+        }
+        return CompletableFuture.completedFuture(orders);
+    }
+
+    // --- Internal Helpers ---
+
+    // Replaces the stored order and records the change active-order listeners see
+    private void store(Order order, List<Change<Order>> changes) {
+        Order previous = ordersById.put(order.getOrderId(), order);
+        if (previous != null) newestFirst.remove(previous);
+        newestFirst.add(order);
+
+        boolean wasActive = previous != null && isActive(previous);
+        if (isActive(order)) {
+            changes.add(wasActive ? Change.modified(order.getOrderId(), order) : Change.added(order.getOrderId(), order));
+        } else if (wasActive) {
+            changes.add(Change.removed(order.getOrderId()));
+        }
+    }
+
+    // Every listener gets its own copies
+    private void dispatch(List<Change<Order>> changes) {
+        if (changes.isEmpty()) return;
+        for (ChangeListener<Order> listener : listeners) {
+            List<Change<Order>> copies = new ArrayList<>(changes.size());
+            for (Change<Order> change : changes) {
+                copies.add(change.value == null ? change
+                        : change.type == Change.Type.ADDED ? Change.added(change.id, change.value.copy())
+                        : Change.modified(change.id, change.value.copy()));
+            }
+            listener.onChanges(copies, false);
+        }
+    }
+
+    // View of the orders placed at or after 'since' (still newest first)
+    private NavigableSet<Order> placedSince(Date since) {
+        return newestFirst.headSet(probe(since.getTime() - 1), false);
+    }
+
+    // Sorts before every order placed at 'time' or earlier and after every later one
+    private static Order probe(long time) {
+        Order probe = new Order();
+        probe.setOrderId("");
+        probe.setOrderedAt(new Date(time));
+        return probe;
+    }
+
+    private static boolean isActive(Order order) {
+        return !OrderStatus.isFinal(order.getStatus());
+    }
+
+    // A full page may have a successor; a short one is the last
+    private static Page<Order> pageOf(List<Order> page, int limit) {
+        Object next = page.size() == limit && !page.isEmpty() ? page.get(page.size() - 1) : null;
+        return new Page<>(page, next);
+    }
+
+    private static <T> CompletableFuture<T> failed(Exception error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+}
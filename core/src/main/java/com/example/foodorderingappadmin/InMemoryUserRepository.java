@@ -0,0 +1,39 @@
+package com.example.foodorderingappadmin;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+// UserRepository held in memory, for tests and JVM benchmarks. Synchronous like
+// InMemoryOrderRepository.
+public class InMemoryUserRepository implements UserRepository {
+
+    private final Set<String> adminIds = new HashSet<>();
+    private final Map<String, CustomerProfile> profilesById = new HashMap<>();
+
+    public synchronized void addAdmin(String uid) {
+        adminIds.add(uid);
+    }
+
+    public synchronized void putProfile(CustomerProfile profile) {
+        profilesById.put(profile.getUserId(), profile);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> isAdmin(String uid) {
+        return CompletableFuture.completedFuture(adminIds.contains(uid));
+    }
+
+    @Override
+    public synchronized CompletableFuture<Map<String, CustomerProfile>> loadProfiles(Collection<String> userIds) {
+        Map<String, CustomerProfile> found = new HashMap<>();
+        for (String userId : userIds) {
+            CustomerProfile profile = profilesById.get(userId);
+            if (profile != null) found.put(userId, profile);
+        }
+        return CompletableFuture.completedFuture(found);
+    }
+}
@@ -9,9 +9,10 @@ public class MenuItem {
     private double price;
     private String category;
     private String imageUrl;
+    private String thumbnailUrl; // Small copy for list rows; empty for items with a pasted image URL
     private boolean isAvailable;
 
-    // Empty constructor required by Firestore for automatic object mapping (toObject)
+    // Empty constructor used by MenuItemMapper
     public MenuItem() {}
 
     // Full constructor for creating new objects before saving to Firestore
@@ -43,6 +44,9 @@ public class MenuItem {
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
 
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
     public boolean isAvailable() { return isAvailable; }
     public void setAvailable(boolean available) { isAvailable = available; }
 }
\ No newline at end of file
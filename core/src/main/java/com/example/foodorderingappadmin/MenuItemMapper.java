@@ -0,0 +1,78 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Hand-written replacement for doc.toObject(MenuItem.class).
+// Keys match what the reflective mapper derived from MenuItem's accessors: isAvailable()/
+// setAvailable() map to "available". The document id is passed in, it is not part of the data.
+// Snapshot-level mapping lives in FirestoreMenuRepository.
+final class MenuItemMapper {
+
+    // Firestore keys a MenuItem is built from
+    enum Field {
+        NAME("name"),
+        DESCRIPTION("description"),
+        PRICE("price"),
+        CATEGORY("category"),
+        IMAGE_URL("imageUrl"),
+        THUMBNAIL_URL("thumbnailUrl"),
+        AVAILABLE("available");
+
+        final String key;
+
+        Field(String key) { this.key = key; }
+    }
+
+    private MenuItemMapper() {}
+
+    static MenuItem fromData(String id, Map<String, Object> data) {
+        MenuItem item = new MenuItem();
+        item.setId(id);
+        for (Field field : Field.values()) {
+            read(item, field, data.get(field.key));
+        }
+        return item;
+    }
+
+    // Firestore value of one field; null strings read as "" so they compare equal to empty cells
+    static Object valueOf(MenuItem item, Field field) {
+        switch (field) {
+            case NAME: return nonNull(item.getName());
+            case DESCRIPTION: return nonNull(item.getDescription());
+            case PRICE: return item.getPrice();
+            case CATEGORY: return nonNull(item.getCategory());
+            case IMAGE_URL: return nonNull(item.getImageUrl());
+            case THUMBNAIL_URL: return nonNull(item.getThumbnailUrl());
+            case AVAILABLE: return item.isAvailable();
+            default: throw new IllegalArgumentException(field.name());
+        }
+    }
+
+    // Document data for a new item (the id is the document's, not a field)
+    static Map<String, Object> toData(MenuItem item) {
+        Map<String, Object> data = new HashMap<>();
+        for (Field field : Field.values()) {
+            data.put(field.key, valueOf(item, field));
+        }
+        return data;
+    }
+
+    private static String nonNull(@Nullable String value) {
+        return value != null ? value : "";
+    }
+
+    static void read(MenuItem item, Field field, @Nullable Object value) {
+        switch (field) {
+            case NAME: item.setName(FirestoreValues.asString(value)); break;
+            case DESCRIPTION: item.setDescription(FirestoreValues.asString(value)); break;
+            case PRICE: item.setPrice(FirestoreValues.asDouble(value)); break;
+            case CATEGORY: item.setCategory(FirestoreValues.asString(value)); break;
+            case IMAGE_URL: item.setImageUrl(FirestoreValues.asString(value)); break;
+            case THUMBNAIL_URL: item.setThumbnailUrl(FirestoreValues.asString(value)); break;
+            case AVAILABLE: item.setAvailable(FirestoreValues.asBoolean(value)); break;
+        }
+    }
+}
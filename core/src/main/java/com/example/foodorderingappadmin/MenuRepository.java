@@ -0,0 +1,56 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Every read and write of the 'menu_items' collection goes through here.
+// Field maps use the MenuItemMapper.Field keys. Threading is as for OrderRepository.
+public interface MenuRepository {
+
+    // Most writes commit() accepts at once
+    int MAX_BATCH_WRITES = 500;
+
+    // The whole menu, in document id order
+    Registration listen(ChangeListener<MenuItem> listener);
+
+    // Stores a new item under a generated id and returns that id
+    CompletableFuture<String> add(MenuItem item);
+
+    // Changes the given fields of an existing item
+    CompletableFuture<Void> update(String id, Map<String, Object> fields);
+
+    CompletableFuture<Void> delete(String id);
+
+    // A fresh id for an item created through commit()
+    String newId();
+
+    // Applies the writes atomically: all of them or none
+    CompletableFuture<Void> commit(List<Write> writes);
+
+    // Every item in document id order. 'after' is the previous page's Page.next.
+    CompletableFuture<Page<MenuItem>> loadPage(@Nullable Object after, int limit);
+
+    // One write of a commit(): a whole new item, or some fields of an existing one
+    final class Write {
+        public final String id;
+        public final Map<String, Object> fields;
+        public final boolean create;
+
+        private Write(String id, Map<String, Object> fields, boolean create) {
+            this.id = id;
+            this.fields = fields;
+            this.create = create;
+        }
+
+        public static Write create(String id, MenuItem item) {
+            return new Write(id, MenuItemMapper.toData(item), true);
+        }
+
+        public static Write update(String id, Map<String, Object> fields) {
+            return new Write(id, fields, false);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Incremental, id-keyed store for the menu stream.
+// Repository change deltas (see MenuRepository) are applied one by one: a category -> item ids
+// index is adjusted as items enter, leave or switch category. An event touching one item
+// therefore costs a few map updates instead of re-indexing and recounting the whole menu, and
+// callers learn exactly which category counts moved.
+// A normalized-name index sits alongside the id map, so joins on either are O(1).
+public class MenuStore {
+
+    // Document id order, which is the order an unordered collection query returns
+    private final Map<String, MenuItem> itemsById = new TreeMap<>();
+    // Categories in the order they first appeared, each with its items in document id order
+    private final Map<String, Set<String>> idsByCategory = new LinkedHashMap<>();
+    // normalizeName(name) -> item; with duplicate names the most recently updated item wins
+    private final Map<String, MenuItem> itemsByName = new HashMap<>();
+
+    // Trimmed and lowercased (locale independent), so "Chicken Adobo " finds "chicken adobo"
+    @Nullable
+    public static String normalizeName(@Nullable String name) {
+        if (name == null) return null;
+        String trimmed = name.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    // --- Read Access ---
+
+    @Nullable
+    public MenuItem get(String id) {
+        return itemsById.get(id);
+    }
+
+    @Nullable
+    public MenuItem findByName(@Nullable String name) {
+        String key = normalizeName(name);
+        return key != null ? itemsByName.get(key) : null;
+    }
+
+    public int size() {
+        return itemsById.size();
+    }
+
+    // Copy of every item, safe to hand to a background thread
+    public List<MenuItem> getItems() {
+        return new ArrayList<>(itemsById.values());
+    }
+
+    // Copy of the items in one category, in document id order
+    public List<MenuItem> getItemsInCategory(String category) {
+        Set<String> ids = idsByCategory.get(category);
+        if (ids == null) return new ArrayList<>();
+        List<MenuItem> items = new ArrayList<>(ids.size());
+        for (String id : ids) items.add(itemsById.get(id));
+        return items;
+    }
+
+    public Set<String> getCategories() {
+        return Collections.unmodifiableSet(idsByCategory.keySet());
+    }
+
+    public int getCategoryCount(String category) {
+        Set<String> ids = idsByCategory.get(category);
+        return ids != null ? ids.size() : 0;
+    }
+
+    // --- Delta Application ---
+
+    // Applies one listener event's changes. Returns the categories whose item count changed.
+    public Set<String> applyChanges(List<Change<MenuItem>> changes) {
+        Set<String> changedCategories = new HashSet<>();
+        for (Change<MenuItem> change : changes) {
+            switch (change.type) {
+                case ADDED:
+                case MODIFIED:
+                    if (change.value != null) upsert(change.value, changedCategories);
+                    break;
+                case REMOVED:
+                    remove(change.id, changedCategories);
+                    break;
+            }
+        }
+        return changedCategories;
+    }
+
+    // Inserts or replaces items that did not come from a snapshot (e.g. the warm-start cache).
+    // Returns the categories whose item count changed.
+    public Set<String> upsertAll(Collection<MenuItem> items) {
+        Set<String> changedCategories = new HashSet<>();
+        for (MenuItem item : items) {
+            if (item.getId() != null) upsert(item, changedCategories);
+        }
+        return changedCategories;
+    }
+
+    // Drops every item whose id is not in the given set (used to reconcile a fresh subscription).
+    // Returns the categories whose item count changed.
+    public Set<String> retainOnly(Set<String> ids) {
+        Set<String> changedCategories = new HashSet<>();
+        List<String> stale = new ArrayList<>();
+        for (String id : itemsById.keySet()) {
+            if (!ids.contains(id)) stale.add(id);
+        }
+        for (String id : stale) remove(id, changedCategories);
+        return changedCategories;
+    }
+
+    private void upsert(MenuItem item, Set<String> changedCategories) {
+        MenuItem previous = itemsById.put(item.getId(), item);
+        if (previous != null) unindexName(previous);
+        String name = normalizeName(item.getName());
+        if (name != null) itemsByName.put(name, item);
+
+        String oldCategory = previous != null ? categoryOf(previous) : null;
+        String newCategory = categoryOf(item);
+        if (previous != null && safeEquals(oldCategory, newCategory)) return;
+
+        if (oldCategory != null) removeFromCategory(oldCategory, item.getId(), changedCategories);
+        if (newCategory != null) addToCategory(newCategory, item.getId(), changedCategories);
+    }
+
+    private void remove(String id, Set<String> changedCategories) {
+        MenuItem previous = itemsById.remove(id);
+        if (previous == null) return;
+        unindexName(previous);
+        String category = categoryOf(previous);
+        if (category != null) removeFromCategory(category, id, changedCategories);
+    }
+
+    // --- Internal Helpers ---
+
+    private void unindexName(MenuItem item) {
+        String name = normalizeName(item.getName());
+        // Only if the name still points at this item (another item may share the name)
+        if (name != null && itemsByName.get(name) != null && item.getId().equals(itemsByName.get(name).getId())) {
+            itemsByName.remove(name);
+        }
+    }
+
+    private void addToCategory(String category, String id, Set<String> changedCategories) {
+        Set<String> ids = idsByCategory.get(category);
+        if (ids == null) {
+            ids = new TreeSet<>();
+            idsByCategory.put(category, ids);
+        }
+        if (ids.add(id)) changedCategories.add(category);
+    }
+
+    private void removeFromCategory(String category, String id, Set<String> changedCategories) {
+        Set<String> ids = idsByCategory.get(category);
+        if (ids == null || !ids.remove(id)) return;
+        changedCategories.add(category);
+        if (ids.isEmpty()) idsByCategory.remove(category);
+    }
+
+    // Items without a category are not counted under any chip
+    @Nullable
+    private static String categoryOf(MenuItem item) {
+        String category = item.getCategory();
+        return category != null && !category.isEmpty() ? category : null;
+    }
+
+    private static boolean safeEquals(@Nullable String a, @Nullable String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
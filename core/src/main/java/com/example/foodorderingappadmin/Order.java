@@ -1,39 +1,48 @@
 package com.example.foodorderingappadmin;
 
-import com.google.firebase.firestore.PropertyName;
-import com.google.firebase.firestore.Exclude; // Import this for Exclude annotation
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
 
 public class Order {
 
     // Core fields matching Firestore document keys
     private String orderId;
-    private String userId; // Mapped via @PropertyName
+    private String userId; // Stored as "userID" (see OrderMapper)
     private String status;
     private double total;
     private Date orderedAt;
     private String note;
     private String paymentMethod;
-    private List<Map<String, Object>> items;
+    // Parsed by hand (OrderMapper/OrderLine) instead of through reflective mapping
+    private List<OrderLine> items;
 
     // Temporary field used only for client-side filtering/display (e.g., searching by name).
-    @Exclude
+    // Never read from or written to the document.
     private String customerNameForSearch;
 
-    // Empty constructor required by Firestore for automatic object mapping (toObject)
+    // Empty constructor used by OrderMapper
     public Order() {}
 
+    // Field-by-field copy; the items list is shared, lines are immutable
+    public Order copy() {
+        Order copy = new Order();
+        copy.orderId = orderId;
+        copy.userId = userId;
+        copy.status = status;
+        copy.total = total;
+        copy.orderedAt = orderedAt;
+        copy.note = note;
+        copy.paymentMethod = paymentMethod;
+        copy.items = items;
+        copy.customerNameForSearch = customerNameForSearch;
+        return copy;
+    }
+
     // --- Getters and Setters ---
     public String getOrderId() { return orderId; }
     public void setOrderId(String orderId) { this.orderId = orderId; }
 
-    // Use @PropertyName to map the 'userId' Java field to 'userID' Firestore field (case matters)
-    @PropertyName("userID")
     public String getUserId() { return userId; }
-
-    @PropertyName("userID")
     public void setUserId(String userId) { this.userId = userId; }
 
     public String getStatus() { return status; }
@@ -48,15 +57,12 @@ public class Order {
     public String getNote() { return note; }
     public void setNote(String note) { this.note = note; }
 
-    public List<Map<String, Object>> getItems() { return items; }
-    public void setItems(List<Map<String, Object>> items) { this.items = items; }
+    public List<OrderLine> getItems() { return items; }
+    public void setItems(List<OrderLine> items) { this.items = items; }
 
     public String getPaymentMethod() { return paymentMethod; }
     public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
 
-    // Use @Exclude to prevent Firestore from attempting to read/write this field
-    @Exclude
     public String getCustomerNameForSearch() { return customerNameForSearch; }
-    @Exclude
     public void setCustomerNameForSearch(String customerNameForSearch) { this.customerNameForSearch = customerNameForSearch; }
-}
\ No newline at end of file
+}
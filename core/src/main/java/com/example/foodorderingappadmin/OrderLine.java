@@ -0,0 +1,69 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// One line item of an order ('items' array entry in the Firestore order document).
+// Parsed by hand from the raw document data: no reflection, no per-line HashMap and
+// a primitive qty, so aggregation loops never have to unbox or type-check.
+public class OrderLine {
+
+    private final String name;
+    private final String menuItemId;
+    private final int qty;
+    private final double unitPrice;
+
+    public OrderLine(String name, String menuItemId, int qty, double unitPrice) {
+        this.name = name;
+        this.menuItemId = menuItemId;
+        this.qty = qty;
+        this.unitPrice = unitPrice;
+    }
+
+    // Converts the raw 'items' value (a List of Maps) into typed lines, skipping malformed entries
+    public static List<OrderLine> fromRaw(@Nullable Object rawItems) {
+        if (!(rawItems instanceof List)) return Collections.emptyList();
+        List<?> raw = (List<?>) rawItems;
+        List<OrderLine> lines = new ArrayList<>(raw.size());
+        for (Object entry : raw) {
+            if (entry instanceof Map) lines.add(fromMap((Map<?, ?>) entry));
+        }
+        return lines;
+    }
+
+    public static OrderLine fromMap(Map<?, ?> data) {
+        Object menuItemId = data.get("menuItemId");
+        if (menuItemId == null) menuItemId = data.get("id");
+
+        return new OrderLine(
+                FirestoreValues.asString(data.get("name")),
+                FirestoreValues.asString(menuItemId),
+                FirestoreValues.asInt(data.get("qty"), 1), // A line without a quantity counts as one item
+                FirestoreValues.asDouble(data.get("price")));
+    }
+
+    // --- Getters ---
+    public String getName() { return name; }
+    public String getMenuItemId() { return menuItemId; }
+    public int getQty() { return qty; }
+    public double getUnitPrice() { return unitPrice; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OrderLine)) return false;
+        OrderLine other = (OrderLine) o;
+        return qty == other.qty && Double.compare(unitPrice, other.unitPrice) == 0
+                && Objects.equals(name, other.name) && Objects.equals(menuItemId, other.menuItemId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, menuItemId, qty, unitPrice);
+    }
+}
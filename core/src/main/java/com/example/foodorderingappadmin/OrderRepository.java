@@ -0,0 +1,37 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Every read and write of the 'orders' collection goes through here.
+// Implementations: FirestoreOrderRepository (the app) and InMemoryOrderRepository (tests and
+// JVM benchmarks). Orders handed out are fresh instances the caller may keep or modify.
+// Listener events arrive on the main thread for Firestore and synchronously in memory; futures
+// may complete on any thread.
+public interface OrderRepository {
+
+    // Orders that are neither Completed nor Cancelled, newest first
+    Registration listenToActiveOrders(ChangeListener<Order> listener);
+
+    // Sets the status of every order in the map in one atomic write (at most 500 orders)
+    CompletableFuture<Void> updateStatuses(Map<String, String> statusByOrderId);
+
+    // True when a failed write may succeed if it is sent again unchanged
+    boolean isRetryable(Throwable error);
+
+    // Completed/Cancelled orders placed in [start, end], newest first. A null start means all
+    // time (end is then ignored). 'after' is the previous page's Page.next (null for the first).
+    CompletableFuture<Page<Order>> loadFinalOrders(@Nullable Date start, @Nullable Date end,
+                                                   @Nullable Object after, int limit);
+
+    // Orders placed at or after 'since' (every order when null), oldest first
+    CompletableFuture<Page<Order>> loadOrderedSince(@Nullable Date since, @Nullable Object after, int limit);
+
+    // The orders with the given ids, in no particular order; ids without an order are left out
+    CompletableFuture<List<Order>> loadByIds(Collection<String> orderIds);
+}
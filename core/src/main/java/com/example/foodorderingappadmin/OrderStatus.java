@@ -0,0 +1,76 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Order status values stored in the 'status' field and the transitions the admin may make.
+// Orders only move forward: Pending -> Being Made -> Being Delivered -> Completed. A step may be
+// skipped (e.g. "Mark as Done" on a Pending order), and any open order may be Cancelled.
+// Completed and Cancelled are final.
+final class OrderStatus {
+
+    static final String PENDING = "Pending";
+    static final String BEING_MADE = "Being Made";
+    static final String BEING_DELIVERED = "Being Delivered";
+    static final String COMPLETED = "Completed";
+    static final String CANCELLED = "Cancelled";
+
+    // The final statuses as they may be stored, for 'status' in/not-in queries. Older clients
+    // wrote other casings, which the queries match exactly; OrderMapper reads them as canonical().
+    static final List<String> FINAL = Collections.unmodifiableList(Arrays.asList(
+            COMPLETED, CANCELLED, "completed", "cancelled", "COMPLETED", "CANCELLED"));
+
+    private static final String[] ALL = {PENDING, BEING_MADE, BEING_DELIVERED, COMPLETED, CANCELLED};
+
+    private OrderStatus() {}
+
+    // The constant spelled like 'status' up to case (e.g. "pending" -> "Pending"); other values
+    // are returned unchanged
+    @Nullable
+    static String canonical(@Nullable String status) {
+        if (status == null) return null;
+        for (String known : ALL) {
+            if (known.equalsIgnoreCase(status)) return known;
+        }
+        return status;
+    }
+
+    static boolean isFinal(@Nullable String status) {
+        return COMPLETED.equals(status) || CANCELLED.equals(status);
+    }
+
+    static boolean canTransition(@Nullable String from, @Nullable String to) {
+        if (to == null || to.equals(from) || isFinal(from)) return false;
+        if (CANCELLED.equals(to)) return true;
+        int fromRank = rank(from);
+        int toRank = rank(to);
+        // An unknown current status (e.g. missing field) may be moved onto the normal flow
+        return toRank >= 0 && toRank > fromRank;
+    }
+
+    // Next step of the normal flow, or null when the order is final or its status is unknown
+    @Nullable
+    static String next(@Nullable String status) {
+        if (status == null) return null;
+        switch (status) {
+            case PENDING: return BEING_MADE;
+            case BEING_MADE: return BEING_DELIVERED;
+            case BEING_DELIVERED: return COMPLETED;
+            default: return null;
+        }
+    }
+
+    private static int rank(@Nullable String status) {
+        if (status == null) return -1;
+        switch (status) {
+            case PENDING: return 0;
+            case BEING_MADE: return 1;
+            case BEING_DELIVERED: return 2;
+            case COMPLETED: return 3;
+            default: return -1;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+// Incremental, id-keyed store for the active order stream.
+// Repository change deltas (see OrderRepository) are applied one by one to a list kept sorted newest-first.
+// A single ADDED/MODIFIED/REMOVED event finds its position by binary search (O(log n)), but the
+// ArrayList insert/remove still shifts the elements after it, so each event is O(n): one array
+// copy instead of re-sorting and re-filtering every order (the adapter's once-per-frame snapshot
+// is O(n) as well). A filtered "visible" projection is maintained alongside it; listeners are
+// told when it changes and take an immutable snapshot (the adapter diffs it off the main thread).
+public class OrderStore {
+
+    // Newest orders first; the id breaks ties so every order has exactly one position
+    static final Comparator<Order> NEWEST_FIRST = (a, b) -> {
+        long timeA = a.getOrderedAt() != null ? a.getOrderedAt().getTime() : Long.MIN_VALUE;
+        long timeB = b.getOrderedAt() != null ? b.getOrderedAt().getTime() : Long.MIN_VALUE;
+        if (timeA != timeB) return timeA > timeB ? -1 : 1;
+        return String.valueOf(a.getOrderId()).compareTo(String.valueOf(b.getOrderId()));
+    };
+
+    private final Map<String, Order> ordersById = new HashMap<>();
+    private final List<Order> sortedOrders = new ArrayList<>();
+    private final List<Order> visibleOrders = new ArrayList<>();
+    private final Map<String, Integer> statusCounts = new HashMap<>();
+    // Statuses written locally but not yet acknowledged; they win over incoming snapshots
+    private final Map<String, String> statusOverrides = new HashMap<>();
+
+    private Predicate<Order> filter = order -> true;
+    // Bumped on every insert/update/remove so off-thread results can detect they are stale
+    private int version;
+    // While > 0, visible-change notifications are held back and sent once at the end
+    private int batchDepth;
+    private boolean changedDuringBatch;
+    @Nullable
+    private Runnable visibleChangedListener;
+
+    public void setOnVisibleChangedListener(@Nullable Runnable listener) {
+        this.visibleChangedListener = listener;
+    }
+
+    // --- Read Access ---
+
+    // Live, read-only view of the filtered orders in display order
+    public List<Order> getVisibleOrders() {
+        return Collections.unmodifiableList(visibleOrders);
+    }
+
+    // Immutable copy of the visible orders, safe to hand to a background differ
+    public List<Order> snapshotVisibleOrders() {
+        return Collections.unmodifiableList(new ArrayList<>(visibleOrders));
+    }
+
+    public List<Order> getAllOrders() {
+        return Collections.unmodifiableList(sortedOrders);
+    }
+
+    @Nullable
+    public Order get(String orderId) {
+        return ordersById.get(orderId);
+    }
+
+    public int size() {
+        return sortedOrders.size();
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getStatusCount(String status) {
+        Integer count = statusCounts.get(status);
+        return count != null ? count : 0;
+    }
+
+    // --- Delta Application ---
+
+    // Applies one listener event's changes as one batch. Returns the orders that were newly added.
+    // The changed orders are taken over by the store (repositories hand out fresh instances).
+    public List<Order> applyChanges(List<Change<Order>> changes) {
+        List<Order> added = new ArrayList<>();
+        batchUpdates(() -> applyEach(changes, added));
+        return added;
+    }
+
+    private void applyEach(List<Change<Order>> changes, List<Order> added) {
+        for (Change<Order> change : changes) {
+            switch (change.type) {
+                case ADDED:
+                case MODIFIED:
+                    Order order = change.value;
+                    if (order == null) break;
+                    String override = statusOverrides.get(order.getOrderId());
+                    if (override != null) order.setStatus(override);
+                    if (upsert(order)) added.add(order);
+                    break;
+                case REMOVED:
+                    remove(change.id);
+                    break;
+            }
+        }
+    }
+
+    // Inserts or replaces an order. Returns true when the order id was not present before.
+    public boolean upsert(Order order) {
+        Order previous = ordersById.put(order.getOrderId(), order);
+        version++;
+
+        if (previous != null) {
+            // Keep the already-resolved customer name across updates of the same order
+            if (order != previous && order.getCustomerNameForSearch() == null
+                    && safeEquals(order.getUserId(), previous.getUserId())) {
+                order.setCustomerNameForSearch(previous.getCustomerNameForSearch());
+            }
+            int oldIndex = Collections.binarySearch(sortedOrders, previous, NEWEST_FIRST);
+            if (oldIndex >= 0) sortedOrders.remove(oldIndex);
+            adjustStatusCount(previous.getStatus(), -1);
+        }
+
+        sortedOrders.add(insertionPoint(sortedOrders, order), order);
+        adjustStatusCount(order.getStatus(), 1);
+
+        updateVisible(previous, order);
+        return previous == null;
+    }
+
+    public void remove(String orderId) {
+        Order previous = ordersById.remove(orderId);
+        if (previous == null) return;
+        version++;
+
+        int oldIndex = Collections.binarySearch(sortedOrders, previous, NEWEST_FIRST);
+        if (oldIndex >= 0) sortedOrders.remove(oldIndex);
+        adjustStatusCount(previous.getStatus(), -1);
+
+        updateVisible(previous, null);
+    }
+
+    // Drops every order whose id is not in the given set (used to reconcile a fresh subscription)
+    public void retainOnly(Set<String> orderIds) {
+        List<String> stale = new ArrayList<>();
+        for (String id : ordersById.keySet()) {
+            if (!orderIds.contains(id)) stale.add(id);
+        }
+        for (String id : stale) {
+            remove(id);
+        }
+    }
+
+    // Runs several updates as one change: listeners hear about it once, after the last update
+    public void batchUpdates(Runnable updates) {
+        batchDepth++;
+        try {
+            updates.run();
+        } finally {
+            batchDepth--;
+            if (batchDepth == 0 && changedDuringBatch) {
+                changedDuringBatch = false;
+                notifyVisibleChanged();
+            }
+        }
+    }
+
+    // --- Optimistic Status ---
+
+    // Shows 'status' for the order right away and keeps it over incoming snapshots until cleared
+    public void overrideStatus(String orderId, String status) {
+        statusOverrides.put(orderId, status);
+        replaceStatus(orderId, status);
+    }
+
+    // Drops the override. A non-null 'restoreStatus' is shown again (rollback); with null the
+    // order keeps its current status until the next snapshot.
+    public void clearStatusOverride(String orderId, @Nullable String restoreStatus) {
+        statusOverrides.remove(orderId);
+        if (restoreStatus != null) replaceStatus(orderId, restoreStatus);
+    }
+
+    // Drops every override whose order is not in 'orderIds' (writes that finished while no one
+    // was watching). Those orders keep their current status until the next snapshot.
+    public void retainStatusOverrides(Set<String> orderIds) {
+        statusOverrides.keySet().retainAll(orderIds);
+    }
+
+    // --- Filtering ---
+
+    // Replaces the visibility filter and rebuilds the visible projection
+    public void setFilter(Predicate<Order> filter) {
+        List<Order> matching = new ArrayList<>();
+        for (Order order : sortedOrders) {
+            if (filter.test(order)) matching.add(order);
+        }
+        setFilter(filter, matching);
+    }
+
+    // Same as setFilter(filter), with the matching orders already computed (e.g. off the main
+    // thread). 'matching' must be in display order and taken at the current getVersion().
+    public void setFilter(Predicate<Order> filter, List<Order> matching) {
+        this.filter = filter;
+        visibleOrders.clear();
+        visibleOrders.addAll(matching);
+        notifyVisibleChanged();
+    }
+
+    // --- Internal Helpers ---
+
+    // Orders are replaced, never mutated, so differs and row model caches see the change
+    private void replaceStatus(String orderId, String status) {
+        Order current = ordersById.get(orderId);
+        if (current == null || status.equals(current.getStatus())) return;
+
+        Order copy = current.copy();
+        copy.setStatus(status);
+        upsert(copy);
+    }
+
+    private void updateVisible(@Nullable Order previous, @Nullable Order current) {
+        int oldIndex = previous != null ? Collections.binarySearch(visibleOrders, previous, NEWEST_FIRST) : -1;
+        if (oldIndex >= 0) visibleOrders.remove(oldIndex);
+
+        boolean nowVisible = current != null && filter.test(current);
+        if (nowVisible) visibleOrders.add(insertionPoint(visibleOrders, current), current);
+
+        if (oldIndex >= 0 || nowVisible) notifyVisibleChanged();
+    }
+
+    private void notifyVisibleChanged() {
+        if (batchDepth > 0) {
+            changedDuringBatch = true;
+            return;
+        }
+        if (visibleChangedListener != null) visibleChangedListener.run();
+    }
+
+    private static int insertionPoint(List<Order> list, Order order) {
+        int index = Collections.binarySearch(list, order, NEWEST_FIRST);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    private void adjustStatusCount(@Nullable String status, int delta) {
+        if (status == null) return;
+        int updated = getStatusCount(status) + delta;
+        if (updated <= 0) statusCounts.remove(status);
+        else statusCounts.put(status, updated);
+    }
+
+    private static boolean safeEquals(@Nullable String a, @Nullable String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+// One page of a cursor-paged repository query.
+// 'next' is an opaque cursor for the following page, or null when this page was the last one.
+public final class Page<T> {
+
+    public final List<T> items;
+    @Nullable
+    public final Object next;
+
+    public Page(List<T> items, @Nullable Object next) {
+        this.items = items;
+        this.next = next;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.foodorderingappadmin;
+
+// Handle of a repository subscription; remove() stops further events and may be called twice
+public interface Registration {
+
+    void remove();
+}
@@ -0,0 +1,68 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+// Immutable result of aggregating every order in one date range.
+// Shared by the sales dashboard and all of its tabs so each range is only fetched once.
+public class SalesSummary {
+
+    @Nullable private final Date start;
+    @Nullable private final Date end;
+    private final double totalRevenue;
+    private final int totalOrders;
+    private final long totalItems;
+    private final int uniqueCustomers;
+    private final List<TopItem> topItems;
+    private final List<CustomerStat> customers;
+
+    public SalesSummary(@Nullable Date start, @Nullable Date end,
+                        double totalRevenue, int totalOrders, long totalItems, int uniqueCustomers,
+                        List<TopItem> topItems, List<CustomerStat> customers) {
+        this.start = start;
+        this.end = end;
+        this.totalRevenue = totalRevenue;
+        this.totalOrders = totalOrders;
+        this.totalItems = totalItems;
+        this.uniqueCustomers = uniqueCustomers;
+        this.topItems = Collections.unmodifiableList(topItems);
+        this.customers = Collections.unmodifiableList(customers);
+    }
+
+    // --- Getters ---
+    // Range this summary covers (null start means "All Time")
+    @Nullable public Date getStart() { return start; }
+    @Nullable public Date getEnd() { return end; }
+
+    public double getTotalRevenue() { return totalRevenue; }
+    public int getTotalOrders() { return totalOrders; }
+    public long getTotalItems() { return totalItems; }
+    public int getUniqueCustomers() { return uniqueCustomers; }
+
+    // Items sorted by quantity sold (descending)
+    public List<TopItem> getTopItems() { return topItems; }
+
+    // Customers sorted by total spent (descending)
+    public List<CustomerStat> getCustomers() { return customers; }
+
+    // Item and its total quantity sold. 'key' is the menu item id when the order lines carried
+    // one (null menuItemId otherwise); 'name' is the name recorded on the orders.
+    static class TopItem {
+        final String key;
+        @Nullable final String menuItemId;
+        final String name;
+        final int count;
+        TopItem(String k, @Nullable String id, String n, int c) { key = k; menuItemId = id; name = n; count = c; }
+    }
+
+    // Aggregated statistics for a single customer
+    static class CustomerStat {
+        final String userId;
+        final double totalSpent;
+        final int orderCount;
+        CustomerStat(String uid, double spent, int orders) { userId = uid; totalSpent = spent; orderCount = orders; }
+    }
+}
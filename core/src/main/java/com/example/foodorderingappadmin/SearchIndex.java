@@ -0,0 +1,115 @@
+package com.example.foodorderingappadmin;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Substring index over a list of records: each record's searchable fields are lowercased and
+// joined once, when the record is indexed, instead of on every keystroke for every record.
+// Safe to query from a background thread while the main thread (re)indexes; queries never write.
+// SearchEngine adds debouncing and background evaluation on top.
+public class SearchIndex<T> {
+
+    // Separates fields so a query cannot match across two of them
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final int CANCEL_CHECK_INTERVAL = 256;
+
+    private final Function<T, String> keyOf;
+    private final Function<T, String[]> fieldsOf;
+
+    private final Map<String, Entry<T>> index = new ConcurrentHashMap<>();
+
+    public SearchIndex(Function<T, String> keyOf, Function<T, String[]> fieldsOf) {
+        this.keyOf = keyOf;
+        this.fieldsOf = fieldsOf;
+    }
+
+    public static String normalize(@Nullable String text) {
+        return text != null ? text.toLowerCase(Locale.getDefault()) : "";
+    }
+
+    // --- Index ---
+
+    // (Re)builds the normalized text of one record; call again after its searchable fields change
+    public void index(T item) {
+        index.put(keyOf.apply(item), new Entry<>(item, buildText(item)));
+    }
+
+    // Replaces the whole index with the given records
+    public void reindex(Collection<T> items) {
+        Map<String, Entry<T>> rebuilt = new ConcurrentHashMap<>();
+        for (T item : items) rebuilt.put(keyOf.apply(item), new Entry<>(item, buildText(item)));
+        index.keySet().retainAll(rebuilt.keySet());
+        index.putAll(rebuilt);
+    }
+
+    // Brings the index in line with the given records, rebuilding the text only of records that
+    // are new or were replaced by another instance since they were indexed; other keys are dropped.
+    // Cheap when little changed, so it can run after every update of the underlying list.
+    public void sync(Collection<T> items) {
+        Set<String> keys = new HashSet<>();
+        for (T item : items) {
+            String key = keyOf.apply(item);
+            keys.add(key);
+            Entry<T> entry = index.get(key);
+            if (entry == null || entry.item != item) index.put(key, new Entry<>(item, buildText(item)));
+        }
+        if (index.size() > keys.size()) index.keySet().retainAll(keys);
+    }
+
+    public void remove(String key) {
+        index.remove(key);
+    }
+
+    // --- Queries ---
+
+    // True if the record contains the (already normalized) query in any of its fields.
+    // Read-only, so it may run on a background thread: a record replaced by a new instance since
+    // it was indexed has its text built here but not stored; only index()/reindex() write.
+    public boolean matches(T item, String normalizedQuery) {
+        if (normalizedQuery.isEmpty()) return true;
+        Entry<T> entry = index.get(keyOf.apply(item));
+        String text = entry != null && entry.item == item ? entry.text : buildText(item);
+        return text.contains(normalizedQuery);
+    }
+
+    // Filters a snapshot in order; returns null if cancelled part way through
+    @Nullable
+    public List<T> filter(List<T> snapshot, String normalizedQuery, Predicate<T> prefilter, BooleanSupplier cancelled) {
+        List<T> result = new ArrayList<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) return null;
+            T item = snapshot.get(i);
+            if (prefilter.test(item) && matches(item, normalizedQuery)) result.add(item);
+        }
+        return result;
+    }
+
+    // --- Internal Helpers ---
+
+    private String buildText(T item) {
+        StringBuilder sb = new StringBuilder();
+        String[] fields = fieldsOf.apply(item);
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) sb.append(FIELD_SEPARATOR);
+            sb.append(normalize(fields[i]));
+        }
+        return sb.toString();
+    }
+
+    private static class Entry<T> {
+        final T item;
+        final String text;
+        Entry(T item, String text) { this.item = item; this.text = text; }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.foodorderingappadmin;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Reads of the 'users' and 'admins' collections. Threading is as for OrderRepository.
+public interface UserRepository {
+
+    // True when the account has an 'admins' document
+    CompletableFuture<Boolean> isAdmin(String uid);
+
+    // Profiles by user id; ids without a 'users' document are left out
+    CompletableFuture<Map<String, CustomerProfile>> loadProfiles(Collection<String> userIds);
+}
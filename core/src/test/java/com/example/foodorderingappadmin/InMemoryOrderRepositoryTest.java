@@ -0,0 +1,122 @@
+package com.example.foodorderingappadmin;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives an OrderStore from InMemoryOrderRepository events the way OrdersFragment does, and
+ * pages history the way OrderHistoryPager does, on a plain JVM.
+ */
+public class InMemoryOrderRepositoryTest {
+
+    private static final long BASE_TIME = 1700000000000L;
+    private static final int ORDER_COUNT = 1000;
+
+    private InMemoryOrderRepository repository;
+    private OrderStore store;
+
+    @Before
+    public void setUp() {
+        repository = new InMemoryOrderRepository();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            // Every third order is Completed, the rest are active
+            orders.add(order("o" + i, i % 3 == 0 ? OrderStatus.COMPLETED : OrderStatus.PENDING, i));
+        }
+        repository.putAll(orders);
+
+        store = new OrderStore();
+        repository.listenToActiveOrders(new ChangeListener<Order>() {
+            @Override
+            public void onChanges(List<Change<Order>> changes, boolean initial) {
+                if (initial) {
+                    Set<String> ids = new HashSet<>();
+                    for (Change<Order> change : changes) ids.add(change.id);
+                    store.retainOnly(ids);
+                }
+                store.applyChanges(changes);
+            }
+        });
+    }
+
+    @Test
+    public void listenerMirrorsActiveOrders() {
+        assertEquals(666, store.size());
+        assertEquals("o998", store.getAllOrders().get(0).getOrderId());
+
+        repository.updateStatuses(Collections.singletonMap("o998", OrderStatus.CANCELLED)).join();
+        repository.put(order("new", OrderStatus.PENDING, ORDER_COUNT));
+        repository.remove("o997");
+
+        assertEquals(665, store.size());
+        assertNull(store.get("o998"));
+        assertNull(store.get("o997"));
+        assertEquals("new", store.getAllOrders().get(0).getOrderId());
+    }
+
+    @Test
+    public void storeChangesDoNotLeakIntoRepository() {
+        store.overrideStatus("o1", OrderStatus.BEING_MADE);
+
+        assertEquals(OrderStatus.PENDING, repository.get("o1").getStatus());
+    }
+
+    @Test
+    public void finalOrdersArePagedNewestFirstWithinRange() {
+        Date start = new Date(BASE_TIME + 100 * 60000L);
+        Date end = new Date(BASE_TIME + 399 * 60000L);
+        List<Order> seen = new ArrayList<>();
+        Object cursor = null;
+        int pages = 0;
+        do {
+            Page<Order> page = repository.loadFinalOrders(start, end, cursor, 40).join();
+            seen.addAll(page.items);
+            cursor = page.next;
+            pages++;
+        } while (cursor != null);
+
+        // o102, o105 ... o399
+        assertEquals(100, seen.size());
+        assertEquals(3, pages);
+        assertEquals("o399", seen.get(0).getOrderId());
+        assertEquals("o102", seen.get(seen.size() - 1).getOrderId());
+        for (Order order : seen) assertTrue(OrderStatus.isFinal(order.getStatus()));
+    }
+
+    @Test
+    public void failedStatusBatchChangesNothing() {
+        Map<String, String> statuses = new LinkedHashMap<>();
+        statuses.put("o1", OrderStatus.BEING_MADE);
+        statuses.put("missing", OrderStatus.BEING_MADE);
+        boolean failed = repository.updateStatuses(statuses).isCompletedExceptionally();
+
+        assertTrue(failed);
+        assertEquals(OrderStatus.PENDING, store.get("o1").getStatus());
+        assertFalse(repository.isRetryable(new IllegalStateException()));
+    }
+
+    private static Order order(String id, String status, int minute) {
+        Order order = new Order();
+        order.setOrderId(id);
+        order.setUserId("user" + (minute % 20));
+        order.setStatus(status);
+        order.setTotal(100 + minute);
+        order.setOrderedAt(new Date(BASE_TIME + minute * 60000L));
+        order.setItems(Collections.singletonList(new OrderLine("Item", "m1", 1, 100)));
+        return order;
+    }
+}
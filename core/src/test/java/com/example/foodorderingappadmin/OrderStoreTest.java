@@ -0,0 +1,177 @@
+package com.example.foodorderingappadmin;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Feeds an OrderStore with InMemoryOrderRepository events and checks ordering, the filtered
+ * projection, status counts and optimistic status overrides.
+ */
+public class OrderStoreTest {
+
+    private static final long BASE_TIME = 1700000000000L;
+
+    private InMemoryOrderRepository repository;
+    private OrderStore store;
+    private int visibleChanges;
+
+    @Before
+    public void setUp() {
+        repository = new InMemoryOrderRepository();
+        store = new OrderStore();
+        store.setOnVisibleChangedListener(() -> visibleChanges++);
+        repository.listenToActiveOrders(new ChangeListener<Order>() {
+            @Override
+            public void onChanges(List<Change<Order>> changes, boolean initial) {
+                if (initial) {
+                    Set<String> ids = new HashSet<>();
+                    for (Change<Order> change : changes) ids.add(change.id);
+                    store.retainOnly(ids);
+                }
+                store.applyChanges(changes);
+            }
+        });
+    }
+
+    @Test
+    public void ordersStayNewestFirstAcrossDeltas() {
+        repository.putAll(Arrays.asList(
+                order("a", OrderStatus.PENDING, 1),
+                order("b", OrderStatus.PENDING, 3),
+                order("c", OrderStatus.BEING_MADE, 2)));
+        assertEquals(Arrays.asList("b", "c", "a"), ids(store.getAllOrders()));
+
+        // Moved to the top by a newer timestamp, then one order leaves the active set
+        repository.put(order("a", OrderStatus.PENDING, 4));
+        repository.updateStatuses(Collections.singletonMap("b", OrderStatus.COMPLETED)).join();
+
+        assertEquals(Arrays.asList("a", "c"), ids(store.getAllOrders()));
+        assertEquals(1, store.getStatusCount(OrderStatus.PENDING));
+        assertEquals(1, store.getStatusCount(OrderStatus.BEING_MADE));
+        assertEquals(0, store.getStatusCount(OrderStatus.COMPLETED));
+    }
+
+    @Test
+    public void oneEventNotifiesVisibleChangeOnce() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 50; i++) orders.add(order("o" + i, OrderStatus.PENDING, i));
+        visibleChanges = 0;
+
+        repository.putAll(orders);
+
+        assertEquals(1, visibleChanges);
+        assertEquals(50, store.getVisibleOrders().size());
+    }
+
+    @Test
+    public void filterDecidesVisibilityOfLaterOrders() {
+        repository.putAll(Arrays.asList(
+                order("a", OrderStatus.PENDING, 1),
+                order("b", OrderStatus.BEING_MADE, 2)));
+        store.setFilter(order -> OrderStatus.PENDING.equals(order.getStatus()));
+        assertEquals(Collections.singletonList("a"), ids(store.getVisibleOrders()));
+
+        repository.put(order("c", OrderStatus.PENDING, 3));
+        repository.updateStatuses(Collections.singletonMap("a", OrderStatus.BEING_MADE)).join();
+
+        assertEquals(Collections.singletonList("c"), ids(store.getVisibleOrders()));
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    public void overrideWinsOverSnapshotsUntilCleared() {
+        repository.put(order("a", OrderStatus.PENDING, 1));
+        Order before = store.get("a");
+
+        store.overrideStatus("a", OrderStatus.BEING_MADE);
+        // Replaced, not mutated, so differs see the change
+        assertEquals(OrderStatus.PENDING, before.getStatus());
+        assertEquals(OrderStatus.BEING_MADE, store.get("a").getStatus());
+
+        // A snapshot still carrying the old status does not undo the local change
+        repository.put(order("a", OrderStatus.PENDING, 1));
+        assertEquals(OrderStatus.BEING_MADE, store.get("a").getStatus());
+
+        // Rollback puts the server's status back
+        store.clearStatusOverride("a", OrderStatus.PENDING);
+        assertEquals(OrderStatus.PENDING, store.get("a").getStatus());
+        assertEquals(1, store.getStatusCount(OrderStatus.PENDING));
+        assertEquals(0, store.getStatusCount(OrderStatus.BEING_MADE));
+    }
+
+    @Test
+    public void retainStatusOverridesDropsOnlyFinishedOnes() {
+        repository.putAll(Arrays.asList(order("a", OrderStatus.PENDING, 1), order("b", OrderStatus.PENDING, 2)));
+        store.overrideStatus("a", OrderStatus.BEING_MADE);
+        store.overrideStatus("b", OrderStatus.BEING_MADE);
+
+        store.retainStatusOverrides(Collections.singleton("b"));
+        repository.put(order("a", OrderStatus.PENDING, 1));
+        repository.put(order("b", OrderStatus.PENDING, 2));
+
+        assertEquals(OrderStatus.PENDING, store.get("a").getStatus());
+        assertEquals(OrderStatus.BEING_MADE, store.get("b").getStatus());
+    }
+
+    @Test
+    public void customerNameSurvivesUpdatesOfTheSameOrder() {
+        repository.put(order("a", OrderStatus.PENDING, 1));
+        store.get("a").setCustomerNameForSearch("ana santos");
+
+        repository.put(order("a", OrderStatus.BEING_MADE, 1));
+
+        assertEquals("ana santos", store.get("a").getCustomerNameForSearch());
+    }
+
+    @Test
+    public void freshSubscriptionDropsOrdersThatLeftMeanwhile() {
+        repository.putAll(Arrays.asList(order("a", OrderStatus.PENDING, 1), order("b", OrderStatus.PENDING, 2)));
+        OrderStore resumed = new OrderStore();
+        resumed.upsert(order("gone", OrderStatus.PENDING, 0));
+
+        repository.listenToActiveOrders(new ChangeListener<Order>() {
+            @Override
+            public void onChanges(List<Change<Order>> changes, boolean initial) {
+                Set<String> ids = new HashSet<>();
+                for (Change<Order> change : changes) ids.add(change.id);
+                if (initial) resumed.retainOnly(ids);
+                resumed.applyChanges(changes);
+            }
+        });
+
+        assertNull(resumed.get("gone"));
+        assertEquals(Arrays.asList("b", "a"), ids(resumed.getAllOrders()));
+        assertTrue(resumed.getVersion() > 0);
+    }
+
+    // --- Helpers ---
+
+    private static List<String> ids(List<Order> orders) {
+        List<String> ids = new ArrayList<>();
+        for (Order order : orders) ids.add(order.getOrderId());
+        return ids;
+    }
+
+    private static Order order(String id, String status, int minute) {
+        Order order = new Order();
+        order.setOrderId(id);
+        order.setUserId("user-" + id);
+        order.setStatus(status);
+        order.setTotal(100);
+        order.setOrderedAt(new Date(BASE_TIME + minute * 60000L));
+        order.setItems(Collections.singletonList(new OrderLine("Item", "m1", 1, 100)));
+        return order;
+    }
+}
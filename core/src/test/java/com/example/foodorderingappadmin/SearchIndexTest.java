@@ -0,0 +1,92 @@
+package com.example.foodorderingappadmin;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that SearchIndex builds each record's text only when the record is new or replaced,
+ * and that queries never build it for indexed records.
+ */
+public class SearchIndexTest {
+
+    private final AtomicInteger builds = new AtomicInteger();
+    private SearchIndex<MenuItem> index;
+
+    @Before
+    public void setUp() {
+        index = new SearchIndex<>(MenuItem::getId, item -> {
+            builds.incrementAndGet();
+            return new String[]{item.getName(), item.getDescription()};
+        });
+    }
+
+    @Test
+    public void queriesReadIndexedText() {
+        MenuItem adobo = item("m1", "Chicken Adobo");
+        index.sync(Collections.singletonList(adobo));
+        builds.set(0);
+
+        assertTrue(index.matches(adobo, "adobo"));
+        assertFalse(index.matches(adobo, "sisig"));
+        assertEquals(0, builds.get());
+    }
+
+    @Test
+    public void syncRebuildsOnlyNewAndReplacedRecords() {
+        MenuItem adobo = item("m1", "Adobo");
+        MenuItem pancit = item("m2", "Pancit");
+        index.sync(Arrays.asList(adobo, pancit));
+        builds.set(0);
+
+        MenuItem renamed = item("m2", "Pancit Canton");
+        MenuItem sisig = item("m3", "Sisig");
+        index.sync(Arrays.asList(adobo, renamed, sisig));
+
+        assertEquals(2, builds.get());
+        builds.set(0);
+        assertTrue(index.matches(renamed, "canton"));
+        assertTrue(index.matches(sisig, "sisig"));
+        assertEquals(0, builds.get());
+    }
+
+    @Test
+    public void staleInstancesAreMatchedWithoutWritingTheIndex() {
+        MenuItem adobo = item("m1", "Adobo");
+        index.sync(Collections.singletonList(adobo));
+        MenuItem replaced = item("m1", "Sisig");
+
+        assertTrue(index.matches(replaced, "sisig"));
+        builds.set(0);
+        // The indexed instance still reads its own text
+        assertTrue(index.matches(adobo, "adobo"));
+        assertEquals(0, builds.get());
+    }
+
+    @Test
+    public void syncDropsMissingKeys() {
+        MenuItem adobo = item("m1", "Adobo");
+        index.sync(Collections.singletonList(adobo));
+        index.sync(Collections.emptyList());
+        builds.set(0);
+
+        assertTrue(index.matches(adobo, "adobo"));
+        // Not indexed any more, so the text had to be built for the query
+        assertEquals(1, builds.get());
+    }
+
+    // --- Helpers ---
+
+    private static MenuItem item(String id, String name) {
+        MenuItem item = new MenuItem(name, "", 100, "Rice Meals", "", true);
+        item.setId(id);
+        return item;
+    }
+}